@@ -0,0 +1,72 @@
+package com.siakad.benchmark;
+
+import com.siakad.service.AcademicRuleTable;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark throughput determineAcademicStatus dan calculateMaxCredits dengan
+ * campuran GPA dan semester acak supaya branch predictor tidak terlalu diuntungkan.
+ * Varian {@code table*} mengukur {@link AcademicRuleTable} dengan input yang sama.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AcademicRuleBenchmark {
+
+    private static final int SAMPLES = 4_096;
+
+    private final GradeCalculator gradeCalculator = new GradeCalculator();
+    private final AcademicRuleTable ruleTable = AcademicRuleTable.defaults();
+    private final double[] gpas = new double[SAMPLES];
+    private final int[] semesters = new int[SAMPLES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        for (int i = 0; i < SAMPLES; i++) {
+            gpas[i] = random.nextInt(401) / 100.0;
+            semesters[i] = 1 + random.nextInt(14);
+        }
+    }
+
+    @Benchmark
+    public String determineAcademicStatus() {
+        int i = next++ & (SAMPLES - 1);
+        return gradeCalculator.determineAcademicStatus(gpas[i], semesters[i]);
+    }
+
+    @Benchmark
+    public int calculateMaxCredits() {
+        int i = next++ & (SAMPLES - 1);
+        return gradeCalculator.calculateMaxCredits(gpas[i]);
+    }
+
+    @Benchmark
+    public String tableDetermineAcademicStatus() {
+        int i = next++ & (SAMPLES - 1);
+        return ruleTable.determineAcademicStatus(gpas[i], semesters[i]);
+    }
+
+    @Benchmark
+    public int tableCalculateMaxCredits() {
+        int i = next++ & (SAMPLES - 1);
+        return ruleTable.calculateMaxCredits(gpas[i]);
+    }
+}
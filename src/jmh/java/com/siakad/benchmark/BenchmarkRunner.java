@@ -0,0 +1,28 @@
+package com.siakad.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Menjalankan semua benchmark dan menulis hasilnya dalam format JSON JMH,
+ * supaya hasil antar versi bisa dibandingkan dengan tool seperti jmh-visualizer.
+ *
+ * Argumen: [file hasil] [regex benchmark]
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String resultFile = args.length > 0 ? args[0] : "jmh-result.json";
+        String include = args.length > 1 ? args[1] : "com\\.siakad\\.benchmark\\..*";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+    }
+}
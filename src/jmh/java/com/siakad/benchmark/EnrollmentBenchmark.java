@@ -0,0 +1,180 @@
+package com.siakad.benchmark;
+
+import com.siakad.metrics.EnrollmentMetrics;
+import com.siakad.metrics.HistogramEnrollmentMetrics;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.service.ConcurrentEnrollmentService;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.NotificationService;
+import com.siakad.service.QueuedNotificationDispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark jalur enrollment: enrollCourse dengan banyak thread pada satu mata
+ * kuliah yang sama, dropCourse, dan validateCreditLimit. Varian {@code queued}
+ * sama dengan {@code concurrent} tetapi email dikirim lewat
+ * {@link QueuedNotificationDispatcher}, seperti konfigurasi produksi.
+ *
+ * {@link #enrollCourseInstrumented} mengukur biaya instrumentasi
+ * {@link EnrollmentMetrics} pada ConcurrentEnrollmentService: {@code noop}
+ * memakai {@link EnrollmentMetrics#NOOP}, {@code disabled} implementasi lain
+ * yang {@code isEnabled()}-nya false, dan {@code histogram} mencatat semua tahap.
+ * Anggaran saat metrics mati (di bawah 100 ns per enroll) dicek dari selisih
+ * {@code disabled} dan {@code noop}; jalankan dengan {@code -p implementation=concurrent}
+ * karena parameter {@code implementation} tidak dipakai di benchmark ini.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class EnrollmentBenchmark {
+
+    static final int STUDENTS = 1_024;
+
+    @Param({"baseline", "concurrent", "queued"})
+    public String implementation;
+
+    private EnrollmentService enrollmentService;
+    private QueuedNotificationDispatcher dispatcher;
+    private String[] studentIds;
+    private InMemoryStudentRepository studentRepository;
+    private InMemoryCourseRepository courseRepository;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        courseRepository = new InMemoryCourseRepository();
+        NotificationService notificationService = new NoOpNotificationService();
+        GradeCalculator gradeCalculator = new GradeCalculator();
+
+        studentIds = new String[STUDENTS];
+        for (int i = 0; i < STUDENTS; i++) {
+            studentIds[i] = "S" + i;
+            studentRepository.save(new Student(studentIds[i], "Mahasiswa " + i, "s" + i + "@uni.ac.id",
+                    "Informatika", 1 + i % 8, (i % 401) / 100.0, "ACTIVE"));
+        }
+        // Kapasitas sangat besar supaya benchmark tidak pernah berhenti karena kelas penuh
+        courseRepository.save(course("HOT101", Integer.MAX_VALUE, 0));
+        courseRepository.save(course("DROP101", Integer.MAX_VALUE, Integer.MAX_VALUE / 2));
+
+        if ("queued".equals(implementation)) {
+            dispatcher = new QueuedNotificationDispatcher(notificationService);
+            notificationService = dispatcher;
+        }
+        enrollmentService = "baseline".equals(implementation)
+                ? new EnrollmentService(studentRepository, courseRepository, notificationService,
+                        gradeCalculator)
+                : new ConcurrentEnrollmentService(studentRepository, courseRepository, notificationService,
+                        gradeCalculator);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.close();
+            dispatcher = null;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        String nextStudent(String[] ids) {
+            next = (next + 1) & (STUDENTS - 1);
+            return ids[next];
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Enrollment enrollCourseContended(Cursor cursor) {
+        return enrollmentService.enrollCourse(cursor.nextStudent(studentIds), "HOT101");
+    }
+
+    @State(Scope.Benchmark)
+    public static class Instrumented {
+        @Param({"noop", "disabled", "histogram"})
+        public String metrics;
+
+        ConcurrentEnrollmentService enrollmentService;
+
+        @Setup(Level.Iteration)
+        public void setUp(EnrollmentBenchmark benchmark) {
+            enrollmentService = new ConcurrentEnrollmentService(benchmark.studentRepository,
+                    benchmark.courseRepository, new NoOpNotificationService(), new GradeCalculator());
+            if ("disabled".equals(metrics)) {
+                enrollmentService.setMetrics(new HistogramEnrollmentMetrics() {
+                    @Override
+                    public boolean isEnabled() {
+                        return false;
+                    }
+                });
+            } else if ("histogram".equals(metrics)) {
+                enrollmentService.setMetrics(new HistogramEnrollmentMetrics());
+            } else {
+                enrollmentService.setMetrics(EnrollmentMetrics.NOOP);
+            }
+        }
+    }
+
+    @Benchmark
+    public Enrollment enrollCourseSingleThread(Cursor cursor) {
+        return enrollmentService.enrollCourse(cursor.nextStudent(studentIds), "HOT101");
+    }
+
+    @Benchmark
+    public Enrollment enrollCourseInstrumented(Instrumented instrumented, Cursor cursor) {
+        return instrumented.enrollmentService.enrollCourse(cursor.nextStudent(studentIds), "HOT101");
+    }
+
+    @Benchmark
+    public void dropCourse(Cursor cursor) {
+        enrollmentService.dropCourse(cursor.nextStudent(studentIds), "DROP101");
+    }
+
+    @Benchmark
+    public boolean validateCreditLimit(Cursor cursor) {
+        return enrollmentService.validateCreditLimit(cursor.nextStudent(studentIds), 20);
+    }
+
+    private static Course course(String code, int capacity, int enrolled) {
+        Course course = new Course();
+        course.setCourseCode(code);
+        course.setCourseName("Mata Kuliah " + code);
+        course.setCapacity(capacity);
+        course.setEnrolledCount(enrolled);
+        return course;
+    }
+
+    static class NoOpNotificationService implements NotificationService {
+        @Override
+        public void sendEmail(String to, String subject, String body) {
+        }
+
+        @Override
+        public void sendSMS(String phone, String message) {
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.service.BulkGpaCalculator;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark calculateGPA untuk ukuran transkrip 5 sampai 200 mata kuliah,
+ * dibandingkan dengan versi array primitif.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class GradingBenchmark {
+
+    private static final double[] GRADE_POINTS = {4.0, 3.7, 3.3, 3.0, 2.7, 2.3, 2.0, 1.7, 1.0, 0.0};
+
+    @Param({"5", "20", "50", "100", "200"})
+    public int transcriptSize;
+
+    private final GradeCalculator gradeCalculator = new GradeCalculator();
+    private final BulkGpaCalculator bulkGpaCalculator = new BulkGpaCalculator();
+    private List<CourseGrade> grades;
+    private int[] credits;
+    private double[] gradePoints;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        grades = new ArrayList<>(transcriptSize);
+        credits = new int[transcriptSize];
+        gradePoints = new double[transcriptSize];
+        for (int i = 0; i < transcriptSize; i++) {
+            credits[i] = 1 + random.nextInt(4);
+            gradePoints[i] = GRADE_POINTS[random.nextInt(GRADE_POINTS.length)];
+            grades.add(new CourseGrade("C" + i, credits[i], gradePoints[i]));
+        }
+    }
+
+    @Benchmark
+    public double calculateGPA() {
+        return gradeCalculator.calculateGPA(grades);
+    }
+
+    @Benchmark
+    public double calculateGPAPrimitive() {
+        return bulkGpaCalculator.calculateGPA(credits, gradePoints);
+    }
+}
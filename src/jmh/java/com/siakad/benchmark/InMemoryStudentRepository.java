@@ -0,0 +1,42 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.StudentRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * StudentRepository in-memory untuk benchmark.
+ */
+class InMemoryStudentRepository implements StudentRepository {
+
+    private final Map<String, Student> students = new ConcurrentHashMap<>();
+
+    @Override
+    public Student findById(String studentId) {
+        return students.get(studentId);
+    }
+
+    @Override
+    public void save(Student student) {
+        students.put(student.getStudentId(), student);
+    }
+
+    @Override
+    public void update(Student student) {
+        students.put(student.getStudentId(), student);
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        return List.of();
+    }
+
+    @Override
+    public void delete(String studentId) {
+        students.remove(studentId);
+    }
+}
@@ -0,0 +1,96 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.ShardedEnrollmentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skala throughput {@link ShardedEnrollmentService} terhadap jumlah shard
+ * (1 sampai N core) untuk campuran enroll/drop yang tersebar di banyak mata kuliah.
+ *
+ * Setiap invocation mengirim {@value #BATCH} request async lalu menunggu
+ * semuanya selesai, sehingga semua shard terisi bersamaan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ShardedEnrollmentBenchmark {
+
+    static final int STUDENTS = 1_024;
+    static final int COURSES = 512;
+    static final int BATCH = 4_096;
+
+    @Param({"1", "2", "4", "8"})
+    public int shards;
+
+    private ShardedEnrollmentService enrollmentService;
+    private String[] studentIds;
+    private String[] courseCodes;
+    private final CompletableFuture<?>[] pending = new CompletableFuture<?>[BATCH];
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        InMemoryStudentRepository studentRepository = new InMemoryStudentRepository();
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository();
+
+        studentIds = new String[STUDENTS];
+        for (int i = 0; i < STUDENTS; i++) {
+            studentIds[i] = "S" + i;
+            studentRepository.save(new Student(studentIds[i], "Mahasiswa " + i, "s" + i + "@uni.ac.id",
+                    "Informatika", 1 + i % 8, 3.0, "ACTIVE"));
+        }
+        courseCodes = new String[COURSES];
+        for (int i = 0; i < COURSES; i++) {
+            courseCodes[i] = "MK" + i;
+            Course course = new Course();
+            course.setCourseCode(courseCodes[i]);
+            course.setCourseName("Mata Kuliah " + i);
+            course.setCapacity(Integer.MAX_VALUE);
+            course.setEnrolledCount(BATCH);
+            courseRepository.save(course);
+        }
+
+        enrollmentService = new ShardedEnrollmentService(studentRepository, courseRepository,
+                new EnrollmentBenchmark.NoOpNotificationService(), new GradeCalculator(), shards, shards, BATCH);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        enrollmentService.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void enrollDropMix() {
+        for (int i = 0; i < BATCH; i++) {
+            String studentId = studentIds[i & (STUDENTS - 1)];
+            String courseCode = courseCodes[i & (COURSES - 1)];
+            pending[i] = (i & 1) == 0
+                    ? enrollmentService.enrollCourseAsync(studentId, courseCode)
+                    : enrollmentService.dropCourseAsync(studentId, courseCode);
+        }
+        CompletableFuture.allOf(pending).join();
+    }
+}
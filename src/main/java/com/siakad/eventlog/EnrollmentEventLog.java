@@ -0,0 +1,545 @@
+package com.siakad.eventlog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Log append-only berbasis memory-mapped file untuk setiap enroll dan drop.
+ *
+ * File dibagi menjadi region berukuran tetap yang di-map satu per satu. Setiap
+ * record berisi panjang, CRC32 dan isi (jenis, nomor urut, waktu, id mahasiswa,
+ * kode mata kuliah), dan tidak pernah melintasi batas region. Thread flusher
+ * memanggil {@link MappedByteBuffer#force()} secara berkala sehingga banyak
+ * append berbagi satu fsync (group commit). Jika {@code durableAppends} aktif,
+ * {@link #append} baru kembali setelah record-nya benar-benar tersimpan.
+ * Pemanggil yang perlu menulis record di dalam lock sendiri memakai
+ * {@link #appendDeferred} di dalam lock lalu {@link #commit} di luar lock,
+ * supaya lock tidak ditahan selama fsync.
+ *
+ * Log juga menyimpan {@link EnrollmentState} terkini dan secara berkala menulis
+ * snapshot ringkas, sehingga replay saat startup cukup membaca snapshot lalu
+ * record setelahnya. Jumlah terdaftar yang sudah ada sebelum log dipakai dicatat
+ * sekali lewat {@link #writeBaseline}; tanpa itu replay menghitung dari nol.
+ */
+public class EnrollmentEventLog implements AutoCloseable {
+
+    private static final int MAGIC = 0x53454C47;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_OVERHEAD = 8;
+    private static final int SKIP_TO_NEXT_REGION = -1;
+    private static final int SNAPSHOT_MAGIC = 0x53454C53;
+
+    private final FileChannel channel;
+    private final int regionSize;
+    private final Path snapshotFile;
+    private final long snapshotEveryEvents;
+    private final boolean durableAppends;
+    private final long syncIntervalMillis;
+
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+    private final EnrollmentState state;
+    private final ByteBuffer scratch = ByteBuffer.allocate(1024);
+    private final CRC32 crc = new CRC32();
+    private long position;
+    private long appendedSequence;
+    private long eventsSinceSnapshot;
+    private int firstDirtyRegion;
+
+    private final Object syncMonitor = new Object();
+    private final Object forceLock = new Object();
+    private long durableSequence;
+    private boolean closed;
+    private volatile boolean running = true;
+    private final Thread flusher;
+
+    /**
+     * Membuka (atau membuat) log dan memulihkan keadaan dari snapshot serta record yang ada.
+     *
+     * @param snapshotFile        lokasi snapshot, boleh null jika tidak dipakai
+     * @param snapshotEveryEvents tulis snapshot setiap sekian event, 0 untuk nonaktif
+     */
+    public EnrollmentEventLog(Path logFile, Path snapshotFile, int regionSize, long snapshotEveryEvents,
+                              boolean durableAppends, long syncIntervalMillis) throws IOException {
+        if (regionSize < 4096) {
+            throw new IllegalArgumentException("Region size must be at least 4096 bytes");
+        }
+        this.snapshotFile = snapshotFile;
+        this.snapshotEveryEvents = snapshotEveryEvents;
+        this.durableAppends = durableAppends;
+        this.syncIntervalMillis = syncIntervalMillis;
+
+        boolean fresh = !Files.exists(logFile) || Files.size(logFile) == 0;
+        this.channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        if (fresh) {
+            this.regionSize = regionSize;
+            MappedByteBuffer first = mapRegion(0);
+            first.putInt(0, MAGIC);
+            first.putInt(4, VERSION);
+            first.putInt(8, regionSize);
+            first.force();
+        } else {
+            this.regionSize = readHeader(channel);
+        }
+
+        Recovered recovered = recover(channel, this.regionSize, snapshotFile, true);
+        this.state = recovered.state;
+        this.position = recovered.endPosition;
+        this.appendedSequence = state.getLastSequence();
+        this.durableSequence = appendedSequence;
+        this.firstDirtyRegion = regionIndex(position);
+        while (regions.size() <= regionIndex(position)) {
+            mapRegion(regions.size());
+        }
+
+        this.flusher = new Thread(this::flushLoop, "enrollment-event-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Mencatat satu kejadian.
+     *
+     * @return nomor urut kejadian
+     * @throws IllegalStateException jika {@code durableAppends} aktif dan log ditutup
+     *                               atau thread diinterupsi sebelum record tersimpan
+     */
+    public long append(EnrollmentEventType type, String studentId, String courseCode) {
+        long sequence = appendDeferred(type, studentId, courseCode);
+        commit(sequence);
+        return sequence;
+    }
+
+    /**
+     * Menulis record tanpa menunggu fsync; urutan record sama dengan urutan
+     * pemanggilan. Panggil {@link #commit} sesudahnya untuk jaminan durabilitas.
+     *
+     * @return nomor urut kejadian
+     */
+    public long appendDeferred(EnrollmentEventType type, String studentId, String courseCode) {
+        synchronized (this) {
+            if (!running) {
+                throw new IllegalStateException("Event log is closed");
+            }
+            long sequence = appendedSequence + 1;
+            ByteBuffer body = encode(type, sequence, System.currentTimeMillis(), studentId, courseCode);
+            int length = body.remaining();
+
+            long regionEnd = ((long) regionIndex(position) + 1) * regionSize;
+            if (position + RECORD_OVERHEAD + length > regionEnd) {
+                if (regionEnd - position >= 4) {
+                    region(position).putInt(offset(position), SKIP_TO_NEXT_REGION);
+                }
+                position = regionEnd;
+            }
+            MappedByteBuffer region = region(position);
+            int offset = offset(position);
+            crc.reset();
+            crc.update(body.duplicate());
+            region.putInt(offset + 4, (int) crc.getValue());
+            region.put(offset + RECORD_OVERHEAD, body.array(), 0, length);
+            // Panjang ditulis terakhir supaya record yang belum lengkap terbaca sebagai akhir log
+            region.putInt(offset, length);
+            position += RECORD_OVERHEAD + length;
+
+            appendedSequence = sequence;
+            state.apply(sequence, type, studentId, courseCode);
+            eventsSinceSnapshot++;
+            return sequence;
+        }
+    }
+
+    /**
+     * Jika {@code durableAppends} aktif, menunggu sampai record dengan nomor urut
+     * tersebut tersimpan; tanpa itu langsung kembali.
+     */
+    public void commit(long sequence) {
+        if (durableAppends) {
+            awaitDurable(sequence);
+        }
+    }
+
+    /**
+     * Menunggu sampai kejadian dengan nomor urut tersebut sudah di-fsync.
+     *
+     * @throws IllegalStateException jika log ditutup tanpa sempat menyimpan record
+     *                               tersebut, atau thread diinterupsi saat menunggu
+     */
+    public void awaitDurable(long sequence) {
+        synchronized (syncMonitor) {
+            syncMonitor.notifyAll();
+            while (durableSequence < sequence) {
+                if (closed) {
+                    throw new IllegalStateException("Event log closed before event " + sequence + " was durable");
+                }
+                try {
+                    syncMonitor.wait(syncIntervalMillis + 10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for event " + sequence
+                            + " to become durable", e);
+                }
+            }
+        }
+    }
+
+    public long getDurableSequence() {
+        synchronized (syncMonitor) {
+            return durableSequence;
+        }
+    }
+
+    /**
+     * @return true jika log belum berisi event maupun baseline
+     */
+    public synchronized boolean isEmpty() {
+        return appendedSequence == 0 && state.getOccupancy().isEmpty();
+    }
+
+    /**
+     * Mencatat jumlah terdaftar yang sudah ada sebelum log dipakai sebagai snapshot
+     * baseline, sehingga replay dan {@link EnrollmentState#applyTo} menghasilkan
+     * jumlah absolut, bukan hanya selisih sejak log dipasang.
+     *
+     * @throws IllegalStateException jika log sudah berisi event atau baseline, atau
+     *                               ada jumlah terdaftar tetapi log tidak punya file snapshot
+     */
+    public void writeBaseline(Map<String, Integer> enrolledCounts) throws IOException {
+        synchronized (this) {
+            if (!isEmpty()) {
+                throw new IllegalStateException("Baseline can only be written to an empty event log");
+            }
+            for (Map.Entry<String, Integer> entry : enrolledCounts.entrySet()) {
+                if (entry.getValue() <= 0) {
+                    continue;
+                }
+                if (snapshotFile == null) {
+                    throw new IllegalStateException("Existing enrollments need a snapshot file for the baseline");
+                }
+                state.restoreOccupancy(entry.getKey(), entry.getValue());
+            }
+        }
+        writeSnapshot();
+    }
+
+    /**
+     * Salinan keadaan terkini; aman dipakai tanpa mengunci log.
+     */
+    public synchronized EnrollmentState snapshotState() {
+        EnrollmentState copy = new EnrollmentState();
+        copy.restoreSequence(state.getLastSequence());
+        for (Map.Entry<String, Integer> entry : state.getOccupancy().entrySet()) {
+            copy.restoreOccupancy(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, Set<String>> entry : state.getAllEnrollments().entrySet()) {
+            for (String courseCode : entry.getValue()) {
+                copy.restoreEnrollment(entry.getKey(), courseCode);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Menulis snapshot sekarang. Record sebelum snapshot di-fsync lebih dulu
+     * oleh thread pemanggil sendiri, supaya snapshot tidak pernah mendahului log
+     * dan thread flusher tidak pernah menunggu dirinya sendiri.
+     */
+    public void writeSnapshot() throws IOException {
+        if (snapshotFile == null) {
+            return;
+        }
+        EnrollmentState copy;
+        long snapshotPosition;
+        synchronized (this) {
+            copy = snapshotState();
+            snapshotPosition = position;
+            eventsSinceSnapshot = 0;
+        }
+        // sync() menyimpan minimal sampai appendedSequence saat ini, yang >= nomor urut snapshot
+        sync();
+
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(copy.getLastSequence());
+            out.writeLong(snapshotPosition);
+            out.writeInt(copy.getOccupancy().size());
+            for (Map.Entry<String, Integer> entry : copy.getOccupancy().entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            out.writeInt(copy.getAllEnrollments().size());
+            for (Map.Entry<String, Set<String>> entry : copy.getAllEnrollments().entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (String courseCode : entry.getValue()) {
+                    out.writeUTF(courseCode);
+                }
+            }
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+        }
+        synchronized (syncMonitor) {
+            syncMonitor.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            sync();
+        } finally {
+            // Penunggu yang record-nya tidak sempat tersimpan mendapat exception, bukan diam
+            synchronized (syncMonitor) {
+                closed = true;
+                syncMonitor.notifyAll();
+            }
+            channel.close();
+        }
+    }
+
+    /**
+     * Membangun ulang keadaan dari snapshot dan log tanpa membuka log untuk ditulisi.
+     */
+    public static EnrollmentState replay(Path logFile, Path snapshotFile) throws IOException {
+        try (FileChannel readChannel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            return recover(readChannel, readHeader(readChannel), snapshotFile, false).state;
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            synchronized (syncMonitor) {
+                try {
+                    syncMonitor.wait(syncIntervalMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            sync();
+            boolean snapshotDue;
+            synchronized (this) {
+                snapshotDue = snapshotEveryEvents > 0 && eventsSinceSnapshot >= snapshotEveryEvents;
+            }
+            if (snapshotDue) {
+                try {
+                    writeSnapshot();
+                } catch (IOException e) {
+                    // Snapshot gagal tidak merusak log; dicoba lagi pada putaran berikutnya
+                }
+            }
+        }
+    }
+
+    // Diserialkan supaya durableSequence tidak maju sebelum force() milik pemanggil lain selesai
+    private void sync() {
+        synchronized (forceLock) {
+            long target;
+            List<MappedByteBuffer> dirty;
+            synchronized (this) {
+                target = appendedSequence;
+                if (target == getDurableSequence()) {
+                    return;
+                }
+                dirty = new ArrayList<>(regions.subList(firstDirtyRegion, regions.size()));
+                firstDirtyRegion = regions.size() - 1;
+            }
+            for (MappedByteBuffer region : dirty) {
+                region.force();
+            }
+            synchronized (syncMonitor) {
+                durableSequence = Math.max(durableSequence, target);
+                syncMonitor.notifyAll();
+            }
+        }
+    }
+
+    private MappedByteBuffer region(long absolute) {
+        int index = regionIndex(absolute);
+        while (regions.size() <= index) {
+            mapRegion(regions.size());
+        }
+        return regions.get(index);
+    }
+
+    private MappedByteBuffer mapRegion(int index) {
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, (long) index * regionSize,
+                    regionSize);
+            regions.add(buffer);
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map event log region " + index, e);
+        }
+    }
+
+    private int regionIndex(long absolute) {
+        return (int) (absolute / regionSize);
+    }
+
+    private int offset(long absolute) {
+        return (int) (absolute % regionSize);
+    }
+
+    private ByteBuffer encode(EnrollmentEventType type, long sequence, long timestamp,
+                              String studentId, String courseCode) {
+        byte[] student = studentId.getBytes(StandardCharsets.UTF_8);
+        byte[] course = courseCode.getBytes(StandardCharsets.UTF_8);
+        if (21 + student.length + course.length > scratch.capacity()) {
+            throw new IllegalArgumentException("Student id or course code too long");
+        }
+        scratch.clear();
+        scratch.put((byte) type.ordinal());
+        scratch.putLong(sequence);
+        scratch.putLong(timestamp);
+        scratch.putShort((short) student.length);
+        scratch.put(student);
+        scratch.putShort((short) course.length);
+        scratch.put(course);
+        scratch.flip();
+        return scratch;
+    }
+
+    private static int readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < 12 || header.getInt() != MAGIC) {
+            throw new IOException("Not an enrollment event log");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported event log version " + version);
+        }
+        return header.getInt();
+    }
+
+    private static Recovered recover(FileChannel channel, int regionSize, Path snapshotFile, boolean repair)
+            throws IOException {
+        EnrollmentState state = new EnrollmentState();
+        long position = HEADER_SIZE;
+        if (snapshotFile != null && Files.exists(snapshotFile)) {
+            position = readSnapshot(snapshotFile, state);
+        }
+
+        long size = channel.size();
+        CRC32 crc = new CRC32();
+        byte[] text = new byte[Short.MAX_VALUE];
+        EnrollmentEventType[] types = EnrollmentEventType.values();
+        MappedByteBuffer region = null;
+        int mappedIndex = -1;
+
+        while (position + RECORD_OVERHEAD <= size) {
+            int index = (int) (position / regionSize);
+            long regionEnd = ((long) index + 1) * regionSize;
+            if (regionEnd - position < RECORD_OVERHEAD) {
+                position = regionEnd;
+                continue;
+            }
+            if (index != mappedIndex) {
+                region = channel.map(FileChannel.MapMode.READ_ONLY, (long) index * regionSize,
+                        Math.min(regionSize, size - (long) index * regionSize));
+                mappedIndex = index;
+            }
+            int offset = (int) (position - (long) index * regionSize);
+            int length = region.getInt(offset);
+            if (length == SKIP_TO_NEXT_REGION) {
+                position = regionEnd;
+                continue;
+            }
+            if (length <= 0 || position + RECORD_OVERHEAD + length > regionEnd) {
+                break;
+            }
+            ByteBuffer body = region.duplicate();
+            body.limit(offset + RECORD_OVERHEAD + length).position(offset + RECORD_OVERHEAD);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != region.getInt(offset + 4)) {
+                // Record terpotong karena crash saat menulis: akhir log yang sah ada di sini
+                break;
+            }
+            EnrollmentEventType type = types[body.get()];
+            long sequence = body.getLong();
+            body.getLong();
+            int studentLength = body.getShort();
+            body.get(text, 0, studentLength);
+            String studentId = new String(text, 0, studentLength, StandardCharsets.UTF_8);
+            int courseLength = body.getShort();
+            body.get(text, 0, courseLength);
+            String courseCode = new String(text, 0, courseLength, StandardCharsets.UTF_8);
+            state.apply(sequence, type, studentId, courseCode);
+            position += RECORD_OVERHEAD + length;
+        }
+
+        if (repair && position < size) {
+            // Bersihkan sisa record rusak di region terakhir supaya tidak terbaca ulang
+            int index = (int) (position / regionSize);
+            long regionEnd = Math.min(((long) index + 1) * regionSize, size);
+            channel.write(ByteBuffer.allocate((int) (regionEnd - position)), position);
+            channel.force(false);
+        }
+        return new Recovered(state, position);
+    }
+
+    private static long readSnapshot(Path snapshotFile, EnrollmentState state) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Invalid enrollment snapshot " + snapshotFile);
+            }
+            state.restoreSequence(in.readLong());
+            long position = in.readLong();
+            int courses = in.readInt();
+            for (int i = 0; i < courses; i++) {
+                state.restoreOccupancy(in.readUTF(), in.readInt());
+            }
+            int students = in.readInt();
+            for (int i = 0; i < students; i++) {
+                String studentId = in.readUTF();
+                int count = in.readInt();
+                for (int j = 0; j < count; j++) {
+                    state.restoreEnrollment(studentId, in.readUTF());
+                }
+            }
+            return position;
+        }
+    }
+
+    private static final class Recovered {
+        final EnrollmentState state;
+        final long endPosition;
+
+        Recovered(EnrollmentState state, long endPosition) {
+            this.state = state;
+            this.endPosition = endPosition;
+        }
+    }
+}
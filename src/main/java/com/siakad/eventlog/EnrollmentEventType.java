@@ -0,0 +1,9 @@
+package com.siakad.eventlog;
+
+/**
+ * Jenis kejadian yang dicatat di {@link EnrollmentEventLog}.
+ */
+public enum EnrollmentEventType {
+    ENROLL,
+    DROP
+}
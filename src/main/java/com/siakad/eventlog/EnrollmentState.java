@@ -0,0 +1,95 @@
+package com.siakad.eventlog;
+
+import com.siakad.model.Course;
+import com.siakad.repository.CourseRepository;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keadaan enrollment hasil replay log: jumlah kursi terisi per mata kuliah dan
+ * daftar mata kuliah per mahasiswa, beserta nomor urut kejadian terakhir.
+ *
+ * Jumlah kursi dimulai dari baseline {@link EnrollmentEventLog#writeBaseline}
+ * (atau nol tanpa baseline) dan berubah dengan aturan yang sama dengan
+ * SeatReservationEngine, termasuk tidak pernah turun di bawah nol. Daftar
+ * mata kuliah per mahasiswa hanya mencakup enroll yang tercatat di log.
+ */
+public class EnrollmentState {
+
+    private final Map<String, Integer> occupancy = new HashMap<>();
+    private final Map<String, Set<String>> enrollments = new HashMap<>();
+    private long lastSequence;
+
+    public void apply(long sequence, EnrollmentEventType type, String studentId, String courseCode) {
+        lastSequence = sequence;
+        if (type == EnrollmentEventType.ENROLL) {
+            occupancy.merge(courseCode, 1, Integer::sum);
+            enrollments.computeIfAbsent(studentId, key -> new LinkedHashSet<>()).add(courseCode);
+        } else {
+            // Sama seperti SeatReservationEngine, jumlah terisi tidak pernah negatif
+            occupancy.merge(courseCode, 0, (current, ignored) -> Math.max(current - 1, 0));
+            Set<String> courses = enrollments.get(studentId);
+            if (courses != null) {
+                courses.remove(courseCode);
+                if (courses.isEmpty()) {
+                    enrollments.remove(studentId);
+                }
+            }
+        }
+    }
+
+    void restoreSequence(long sequence) {
+        lastSequence = sequence;
+    }
+
+    void restoreOccupancy(String courseCode, int count) {
+        occupancy.put(courseCode, count);
+    }
+
+    void restoreEnrollment(String studentId, String courseCode) {
+        enrollments.computeIfAbsent(studentId, key -> new LinkedHashSet<>()).add(courseCode);
+    }
+
+    public int getEnrolledCount(String courseCode) {
+        return occupancy.getOrDefault(courseCode, 0);
+    }
+
+    public Set<String> getEnrollments(String studentId) {
+        return Collections.unmodifiableSet(enrollments.getOrDefault(studentId, Collections.emptySet()));
+    }
+
+    public Map<String, Integer> getOccupancy() {
+        return Collections.unmodifiableMap(occupancy);
+    }
+
+    Map<String, Set<String>> getAllEnrollments() {
+        return enrollments;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Menulis jumlah terdaftar hasil replay ke repository, untuk dipanggil saat
+     * startup sebelum melayani request.
+     *
+     * @return jumlah mata kuliah yang diperbarui
+     */
+    public int applyTo(CourseRepository courseRepository) {
+        int updated = 0;
+        for (Map.Entry<String, Integer> entry : occupancy.entrySet()) {
+            Course course = courseRepository.findByCourseCode(entry.getKey());
+            if (course != null) {
+                course.setEnrolledCount(entry.getValue());
+                courseRepository.update(course);
+                updated++;
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,37 @@
+package com.siakad.exception;
+
+/**
+ * Dilempar lapisan admission ketika request ditolak sebelum sampai ke
+ * EnrollmentService. Klien sebaiknya mencoba lagi setelah {@link #getRetryAfterMillis()}.
+ */
+public class AdmissionRejectedException extends EnrollmentException {
+
+    /**
+     * Alasan penolakan.
+     */
+    public enum Reason {
+        /** Tiket ruang tunggu belum waktunya masuk. */
+        WAITING_ROOM,
+        /** Mahasiswa mengirim request terlalu cepat. */
+        RATE_LIMITED,
+        /** Batas request bersamaan sistem sedang penuh. */
+        OVERLOADED
+    }
+
+    private final Reason reason;
+    private final long retryAfterMillis;
+
+    public AdmissionRejectedException(String message, Reason reason, long retryAfterMillis) {
+        super(message);
+        this.reason = reason;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
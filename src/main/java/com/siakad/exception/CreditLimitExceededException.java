@@ -0,0 +1,11 @@
+package com.siakad.exception;
+
+/**
+ * Dilempar ketika total SKS yang diambil mahasiswa melebihi batas SKS berdasarkan GPA.
+ */
+public class CreditLimitExceededException extends EnrollmentException {
+
+    public CreditLimitExceededException(String message) {
+        super(message);
+    }
+}
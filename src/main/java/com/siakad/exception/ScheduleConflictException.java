@@ -0,0 +1,19 @@
+package com.siakad.exception;
+
+/**
+ * Dilempar ketika jadwal mata kuliah yang diambil bentrok dengan mata kuliah
+ * lain yang sudah diambil mahasiswa.
+ */
+public class ScheduleConflictException extends EnrollmentException {
+
+    private final String conflictingCourseCode;
+
+    public ScheduleConflictException(String message, String conflictingCourseCode) {
+        super(message);
+        this.conflictingCourseCode = conflictingCourseCode;
+    }
+
+    public String getConflictingCourseCode() {
+        return conflictingCourseCode;
+    }
+}
@@ -0,0 +1,63 @@
+package com.siakad.metrics;
+
+import com.siakad.exception.EnrollmentException;
+
+/**
+ * Titik instrumentasi untuk alur enroll.
+ *
+ * Pemanggil wajib mengecek {@link #isEnabled()} sebelum mengambil timestamp,
+ * sehingga dengan {@link #NOOP} jalur panas hanya membayar satu pemanggilan
+ * method tanpa {@link System#nanoTime()}.
+ */
+public interface EnrollmentMetrics {
+
+    /**
+     * Tahapan enroll yang diukur latensinya.
+     */
+    enum Stage {
+        STUDENT_LOOKUP,
+        STATUS_CHECK,
+        COURSE_LOOKUP,
+        CAPACITY_CHECK,
+        PREREQUISITE_CHECK,
+        SEAT_RESERVATION,
+        COURSE_UPDATE,
+        EVENT_LOG,
+        NOTIFICATION
+    }
+
+    EnrollmentMetrics NOOP = new EnrollmentMetrics() {
+        @Override public boolean isEnabled() { return false; }
+        @Override public void recordStage(Stage stage, long nanos) {}
+        @Override public void recordFailure(EnrollmentException e) {}
+        @Override public void courseEntered(String courseCode) {}
+        @Override public void courseExited(String courseCode) {}
+    };
+
+    boolean isEnabled();
+
+    void recordStage(Stage stage, long nanos);
+
+    /**
+     * Dihitung per jenis exception, misalnya CourseFullException atau PrerequisiteNotMetException.
+     */
+    void recordFailure(EnrollmentException e);
+
+    /**
+     * Menandai satu request mulai memperebutkan kursi di mata kuliah ini (gauge kontensi).
+     */
+    void courseEntered(String courseCode);
+
+    void courseExited(String courseCode);
+
+    /**
+     * Mencatat durasi sejak {@code startNanos} untuk satu tahap.
+     *
+     * @return timestamp sekarang, dipakai sebagai awal tahap berikutnya
+     */
+    default long lap(Stage stage, long startNanos) {
+        long now = System.nanoTime();
+        recordStage(stage, now - startNanos);
+        return now;
+    }
+}
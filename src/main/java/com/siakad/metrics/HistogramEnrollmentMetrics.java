@@ -0,0 +1,97 @@
+package com.siakad.metrics;
+
+import com.siakad.exception.EnrollmentException;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementasi {@link EnrollmentMetrics} di memori: satu {@link LatencyHistogram}
+ * per tahap, counter per jenis exception, dan gauge kontensi per mata kuliah
+ * (jumlah request yang sedang berjalan beserta puncaknya).
+ */
+public class HistogramEnrollmentMetrics implements EnrollmentMetrics {
+
+    private final LatencyHistogram[] stages = new LatencyHistogram[Stage.values().length];
+    private final ConcurrentHashMap<String, LongAdder> failures = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CourseGauge> courses = new ConcurrentHashMap<>();
+
+    public HistogramEnrollmentMetrics() {
+        for (int i = 0; i < stages.length; i++) {
+            stages[i] = new LatencyHistogram();
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void recordStage(Stage stage, long nanos) {
+        stages[stage.ordinal()].record(nanos);
+    }
+
+    @Override
+    public void recordFailure(EnrollmentException e) {
+        failures.computeIfAbsent(e.getClass().getSimpleName(), key -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void courseEntered(String courseCode) {
+        CourseGauge gauge = courses.computeIfAbsent(courseCode, key -> new CourseGauge());
+        int inFlight = gauge.inFlight.incrementAndGet();
+        gauge.peak.accumulateAndGet(inFlight, Math::max);
+    }
+
+    @Override
+    public void courseExited(String courseCode) {
+        CourseGauge gauge = courses.get(courseCode);
+        if (gauge != null) {
+            gauge.inFlight.decrementAndGet();
+        }
+    }
+
+    public LatencyHistogram getHistogram(Stage stage) {
+        return stages[stage.ordinal()];
+    }
+
+    public long getFailureCount(Class<? extends EnrollmentException> type) {
+        LongAdder counter = failures.get(type.getSimpleName());
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * @return jumlah kegagalan per nama exception, terurut nama
+     */
+    public Map<String, Long> getFailureCounts() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        failures.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        return snapshot;
+    }
+
+    public int getInFlight(String courseCode) {
+        CourseGauge gauge = courses.get(courseCode);
+        return gauge == null ? 0 : gauge.inFlight.get();
+    }
+
+    public int getPeakInFlight(String courseCode) {
+        CourseGauge gauge = courses.get(courseCode);
+        return gauge == null ? 0 : gauge.peak.get();
+    }
+
+    /**
+     * @return kode mata kuliah yang pernah tercatat, terurut
+     */
+    public Iterable<String> getCourseCodes() {
+        return new TreeMap<>(courses).keySet();
+    }
+
+    private static final class CourseGauge {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+    }
+}
@@ -0,0 +1,90 @@
+package com.siakad.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Menulis {@link HistogramEnrollmentMetrics} dalam format teks Prometheus (versi 0.0.4).
+ *
+ * Latensi per tahap diekspor sebagai summary dalam detik (kuantil 0.5, 0.9,
+ * 0.99, 0.999), kegagalan sebagai counter berlabel nama exception, dan
+ * kontensi sebagai gauge berlabel kode mata kuliah.
+ */
+public class PrometheusExporter {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final HistogramEnrollmentMetrics metrics;
+
+    public PrometheusExporter(HistogramEnrollmentMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        write(out);
+        return out.toString();
+    }
+
+    public void write(Appendable out) {
+        try {
+            writeStages(out);
+            writeFailures(out);
+            writeContention(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write metrics", e);
+        }
+    }
+
+    private void writeStages(Appendable out) throws IOException {
+        out.append("# HELP siakad_enrollment_stage_seconds Latency of each enrollment stage.\n");
+        out.append("# TYPE siakad_enrollment_stage_seconds summary\n");
+        for (EnrollmentMetrics.Stage stage : EnrollmentMetrics.Stage.values()) {
+            LatencyHistogram histogram = metrics.getHistogram(stage);
+            String label = "stage=\"" + stage.name().toLowerCase(Locale.ROOT) + "\"";
+            for (double quantile : QUANTILES) {
+                out.append("siakad_enrollment_stage_seconds{").append(label)
+                        .append(",quantile=\"").append(Double.toString(quantile)).append("\"} ")
+                        .append(seconds(histogram.valueAtPercentile(quantile * 100))).append('\n');
+            }
+            out.append("siakad_enrollment_stage_seconds_sum{").append(label).append("} ")
+                    .append(seconds(histogram.getSum())).append('\n');
+            out.append("siakad_enrollment_stage_seconds_count{").append(label).append("} ")
+                    .append(Long.toString(histogram.getCount())).append('\n');
+        }
+    }
+
+    private void writeFailures(Appendable out) throws IOException {
+        out.append("# HELP siakad_enrollment_failures_total Rejected enrollments by exception type.\n");
+        out.append("# TYPE siakad_enrollment_failures_total counter\n");
+        for (Map.Entry<String, Long> entry : metrics.getFailureCounts().entrySet()) {
+            out.append("siakad_enrollment_failures_total{exception=\"").append(escape(entry.getKey())).append("\"} ")
+                    .append(Long.toString(entry.getValue())).append('\n');
+        }
+    }
+
+    private void writeContention(Appendable out) throws IOException {
+        out.append("# HELP siakad_enrollment_in_flight Enrollment requests currently contending for a course.\n");
+        out.append("# TYPE siakad_enrollment_in_flight gauge\n");
+        for (String courseCode : metrics.getCourseCodes()) {
+            out.append("siakad_enrollment_in_flight{course=\"").append(escape(courseCode)).append("\"} ")
+                    .append(Integer.toString(metrics.getInFlight(courseCode))).append('\n');
+        }
+        out.append("# HELP siakad_enrollment_in_flight_peak Highest observed concurrent requests for a course.\n");
+        out.append("# TYPE siakad_enrollment_in_flight_peak gauge\n");
+        for (String courseCode : metrics.getCourseCodes()) {
+            out.append("siakad_enrollment_in_flight_peak{course=\"").append(escape(courseCode)).append("\"} ")
+                    .append(Integer.toString(metrics.getPeakInFlight(courseCode))).append('\n');
+        }
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,35 @@
+package com.siakad.model;
+
+/**
+ * Hasil perhitungan ulang akademik seorang mahasiswa: GPA, status dan batas SKS.
+ */
+public class AcademicStanding {
+
+    private final String studentId;
+    private final double gpa;
+    private final String academicStatus;
+    private final int maxCredits;
+
+    public AcademicStanding(String studentId, double gpa, String academicStatus, int maxCredits) {
+        this.studentId = studentId;
+        this.gpa = gpa;
+        this.academicStatus = academicStatus;
+        this.maxCredits = maxCredits;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public double getGpa() {
+        return gpa;
+    }
+
+    public String getAcademicStatus() {
+        return academicStatus;
+    }
+
+    public int getMaxCredits() {
+        return maxCredits;
+    }
+}
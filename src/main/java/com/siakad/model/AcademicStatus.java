@@ -0,0 +1,25 @@
+package com.siakad.model;
+
+/**
+ * Status akademik mahasiswa. Nama konstanta sama dengan string yang dipakai
+ * {@link Student#getAcademicStatus()} dan GradeCalculator.
+ */
+public enum AcademicStatus {
+    ACTIVE,
+    PROBATION,
+    SUSPENDED;
+
+    private static final AcademicStatus[] VALUES = values();
+
+    public static AcademicStatus fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * @return status yang sesuai, atau null jika {@code status} null
+     * @throws IllegalArgumentException jika status tidak dikenal
+     */
+    public static AcademicStatus of(String status) {
+        return status == null ? null : valueOf(status);
+    }
+}
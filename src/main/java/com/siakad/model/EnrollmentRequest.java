@@ -0,0 +1,43 @@
+package com.siakad.model;
+
+import java.util.Objects;
+
+/**
+ * Satu baris permintaan pendaftaran: pasangan mahasiswa dan mata kuliah.
+ */
+public class EnrollmentRequest {
+
+    private final String studentId;
+    private final String courseCode;
+
+    public EnrollmentRequest(String studentId, String courseCode) {
+        this.studentId = studentId;
+        this.courseCode = courseCode;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EnrollmentRequest)) return false;
+        EnrollmentRequest that = (EnrollmentRequest) o;
+        return Objects.equals(studentId, that.studentId) && Objects.equals(courseCode, that.courseCode);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(studentId, courseCode);
+    }
+
+    @Override
+    public String toString() {
+        return studentId + "->" + courseCode;
+    }
+}
@@ -0,0 +1,44 @@
+package com.siakad.model;
+
+import com.siakad.exception.EnrollmentException;
+
+/**
+ * Hasil per baris dari enrollment batch: berisi {@link Enrollment} jika berhasil,
+ * atau exception yang sama dengan yang akan dilempar oleh enrollCourse.
+ */
+public class EnrollmentResult {
+
+    private final EnrollmentRequest request;
+    private final Enrollment enrollment;
+    private final EnrollmentException error;
+
+    private EnrollmentResult(EnrollmentRequest request, Enrollment enrollment, EnrollmentException error) {
+        this.request = request;
+        this.enrollment = enrollment;
+        this.error = error;
+    }
+
+    public static EnrollmentResult success(EnrollmentRequest request, Enrollment enrollment) {
+        return new EnrollmentResult(request, enrollment, null);
+    }
+
+    public static EnrollmentResult failure(EnrollmentRequest request, EnrollmentException error) {
+        return new EnrollmentResult(request, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    public EnrollmentRequest getRequest() {
+        return request;
+    }
+
+    public Enrollment getEnrollment() {
+        return enrollment;
+    }
+
+    public EnrollmentException getError() {
+        return error;
+    }
+}
@@ -0,0 +1,74 @@
+package com.siakad.model;
+
+import java.time.DayOfWeek;
+import java.util.Objects;
+
+/**
+ * Satu jadwal pertemuan mingguan: hari, menit mulai dan menit selesai (setengah
+ * terbuka, {@code [start, end)}), dihitung dari pukul 00:00.
+ */
+public class MeetingSlot {
+
+    private final DayOfWeek day;
+    private final int startMinute;
+    private final int endMinute;
+
+    public MeetingSlot(DayOfWeek day, int startMinute, int endMinute) {
+        if (day == null) {
+            throw new IllegalArgumentException("Day must not be null");
+        }
+        if (startMinute < 0 || endMinute > 24 * 60 || startMinute >= endMinute) {
+            throw new IllegalArgumentException("Invalid meeting time: " + startMinute + "-" + endMinute);
+        }
+        this.day = day;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+    }
+
+    /**
+     * Contoh: {@code MeetingSlot.of(DayOfWeek.MONDAY, "08:00", "09:40")}.
+     */
+    public static MeetingSlot of(DayOfWeek day, String start, String end) {
+        return new MeetingSlot(day, toMinute(start), toMinute(end));
+    }
+
+    private static int toMinute(String time) {
+        String[] parts = time.split(":");
+        return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
+    }
+
+    public DayOfWeek getDay() {
+        return day;
+    }
+
+    public int getStartMinute() {
+        return startMinute;
+    }
+
+    public int getEndMinute() {
+        return endMinute;
+    }
+
+    public boolean overlaps(MeetingSlot other) {
+        return day == other.day && startMinute < other.endMinute && other.startMinute < endMinute;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MeetingSlot)) return false;
+        MeetingSlot that = (MeetingSlot) o;
+        return startMinute == that.startMinute && endMinute == that.endMinute && day == that.day;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(day, startMinute, endMinute);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %02d:%02d-%02d:%02d", day, startMinute / 60, startMinute % 60,
+                endMinute / 60, endMinute % 60);
+    }
+}
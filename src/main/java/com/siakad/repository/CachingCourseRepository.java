@@ -0,0 +1,210 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorator read-through untuk CourseRepository.
+ *
+ * Katalog mata kuliah hampir tidak berubah selama masa registrasi, jadi hasil
+ * {@link #findByCourseCode(String)} disimpan di cache berukuran tetap dengan
+ * TTL. Cache hit hanya membaca ConcurrentHashMap dan mencatat urutan akses di
+ * entry, tanpa lock, sehingga lookup mata kuliah berbeda tidak saling menunggu.
+ * Lock hanya diambil saat miss, install dan invalidate. Saat penuh, entry yang
+ * paling lama tidak dipakai di antara sampel {@value #EVICTION_SAMPLE} entry
+ * dikeluarkan (LRU perkiraan; tepat jika ukuran cache tidak melebihi sampel). Kode yang tidak ditemukan juga di-cache (negative caching) dengan TTL
+ * terpisah. {@link #save(Course)} dan {@link #update(Course)} diteruskan ke
+ * repository asli lalu langsung menyegarkan cache, sehingga kapasitas dan
+ * jumlah terdaftar yang terbaca selalu yang terakhir ditulis.
+ *
+ * Setiap pemanggil menerima salinan Course sendiri, jadi perubahan pada objek
+ * hasil lookup tidak ikut mengubah isi cache sebelum di-update. Loading yang
+ * bersamaan dengan save/update/invalidate kode yang sama hasilnya dibuang;
+ * penulisan ke kode lain tidak memengaruhi loading tersebut.
+ */
+public class CachingCourseRepository implements CourseRepository {
+
+    private static final int EVICTION_SAMPLE = 16;
+
+    private final CourseRepository delegate;
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Hanya diakses di dalam synchronized (this)
+    private final Map<String, Object> loading = new HashMap<>();
+    private final AtomicLong accessOrder = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public CachingCourseRepository(CourseRepository delegate, int maximumSize, long ttl, long negativeTtl,
+                                   TimeUnit unit) {
+        this(delegate, maximumSize, unit.toNanos(ttl), unit.toNanos(negativeTtl), System::nanoTime);
+    }
+
+    CachingCourseRepository(CourseRepository delegate, int maximumSize, long ttlNanos, long negativeTtlNanos,
+                            LongSupplier clock) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttlNanos;
+        this.negativeTtlNanos = negativeTtlNanos;
+        this.clock = clock;
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        Entry entry = entries.get(courseCode);
+        if (entry != null && clock.getAsLong() - entry.expiresAt < 0) {
+            entry.lastAccess = accessOrder.incrementAndGet();
+            if (entry.course == null) {
+                negativeHits.incrementAndGet();
+            } else {
+                hits.incrementAndGet();
+            }
+            return copyOf(entry.course);
+        }
+
+        Object token = new Object();
+        synchronized (this) {
+            if (entry != null) {
+                // Hanya entry kedaluwarsa yang sama; entry baru dari save/update dibiarkan
+                entries.remove(courseCode, entry);
+            }
+            loading.put(courseCode, token);
+        }
+
+        misses.incrementAndGet();
+        Course course = copyOf(delegate.findByCourseCode(courseCode));
+
+        synchronized (this) {
+            // Jangan timpa hasil save/update kode yang sama yang terjadi selama loading
+            if (loading.remove(courseCode, token)) {
+                install(courseCode, course);
+            }
+        }
+        return copyOf(course);
+    }
+
+    @Override
+    public void save(Course course) {
+        delegate.save(course);
+        refresh(course);
+    }
+
+    @Override
+    public void update(Course course) {
+        delegate.update(course);
+        refresh(course);
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        return delegate.isPrerequisiteMet(studentId, courseCode);
+    }
+
+    public synchronized void invalidate(String courseCode) {
+        loading.remove(courseCode);
+        entries.remove(courseCode);
+    }
+
+    public synchronized void invalidateAll() {
+        loading.clear();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getNegativeHitCount() {
+        return negativeHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public double getHitRate() {
+        long found = hits.get() + negativeHits.get();
+        long total = found + misses.get();
+        return total == 0 ? 0.0 : (double) found / total;
+    }
+
+    private synchronized void refresh(Course course) {
+        loading.remove(course.getCourseCode());
+        install(course.getCourseCode(), copyOf(course));
+    }
+
+    // Dipanggil di dalam synchronized (this)
+    private void install(String courseCode, Course course) {
+        long ttl = course == null ? negativeTtlNanos : ttlNanos;
+        Entry installed = new Entry(course, clock.getAsLong() + ttl, accessOrder.incrementAndGet());
+        entries.put(courseCode, installed);
+        while (entries.size() > maximumSize) {
+            String victim = null;
+            long oldest = Long.MAX_VALUE;
+            Iterator<Map.Entry<String, Entry>> sample = entries.entrySet().iterator();
+            for (int i = 0; i < EVICTION_SAMPLE && sample.hasNext(); i++) {
+                Map.Entry<String, Entry> candidate = sample.next();
+                if (candidate.getValue() != installed && candidate.getValue().lastAccess < oldest) {
+                    oldest = candidate.getValue().lastAccess;
+                    victim = candidate.getKey();
+                }
+            }
+            if (victim == null) {
+                return;
+            }
+            entries.remove(victim);
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static Course copyOf(Course course) {
+        if (course == null) {
+            return null;
+        }
+        Course copy = new Course();
+        copy.setCourseCode(course.getCourseCode());
+        copy.setCourseName(course.getCourseName());
+        copy.setCredits(course.getCredits());
+        copy.setCapacity(course.getCapacity());
+        copy.setEnrolledCount(course.getEnrolledCount());
+        copy.setLecturer(course.getLecturer());
+        return copy;
+    }
+
+    private static final class Entry {
+        final Course course;
+        final long expiresAt;
+        volatile long lastAccess;
+
+        Entry(Course course, long expiresAt, long lastAccess) {
+            this.course = course;
+            this.expiresAt = expiresAt;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.siakad.repository;
+
+import com.siakad.model.AcademicStatus;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * StudentRepository in-memory yang hemat memori untuk replika seluruh kampus.
+ *
+ * Data disimpan per kolom dalam array primitif, bukan satu objek Student per
+ * mahasiswa:
+ * <ul>
+ *   <li>semester dan GPA di {@code short[]} dan {@code double[]}</li>
+ *   <li>status akademik lewat kamus di {@code byte[]}; konstanta {@link AcademicStatus}
+ *       mendapat nomor tetap, status lain (misalnya data lama) tetap disimpan apa adanya</li>
+ *   <li>jurusan dan kode mata kuliah lewat kamus, disimpan sebagai nomor</li>
+ *   <li>nama dan email sebagai {@code byte[]} UTF-8 tanpa header String</li>
+ *   <li>index id mahasiswa berupa tabel open addressing {@code int[]}</li>
+ * </ul>
+ *
+ * Perkiraan memori per mahasiswa (compressed oops, id 8 karakter, nama 15,
+ * email 20 karakter): {@code HashMap<String, Student>} sekitar 300 byte
+ * (node 32, slot tabel ~8, key String ~48, objek Student ~40, String nama ~56,
+ * email ~64, jurusan ~56), sedangkan store ini sekitar 150 byte (slot index 8,
+ * id ~52, nama ~36, email ~40, kolom primitif 13, referensi transkrip 4).
+ * {@link #findById(String)} membuat objek Student baru setiap kali dipanggil.
+ */
+public class CompactStudentRepository implements StudentRepository {
+
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+    private static final int[] NO_COURSES = new int[0];
+    private static final int MAX_MAJOR_ID = 0xFFFF;
+    private static final int MAX_STATUS_ID = 0xFF;
+
+    private final CourseRepository courseRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private String[] ids;
+    private byte[][] names;
+    private byte[][] emails;
+    private short[] majors;
+    private short[] semesters;
+    private double[] gpas;
+    private byte[] statuses;
+    private int[][] completedCourses;
+    private int rows;
+
+    private int[] freeRows = new int[16];
+    private int freeCount;
+
+    // Isi slot: nomor baris + 1, EMPTY, atau DELETED
+    private int[] table;
+    private int used;
+    private int size;
+
+    private final Dictionary majorDictionary = new Dictionary();
+    private final Dictionary courseDictionary = new Dictionary();
+    private final Dictionary statusDictionary = new Dictionary();
+
+    /**
+     * @param courseRepository katalog untuk mengubah kode mata kuliah menjadi objek Course
+     *                         pada {@link #getCompletedCourses(String)}, boleh null
+     */
+    public CompactStudentRepository(CourseRepository courseRepository) {
+        this(courseRepository, 1024);
+    }
+
+    public CompactStudentRepository(CourseRepository courseRepository, int expectedStudents) {
+        this.courseRepository = courseRepository;
+        for (AcademicStatus status : AcademicStatus.values()) {
+            statusDictionary.idOf(status.name(), MAX_STATUS_ID);
+        }
+        int capacity = Math.max(expectedStudents, 16);
+        ids = new String[capacity];
+        names = new byte[capacity][];
+        emails = new byte[capacity][];
+        majors = new short[capacity];
+        semesters = new short[capacity];
+        gpas = new double[capacity];
+        statuses = new byte[capacity];
+        completedCourses = new int[capacity][];
+        table = new int[tableSizeFor(capacity)];
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        lock.readLock().lock();
+        try {
+            int row = rowOf(studentId);
+            if (row < 0) {
+                return null;
+            }
+            return new Student(ids[row], decode(names[row]), decode(emails[row]),
+                    majorDictionary.value(majors[row] & 0xFFFF), semesters[row], gpas[row],
+                    statusDictionary.value(statuses[row] & 0xFF));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void save(Student student) {
+        put(student);
+    }
+
+    @Override
+    public void update(Student student) {
+        put(student);
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        String[] codes;
+        lock.readLock().lock();
+        try {
+            int row = rowOf(studentId);
+            if (row < 0) {
+                return new ArrayList<>();
+            }
+            int[] courseIds = completedCourses[row];
+            codes = new String[courseIds.length];
+            for (int i = 0; i < courseIds.length; i++) {
+                codes[i] = courseDictionary.value(courseIds[i]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Lookup katalog dilakukan di luar lock
+        List<Course> courses = new ArrayList<>(codes.length);
+        for (String code : codes) {
+            Course course = courseRepository == null ? null : courseRepository.findByCourseCode(code);
+            if (course == null) {
+                course = new Course();
+                course.setCourseCode(code);
+            }
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    @Override
+    public void delete(String studentId) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(studentId);
+            if (slot < 0) {
+                return;
+            }
+            int row = table[slot] - 1;
+            table[slot] = DELETED;
+            size--;
+            ids[row] = null;
+            names[row] = null;
+            emails[row] = null;
+            completedCourses[row] = null;
+            if (freeCount == freeRows.length) {
+                freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+            }
+            freeRows[freeCount++] = row;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mengganti daftar mata kuliah yang sudah diselesaikan mahasiswa.
+     */
+    public void setCompletedCourses(String studentId, Collection<String> courseCodes) {
+        lock.writeLock().lock();
+        try {
+            int row = rowOf(studentId);
+            if (row < 0) {
+                throw new IllegalArgumentException("Unknown student: " + studentId);
+            }
+            int[] courseIds = new int[courseCodes.size()];
+            int i = 0;
+            for (String code : courseCodes) {
+                courseIds[i++] = courseDictionary.idOf(code);
+            }
+            completedCourses[row] = courseIds;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Student student) {
+        int semester = student.getSemester();
+        if (semester < 0 || semester > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Semester out of range: " + semester);
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Kamus diisi sebelum baris dibuat, supaya kegagalan tidak meninggalkan baris setengah jadi
+            int major = majorDictionary.idOf(student.getMajor(), MAX_MAJOR_ID);
+            int status = statusDictionary.idOf(student.getAcademicStatus(), MAX_STATUS_ID);
+            int row = rowOf(student.getStudentId());
+            if (row < 0) {
+                row = insert(student.getStudentId());
+                completedCourses[row] = NO_COURSES;
+            }
+            names[row] = encode(student.getName());
+            emails[row] = encode(student.getEmail());
+            majors[row] = (short) major;
+            semesters[row] = (short) semester;
+            gpas[row] = student.getGpa();
+            statuses[row] = (byte) status;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int insert(String studentId) {
+        int row;
+        if (freeCount > 0) {
+            row = freeRows[--freeCount];
+        } else {
+            if (rows == ids.length) {
+                growColumns(rows * 2);
+            }
+            row = rows++;
+        }
+        ids[row] = studentId;
+
+        if ((used + 1) * 2 > table.length) {
+            rehash(size + 1 > table.length / 4 ? table.length * 2 : table.length);
+        }
+        int mask = table.length - 1;
+        int slot = hash(studentId) & mask;
+        while (table[slot] > 0) {
+            slot = (slot + 1) & mask;
+        }
+        if (table[slot] == EMPTY) {
+            used++;
+        }
+        table[slot] = row + 1;
+        size++;
+        return row;
+    }
+
+    private int rowOf(String studentId) {
+        int slot = slotOf(studentId);
+        return slot < 0 ? -1 : table[slot] - 1;
+    }
+
+    private int slotOf(String studentId) {
+        if (studentId == null) {
+            return -1;
+        }
+        int mask = table.length - 1;
+        int slot = hash(studentId) & mask;
+        while (true) {
+            int entry = table[slot];
+            if (entry == EMPTY) {
+                return -1;
+            }
+            if (entry > 0 && studentId.equals(ids[entry - 1])) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // Membangun ulang tabel sekaligus membersihkan slot DELETED
+    private void rehash(int newLength) {
+        int[] old = table;
+        table = new int[newLength];
+        int mask = newLength - 1;
+        for (int entry : old) {
+            if (entry > 0) {
+                int slot = hash(ids[entry - 1]) & mask;
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = entry;
+            }
+        }
+        used = size;
+    }
+
+    private void growColumns(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        emails = Arrays.copyOf(emails, capacity);
+        majors = Arrays.copyOf(majors, capacity);
+        semesters = Arrays.copyOf(semesters, capacity);
+        gpas = Arrays.copyOf(gpas, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        completedCourses = Arrays.copyOf(completedCourses, capacity);
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int expected) {
+        int size = Integer.highestOneBit(Math.max(expected * 2 - 1, 16)) << 1;
+        return Math.max(size, 32);
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String decode(byte[] value) {
+        return value == null ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Kamus string ke nomor urut; nomor 0 dicadangkan untuk null.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>(List.of(""));
+
+        int idOf(String value) {
+            return idOf(value, Integer.MAX_VALUE);
+        }
+
+        /**
+         * @throws IllegalStateException jika nilai baru membutuhkan nomor di atas {@code maxId};
+         *                               kamus tidak berubah
+         */
+        int idOf(String value, int maxId) {
+            if (value == null) {
+                return 0;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                if (id > maxId) {
+                    throw new IllegalStateException("Too many distinct values, limit " + maxId);
+                }
+                values.add(value);
+                ids.put(value, id);
+            }
+            return id;
+        }
+
+        String value(int id) {
+            return id == 0 ? null : values.get(id);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.snapshot.StateImage;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorator CourseRepository yang melayani lookup dari {@link StateImage} selama
+ * node baru menyala, tanpa menunggu katalog dimuat ulang dari repository asli.
+ *
+ * Mata kuliah yang sudah di-decode dari image atau ditulis sejak startup
+ * disimpan di memori dan selalu dikembalikan sebagai objek yang sama. Mata
+ * kuliah yang tidak ada di image diteruskan ke repository asli. Jika
+ * verifikasi latar menyatakan image rusak, semua mata kuliah yang berasal dari
+ * image dibuang dari memori dan lookup berikutnya memakai repository asli,
+ * termasuk untuk kode yang sudah di-lookup sebelum verifikasi selesai.
+ *
+ * Penulisan selalu diteruskan. Nilai enrolledCount di image adalah kondisi saat
+ * image ditulis, sehingga image harus ditulis dari state yang sama dengan
+ * repository asli (misalnya saat shutdown). Menulis mata kuliah yang berasal
+ * dari image menunggu verifikasi selesai dan ditolak jika image rusak, agar
+ * data rusak tidak pernah tersimpan ke repository asli.
+ */
+public class ImageBackedCourseRepository implements CourseRepository {
+
+    private final CourseRepository delegate;
+    private final StateImage image;
+    private final ConcurrentHashMap<String, Course> written = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Course> decoded = new ConcurrentHashMap<>();
+    // Objek dari image yang sudah dibuang karena image rusak; hanya untuk menolak penulisannya
+    private final ConcurrentHashMap<String, Course> evicted = new ConcurrentHashMap<>();
+
+    public ImageBackedCourseRepository(CourseRepository delegate, StateImage image) {
+        this.delegate = delegate;
+        this.image = image;
+        image.verification().thenAccept(valid -> {
+            if (!valid) {
+                evict();
+            }
+        });
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        Course course = written.get(courseCode);
+        if (course != null) {
+            return course;
+        }
+        course = fromImage(courseCode);
+        if (course == null) {
+            return delegate.findByCourseCode(courseCode);
+        }
+        Course existing = decoded.putIfAbsent(courseCode, course);
+        if (existing != null) {
+            course = existing;
+        }
+        if (!image.isUsable()) {
+            // Verifikasi gagal di tengah lookup ini: jangan simpan hasil decode
+            evict();
+            return delegate.findByCourseCode(courseCode);
+        }
+        return course;
+    }
+
+    @Override
+    public void save(Course course) {
+        checkNotCorrupt(course);
+        delegate.save(course);
+        written.put(course.getCourseCode(), course);
+        decoded.remove(course.getCourseCode());
+    }
+
+    @Override
+    public void update(Course course) {
+        checkNotCorrupt(course);
+        delegate.update(course);
+        written.put(course.getCourseCode(), course);
+        decoded.remove(course.getCourseCode());
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        return delegate.isPrerequisiteMet(studentId, courseCode);
+    }
+
+    private Course fromImage(String courseCode) {
+        if (!image.isUsable()) {
+            evict();
+            return null;
+        }
+        Course course = decoded.get(courseCode);
+        if (course != null) {
+            return course;
+        }
+        try {
+            return image.findCourse(courseCode);
+        } catch (RuntimeException e) {
+            // Record rusak yang belum tertangkap verifikasi latar: pakai repository asli
+            return null;
+        }
+    }
+
+    private void evict() {
+        for (Course course : decoded.values()) {
+            evicted.put(course.getCourseCode(), course);
+            decoded.remove(course.getCourseCode(), course);
+        }
+    }
+
+    private void checkNotCorrupt(Course course) {
+        String courseCode = course.getCourseCode();
+        if (evicted.get(courseCode) != course
+                && (decoded.get(courseCode) != course || image.verification().join())) {
+            return;
+        }
+        evict();
+        throw new IllegalStateException("Course " + courseCode + " was read from a corrupt state image");
+    }
+}
@@ -0,0 +1,102 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.snapshot.StateImage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorator StudentRepository yang melayani lookup dari {@link StateImage}
+ * selama node baru menyala.
+ *
+ * Mahasiswa yang disimpan atau dihapus sejak startup dicatat di memori dan
+ * menimpa isi image. Mahasiswa yang tidak ada di image, dan semua lookup
+ * setelah image dinyatakan rusak, diteruskan ke repository asli.
+ */
+public class ImageBackedStudentRepository implements StudentRepository {
+
+    private final StudentRepository delegate;
+    private final StateImage image;
+    private final CourseRepository courseRepository;
+    private final ConcurrentHashMap<String, Student> written = new ConcurrentHashMap<>();
+    private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param courseRepository katalog untuk mengubah kode mata kuliah di image menjadi objek Course
+     */
+    public ImageBackedStudentRepository(StudentRepository delegate, StateImage image,
+                                        CourseRepository courseRepository) {
+        this.delegate = delegate;
+        this.image = image;
+        this.courseRepository = courseRepository;
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        if (deleted.contains(studentId)) {
+            return null;
+        }
+        Student student = written.get(studentId);
+        if (student != null) {
+            return student;
+        }
+        if (image.isUsable()) {
+            try {
+                student = image.findStudent(studentId);
+            } catch (RuntimeException e) {
+                student = null;
+            }
+        }
+        return student != null ? student : delegate.findById(studentId);
+    }
+
+    @Override
+    public void save(Student student) {
+        delegate.save(student);
+        written.put(student.getStudentId(), student);
+        deleted.remove(student.getStudentId());
+    }
+
+    @Override
+    public void update(Student student) {
+        delegate.update(student);
+        written.put(student.getStudentId(), student);
+        deleted.remove(student.getStudentId());
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        List<String> codes = null;
+        if (!deleted.contains(studentId) && image.isUsable()) {
+            try {
+                codes = image.findCompletedCourseCodes(studentId);
+            } catch (RuntimeException e) {
+                codes = null;
+            }
+        }
+        if (codes == null) {
+            return delegate.getCompletedCourses(studentId);
+        }
+        List<Course> courses = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            Course course = courseRepository.findByCourseCode(code);
+            if (course == null) {
+                course = new Course();
+                course.setCourseCode(code);
+            }
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    @Override
+    public void delete(String studentId) {
+        delegate.delete(studentId);
+        written.remove(studentId);
+        deleted.add(studentId);
+    }
+}
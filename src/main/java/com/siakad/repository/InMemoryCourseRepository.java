@@ -0,0 +1,40 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CourseRepository di memori untuk simulasi dan benchmark. Prasyarat tidak
+ * dicek di sini; bungkus dengan {@link IndexedCourseRepository} untuk itu.
+ */
+public class InMemoryCourseRepository implements CourseRepository {
+
+    private final Map<String, Course> courses = new ConcurrentHashMap<>();
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        return courses.get(courseCode);
+    }
+
+    @Override
+    public void save(Course course) {
+        courses.put(course.getCourseCode(), course);
+    }
+
+    @Override
+    public void update(Course course) {
+        courses.put(course.getCourseCode(), course);
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        return true;
+    }
+
+    public Collection<Course> findAll() {
+        return courses.values();
+    }
+}
@@ -0,0 +1,42 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+
+/**
+ * Decorator CourseRepository yang menjawab isPrerequisiteMet dari {@link PrerequisiteIndex}
+ * tanpa membaca ulang daftar mata kuliah yang sudah diselesaikan mahasiswa.
+ */
+public class IndexedCourseRepository implements CourseRepository {
+
+    private final CourseRepository delegate;
+    private final PrerequisiteIndex index;
+
+    public IndexedCourseRepository(CourseRepository delegate, PrerequisiteIndex index) {
+        this.delegate = delegate;
+        this.index = index;
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        return delegate.findByCourseCode(courseCode);
+    }
+
+    @Override
+    public void save(Course course) {
+        delegate.save(course);
+    }
+
+    @Override
+    public void update(Course course) {
+        delegate.update(course);
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        return index.isPrerequisiteMet(studentId, courseCode);
+    }
+
+    public PrerequisiteIndex getIndex() {
+        return index;
+    }
+}
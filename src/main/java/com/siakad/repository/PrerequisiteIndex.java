@@ -0,0 +1,212 @@
+package com.siakad.repository;
+
+import com.siakad.exception.PrerequisiteNotMetException;
+import com.siakad.model.Course;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Indeks prasyarat mata kuliah berbasis bitset.
+ *
+ * Setiap kode mata kuliah mendapat id padat (0, 1, 2, ...). Aturan prasyarat
+ * disimpan dalam bentuk AND dari grup-grup OR: sebuah grup terpenuhi jika
+ * mahasiswa sudah lulus salah satu mata kuliah di dalamnya, dan semua grup harus
+ * terpenuhi. Setiap grup dikompilasi menjadi mask bit, sedangkan mata kuliah
+ * yang sudah diselesaikan mahasiswa disimpan sebagai bitset, sehingga
+ * pengecekan hanya berupa beberapa operasi AND per grup.
+ */
+public class PrerequisiteIndex {
+
+    private static final long[][] NO_RULE = new long[0][];
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final List<String> codes = new CopyOnWriteArrayList<>();
+    private final ConcurrentHashMap<String, long[][]> rules = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, long[]> completed = new ConcurrentHashMap<>();
+    private final StudentRepository studentRepository;
+
+    /**
+     * @param studentRepository sumber data untuk mahasiswa yang belum dimuat ke indeks,
+     *                          boleh null jika semua mahasiswa dimuat manual
+     */
+    public PrerequisiteIndex(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * Id padat untuk kode mata kuliah; kode baru langsung didaftarkan.
+     */
+    public int courseId(String courseCode) {
+        Integer id = ids.get(courseCode);
+        if (id != null) {
+            return id;
+        }
+        synchronized (codes) {
+            return ids.computeIfAbsent(courseCode, code -> {
+                codes.add(code);
+                return codes.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Mendefinisikan prasyarat sebuah mata kuliah.
+     *
+     * @param groups daftar grup; setiap grup berisi kode alternatif (OR) dan
+     *               semua grup wajib terpenuhi (AND). Daftar kosong berarti tanpa prasyarat.
+     */
+    public void defineRule(String courseCode, List<List<String>> groups) {
+        courseId(courseCode);
+        long[][] compiled = new long[groups.size()][];
+        for (int g = 0; g < groups.size(); g++) {
+            if (groups.get(g).isEmpty()) {
+                throw new IllegalArgumentException("Prerequisite group must not be empty: " + courseCode);
+            }
+            long[] mask = new long[0];
+            for (String code : groups.get(g)) {
+                mask = withBit(mask, courseId(code));
+            }
+            compiled[g] = mask;
+        }
+        rules.put(courseCode, compiled);
+    }
+
+    /**
+     * Memuat ulang seluruh mata kuliah yang sudah diselesaikan seorang mahasiswa.
+     */
+    public void loadStudent(String studentId, Collection<String> completedCourseCodes) {
+        long[] bits = new long[0];
+        for (String code : completedCourseCodes) {
+            bits = withBit(bits, courseId(code));
+        }
+        completed.put(studentId, bits);
+    }
+
+    /**
+     * Pembaruan inkremental ketika nilai mahasiswa untuk sebuah mata kuliah diumumkan lulus.
+     */
+    public void recordCompletion(String studentId, String courseCode) {
+        int id = courseId(courseCode);
+        completed.compute(studentId, (key, bits) -> withBit(bits == null ? load(key) : bits, id));
+    }
+
+    public void forgetStudent(String studentId) {
+        completed.remove(studentId);
+    }
+
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        long[][] rule = rules.getOrDefault(courseCode, NO_RULE);
+        if (rule.length == 0) {
+            return true;
+        }
+        long[] bits = bitsOf(studentId);
+        for (long[] group : rule) {
+            if (!intersects(bits, group)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Grup prasyarat yang belum terpenuhi, masing-masing berisi kode alternatifnya.
+     */
+    public List<List<String>> missingPrerequisites(String studentId, String courseCode) {
+        long[][] rule = rules.getOrDefault(courseCode, NO_RULE);
+        if (rule.length == 0) {
+            return Collections.emptyList();
+        }
+        long[] bits = bitsOf(studentId);
+        List<List<String>> missing = new ArrayList<>();
+        for (long[] group : rule) {
+            if (!intersects(bits, group)) {
+                missing.add(codesOf(group));
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Sama seperti {@link #isPrerequisiteMet(String, String)} tetapi melempar
+     * exception yang menyebutkan prasyarat mana yang belum dipenuhi.
+     */
+    public void checkPrerequisites(String studentId, String courseCode) {
+        List<List<String>> missing = missingPrerequisites(studentId, courseCode);
+        if (!missing.isEmpty()) {
+            throw new PrerequisiteNotMetException(describeMissing(courseCode, missing));
+        }
+    }
+
+    /**
+     * Pesan exception untuk hasil {@link #missingPrerequisites(String, String)},
+     * misalnya "Prerequisites not met for IF201: missing IF101 and MA101 or MA102".
+     */
+    public static String describeMissing(String courseCode, List<List<String>> missing) {
+        StringBuilder message = new StringBuilder("Prerequisites not met for ").append(courseCode).append(": missing ");
+        for (int i = 0; i < missing.size(); i++) {
+            if (i > 0) {
+                message.append(" and ");
+            }
+            message.append(String.join(" or ", missing.get(i)));
+        }
+        return message.toString();
+    }
+
+    private long[] bitsOf(String studentId) {
+        long[] bits = completed.get(studentId);
+        if (bits == null) {
+            bits = completed.computeIfAbsent(studentId, this::load);
+        }
+        return bits;
+    }
+
+    private long[] load(String studentId) {
+        long[] bits = new long[0];
+        if (studentRepository != null) {
+            List<Course> courses = studentRepository.getCompletedCourses(studentId);
+            if (courses != null) {
+                for (Course course : courses) {
+                    bits = withBit(bits, courseId(course.getCourseCode()));
+                }
+            }
+        }
+        return bits;
+    }
+
+    private List<String> codesOf(long[] mask) {
+        List<String> result = new ArrayList<>();
+        for (int word = 0; word < mask.length; word++) {
+            long remaining = mask[word];
+            while (remaining != 0) {
+                int bit = Long.numberOfTrailingZeros(remaining);
+                result.add(codes.get(word * 64 + bit));
+                remaining &= remaining - 1;
+            }
+        }
+        return result;
+    }
+
+    private static boolean intersects(long[] bits, long[] mask) {
+        int words = Math.min(bits.length, mask.length);
+        for (int i = 0; i < words; i++) {
+            if ((bits[i] & mask[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Bitset tidak pernah diubah di tempat, supaya pembaca tanpa lock selalu melihat salinan utuh
+    private static long[] withBit(long[] bits, int id) {
+        int word = id >>> 6;
+        long[] copy = Arrays.copyOf(bits, Math.max(bits.length, word + 1));
+        copy[word] |= 1L << id;
+        return copy;
+    }
+}
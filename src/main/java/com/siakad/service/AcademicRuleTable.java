@@ -0,0 +1,227 @@
+package com.siakad.service;
+
+import com.siakad.model.AcademicStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Tabel aturan akademik hasil kompilasi: status akademik dan batas SKS dibaca
+ * dari array yang diindeks bucket GPA (per 0.01) dan kelompok semester.
+ *
+ * GPA dipetakan ke bucket {@code b} sehingga {@code b/100.0 <= gpa < (b+1)/100.0}.
+ * Tebakan awal {@code (int) (gpa * 100)} bisa meleset satu bucket karena
+ * pembulatan perkalian, jadi dikoreksi dengan membandingkan ke batas bawah
+ * bucket yang sudah dihitung ({@code k / 100.0}, double yang sama dengan
+ * literal desimalnya). Karena semua ambang adalah kelipatan 0.01, perbandingan
+ * {@code gpa >= ambang} setara dengan {@code b >= bucket ambang}, sehingga hasil
+ * tabel identik dengan {@link GradeCalculator} untuk setiap nilai double,
+ * termasuk aturan validasinya.
+ *
+ * Ambang dapat dimuat dari {@link Properties}; kunci yang tidak ada memakai
+ * aturan default yang sama dengan GradeCalculator:
+ * <pre>
+ * semester.bands     = 2,4          semester terakhir tiap kelompok (kelompok terakhir tanpa batas)
+ * status.active      = 2.0,2.25,2.5 GPA minimal ACTIVE per kelompok semester
+ * status.probation   = 0.0,2.0,2.0  GPA minimal PROBATION per kelompok; di bawahnya SUSPENDED
+ * credits.thresholds = 3.0,2.5,2.0  GPA minimal tiap batas SKS, menurun
+ * credits.caps       = 24,21,18,15  batas SKS per ambang, ditambah satu untuk GPA di bawah semuanya
+ * </pre>
+ */
+public class AcademicRuleTable {
+
+    private static final int BUCKETS = 401;
+    private static final double[] LOW = new double[BUCKETS + 1];
+    private static final String[] STATUS_NAMES = new String[AcademicStatus.values().length];
+
+    static {
+        for (int k = 0; k < LOW.length; k++) {
+            LOW[k] = k / 100.0;
+        }
+        for (AcademicStatus status : AcademicStatus.values()) {
+            STATUS_NAMES[status.ordinal()] = status.name();
+        }
+    }
+
+    private final int[] semesterBands;
+    private final byte[] statuses;
+    private final int[] maxCredits;
+    private final double[] gpaThresholds;
+
+    private AcademicRuleTable(int[] bandEdges, double[] activeMin, double[] probationMin,
+                              double[] creditThresholds, int[] creditCaps) {
+        int bands = bandEdges.length + 1;
+        if (activeMin.length != bands || probationMin.length != bands) {
+            throw new IllegalArgumentException("Expected " + bands + " status thresholds per semester band");
+        }
+        if (creditCaps.length != creditThresholds.length + 1) {
+            throw new IllegalArgumentException("Expected one more credit cap than credit thresholds");
+        }
+
+        int lastEdge = 0;
+        for (int edge : bandEdges) {
+            if (edge <= lastEdge) {
+                throw new IllegalArgumentException("Semester bands must be positive and increasing");
+            }
+            lastEdge = edge;
+        }
+        semesterBands = new int[lastEdge + 2];
+        for (int semester = 1, band = 0; semester < semesterBands.length; semester++) {
+            if (band < bandEdges.length && semester > bandEdges[band]) {
+                band++;
+            }
+            semesterBands[semester] = band;
+        }
+
+        statuses = new byte[bands * BUCKETS];
+        for (int band = 0; band < bands; band++) {
+            int active = bucketOf(activeMin[band]);
+            int probation = bucketOf(probationMin[band]);
+            if (probation > active) {
+                throw new IllegalArgumentException("Probation threshold above active threshold in band " + band);
+            }
+            for (int b = 0; b < BUCKETS; b++) {
+                AcademicStatus status = b >= active ? AcademicStatus.ACTIVE
+                        : b >= probation ? AcademicStatus.PROBATION : AcademicStatus.SUSPENDED;
+                statuses[band * BUCKETS + b] = (byte) status.ordinal();
+            }
+        }
+
+        maxCredits = new int[BUCKETS];
+        int previous = BUCKETS;
+        for (double threshold : creditThresholds) {
+            int bucket = bucketOf(threshold);
+            if (bucket >= previous) {
+                throw new IllegalArgumentException("Credit thresholds must be decreasing");
+            }
+            previous = bucket;
+        }
+        for (int b = 0; b < BUCKETS; b++) {
+            int level = 0;
+            while (level < creditThresholds.length && b < bucketOf(creditThresholds[level])) {
+                level++;
+            }
+            maxCredits[b] = creditCaps[level];
+        }
+
+        double[] all = new double[activeMin.length + probationMin.length + creditThresholds.length];
+        System.arraycopy(activeMin, 0, all, 0, activeMin.length);
+        System.arraycopy(probationMin, 0, all, activeMin.length, probationMin.length);
+        System.arraycopy(creditThresholds, 0, all, activeMin.length + probationMin.length, creditThresholds.length);
+        gpaThresholds = Arrays.stream(all).sorted().distinct().toArray();
+    }
+
+    /**
+     * Aturan yang sama dengan {@link GradeCalculator}.
+     */
+    public static AcademicRuleTable defaults() {
+        return fromProperties(new Properties());
+    }
+
+    public static AcademicRuleTable fromProperties(Properties properties) {
+        return new AcademicRuleTable(
+                ints(properties.getProperty("semester.bands", "2,4")),
+                doubles(properties.getProperty("status.active", "2.0,2.25,2.5")),
+                doubles(properties.getProperty("status.probation", "0.0,2.0,2.0")),
+                doubles(properties.getProperty("credits.thresholds", "3.0,2.5,2.0")),
+                ints(properties.getProperty("credits.caps", "24,21,18,15")));
+    }
+
+    public static AcademicRuleTable load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Ordinal {@link AcademicStatus} untuk GPA dan semester.
+     *
+     * @throws IllegalArgumentException dengan pesan yang sama seperti GradeCalculator
+     */
+    public int statusOrdinal(double gpa, int semester) {
+        validateGpa(gpa);
+        if (semester < 1) {
+            throw new IllegalArgumentException("Semester must be positive");
+        }
+        int band = semesterBands[Math.min(semester, semesterBands.length - 1)];
+        return statuses[band * BUCKETS + bucket(gpa)];
+    }
+
+    public String determineAcademicStatus(double gpa, int semester) {
+        return STATUS_NAMES[statusOrdinal(gpa, semester)];
+    }
+
+    public int calculateMaxCredits(double gpa) {
+        validateGpa(gpa);
+        return maxCredits[bucket(gpa)];
+    }
+
+    /**
+     * Semua ambang GPA di tabel (status dan batas SKS), terurut naik tanpa duplikat.
+     * Status dan batas SKS hanya bisa berubah ketika GPA melewati salah satunya.
+     */
+    public double[] getGpaThresholds() {
+        return gpaThresholds.clone();
+    }
+
+    /**
+     * Kelompok semester (mulai dari 0) yang dipakai untuk memilih ambang status.
+     */
+    public int semesterBand(int semester) {
+        if (semester < 1) {
+            throw new IllegalArgumentException("Semester must be positive");
+        }
+        return semesterBands[Math.min(semester, semesterBands.length - 1)];
+    }
+
+    private static int bucket(double gpa) {
+        int b = (int) (gpa * 100);
+        b -= gpa < LOW[b] ? 1 : 0;
+        b += gpa >= LOW[b + 1] ? 1 : 0;
+        return b;
+    }
+
+    // Perbandingan yang sama dengan GradeCalculator, sehingga NaN juga diperlakukan sama
+    private static void validateGpa(double gpa) {
+        if (gpa < 0 || gpa > 4.0) {
+            throw new IllegalArgumentException("GPA must be between 0 and 4.0");
+        }
+    }
+
+    private static int bucketOf(double threshold) {
+        long bucket = Math.round(threshold * 100);
+        if (bucket < 0 || bucket >= BUCKETS || LOW[(int) bucket] != threshold) {
+            throw new IllegalArgumentException("Threshold must be a multiple of 0.01 between 0 and 4.0: "
+                    + threshold);
+        }
+        return (int) bucket;
+    }
+
+    private static int[] ints(String value) {
+        String[] parts = split(value);
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i].trim());
+        }
+        return result;
+    }
+
+    private static double[] doubles(String value) {
+        String[] parts = split(value);
+        double[] result = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Double.parseDouble(parts[i].trim());
+        }
+        return result;
+    }
+
+    private static String[] split(String value) {
+        return value.isBlank() ? new String[0] : value.split(",");
+    }
+}
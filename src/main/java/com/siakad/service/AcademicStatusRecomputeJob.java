@@ -0,0 +1,401 @@
+package com.siakad.service;
+
+import com.siakad.model.AcademicStanding;
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.StudentRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Job akhir semester untuk menghitung ulang GPA, status akademik dan batas SKS
+ * seluruh mahasiswa secara paralel.
+ *
+ * Daftar mahasiswa dibagi menjadi chunk berukuran tetap yang dikerjakan oleh
+ * ForkJoinPool. Setiap chunk menghitung GPA, status dan batas SKS dalam satu
+ * lintasan, lalu menulis hasilnya lewat {@link StudentRepository#update(Student)}
+ * sekaligus di akhir chunk. Nomor chunk yang selesai dicatat ke file checkpoint,
+ * sehingga jika job berhenti di tengah jalan, eksekusi berikutnya hanya
+ * mengerjakan chunk yang belum selesai. Header checkpoint memuat hash SHA-256
+ * dari daftar id mahasiswa, sehingga checkpoint milik daftar lain (walaupun
+ * ukurannya sama) diabaikan. Baris terakhir yang tidak diakhiri newline
+ * dianggap belum selesai ditulis dan dipotong sebelum resume.
+ */
+public class AcademicStatusRecomputeJob {
+
+    /**
+     * Sumber transkrip nilai per mahasiswa.
+     */
+    @FunctionalInterface
+    public interface TranscriptSource {
+        List<CourseGrade> gradesOf(String studentId);
+    }
+
+    /**
+     * Menerima laporan progres setiap kali satu chunk selesai.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long processed, long total, double studentsPerSecond);
+    }
+
+    private final StudentRepository studentRepository;
+    private final GradeCalculator gradeCalculator;
+    private final TranscriptSource transcriptSource;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Path checkpointFile;
+
+    private ProgressListener progressListener;
+    private Consumer<AcademicStanding> standingSink;
+
+    /**
+     * @param checkpointFile file checkpoint, boleh null jika tidak perlu resume
+     */
+    public AcademicStatusRecomputeJob(StudentRepository studentRepository,
+                                      GradeCalculator gradeCalculator,
+                                      TranscriptSource transcriptSource,
+                                      int chunkSize,
+                                      int parallelism,
+                                      Path checkpointFile) {
+        if (chunkSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Chunk size and parallelism must be positive");
+        }
+        this.studentRepository = studentRepository;
+        this.gradeCalculator = gradeCalculator;
+        this.transcriptSource = transcriptSource;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.checkpointFile = checkpointFile;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Menerima setiap hasil perhitungan, misalnya untuk mengisi cache batas SKS.
+     */
+    public void setStandingSink(Consumer<AcademicStanding> standingSink) {
+        this.standingSink = standingSink;
+    }
+
+    /**
+     * Menjalankan job untuk daftar mahasiswa yang urutannya harus sama di setiap
+     * eksekusi agar checkpoint tetap valid.
+     */
+    public Report run(List<String> studentIds) {
+        int chunks = (studentIds.size() + chunkSize - 1) / chunkSize;
+        String header = header(studentIds);
+        BitSet done = readCheckpoint(header, chunks);
+        long alreadyDone = 0;
+        for (int chunk = done.nextSetBit(0); chunk >= 0; chunk = done.nextSetBit(chunk + 1)) {
+            alreadyDone += chunkLength(chunk, studentIds.size());
+        }
+
+        Run run = new Run(studentIds, header, done, alreadyDone);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        boolean completed = false;
+        try {
+            pool.invoke(new ChunkRange(run, 0, chunks));
+            completed = true;
+        } finally {
+            pool.shutdown();
+            run.closeCheckpoint(completed);
+        }
+        return run.report();
+    }
+
+    private int chunkLength(int chunk, int total) {
+        return Math.min(chunkSize, total - chunk * chunkSize);
+    }
+
+    private BitSet readCheckpoint(String header, int chunks) {
+        BitSet done = new BitSet(chunks);
+        if (checkpointFile == null || !Files.exists(checkpointFile)) {
+            return done;
+        }
+        try {
+            String content = new String(Files.readAllBytes(checkpointFile), StandardCharsets.UTF_8);
+            // Hanya baris yang diakhiri newline yang dianggap tertulis utuh
+            int complete = content.lastIndexOf('\n') + 1;
+            String[] lines = content.substring(0, complete).split("\n");
+            if (complete == 0 || !lines[0].equals(header) || !parseChunks(lines, chunks, done)) {
+                // Checkpoint milik run lain atau rusak, mulai dari awal
+                Files.delete(checkpointFile);
+                done.clear();
+                return done;
+            }
+            if (complete < content.length()) {
+                try (FileChannel channel = FileChannel.open(checkpointFile, StandardOpenOption.WRITE)) {
+                    channel.truncate(content.substring(0, complete).getBytes(StandardCharsets.UTF_8).length);
+                }
+            }
+            return done;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read checkpoint " + checkpointFile, e);
+        }
+    }
+
+    private static boolean parseChunks(String[] lines, int chunks, BitSet done) {
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            int chunk;
+            try {
+                chunk = Integer.parseInt(line);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            if (chunk < 0 || chunk >= chunks) {
+                return false;
+            }
+            done.set(chunk);
+        }
+        return true;
+    }
+
+    private String header(List<String> studentIds) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (String studentId : studentIds) {
+            digest.update(studentId.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(String.format("%02x", b));
+        }
+        return "recompute total=" + studentIds.size() + " chunkSize=" + chunkSize + " ids=" + hash;
+    }
+
+    private final class Run {
+        final List<String> studentIds;
+        final String header;
+        final BitSet done;
+        final long startNanos = System.nanoTime();
+        final long resumedFrom;
+        final AtomicLong processed;
+        final LongAdder updated = new LongAdder();
+        final LongAdder missing = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final Map<String, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        BufferedWriter checkpoint;
+
+        Run(List<String> studentIds, String header, BitSet done, long alreadyDone) {
+            this.studentIds = studentIds;
+            this.header = header;
+            this.done = done;
+            this.resumedFrom = alreadyDone;
+            this.processed = new AtomicLong(alreadyDone);
+            openCheckpoint();
+        }
+
+        void processChunk(int chunk) {
+            if (done.get(chunk)) {
+                return;
+            }
+            int from = chunk * chunkSize;
+            int to = from + chunkLength(chunk, studentIds.size());
+            List<Student> changed = new ArrayList<>(to - from);
+
+            for (int i = from; i < to; i++) {
+                String studentId = studentIds.get(i);
+                Student student = studentRepository.findById(studentId);
+                if (student == null) {
+                    missing.increment();
+                    continue;
+                }
+                try {
+                    double gpa = gradeCalculator.calculateGPA(transcriptSource.gradesOf(studentId));
+                    String status = gradeCalculator.determineAcademicStatus(gpa, student.getSemester());
+                    int maxCredits = gradeCalculator.calculateMaxCredits(gpa);
+                    student.setGpa(gpa);
+                    student.setAcademicStatus(status);
+                    changed.add(student);
+                    statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+                    if (standingSink != null) {
+                        standingSink.accept(new AcademicStanding(studentId, gpa, status, maxCredits));
+                    }
+                } catch (IllegalArgumentException e) {
+                    failed.increment();
+                }
+            }
+
+            for (Student student : changed) {
+                studentRepository.update(student);
+            }
+            updated.add(changed.size());
+            markDone(chunk);
+
+            long total = processed.addAndGet(to - from);
+            if (progressListener != null) {
+                progressListener.onProgress(total, studentIds.size(), throughput(total - resumedFrom));
+            }
+        }
+
+        double throughput(long count) {
+            double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+            return seconds > 0 ? count / seconds : 0.0;
+        }
+
+        void openCheckpoint() {
+            if (checkpointFile == null) {
+                return;
+            }
+            try {
+                boolean fresh = !Files.exists(checkpointFile);
+                checkpoint = Files.newBufferedWriter(checkpointFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (fresh) {
+                    checkpoint.write(header + "\n");
+                    checkpoint.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open checkpoint " + checkpointFile, e);
+            }
+        }
+
+        synchronized void markDone(int chunk) {
+            if (checkpoint == null) {
+                return;
+            }
+            try {
+                checkpoint.write(chunk + "\n");
+                checkpoint.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write checkpoint " + checkpointFile, e);
+            }
+        }
+
+        synchronized void closeCheckpoint(boolean completed) {
+            if (checkpoint == null) {
+                return;
+            }
+            try {
+                checkpoint.close();
+                // Semua chunk selesai, run berikutnya mulai dari awal lagi
+                if (completed) {
+                    Files.deleteIfExists(checkpointFile);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot close checkpoint " + checkpointFile, e);
+            }
+        }
+
+        Report report() {
+            Map<String, Long> counts = new ConcurrentHashMap<>();
+            statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+            long elapsedNanos = System.nanoTime() - startNanos;
+            return new Report(processed.get(), resumedFrom, updated.sum(), missing.sum(), failed.sum(),
+                    counts, elapsedNanos, throughput(processed.get() - resumedFrom));
+        }
+    }
+
+    private final class ChunkRange extends RecursiveAction {
+        private final Run run;
+        private final int from;
+        private final int to;
+
+        ChunkRange(Run run, int from, int to) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (from < to) {
+                    run.processChunk(from);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkRange(run, from, mid), new ChunkRange(run, mid, to));
+        }
+    }
+
+    /**
+     * Ringkasan hasil job.
+     */
+    public static final class Report {
+        private final long processed;
+        private final long resumedFrom;
+        private final long updated;
+        private final long missing;
+        private final long failed;
+        private final Map<String, Long> statusCounts;
+        private final long elapsedNanos;
+        private final double studentsPerSecond;
+
+        Report(long processed, long resumedFrom, long updated, long missing, long failed,
+               Map<String, Long> statusCounts, long elapsedNanos, double studentsPerSecond) {
+            this.processed = processed;
+            this.resumedFrom = resumedFrom;
+            this.updated = updated;
+            this.missing = missing;
+            this.failed = failed;
+            this.statusCounts = statusCounts;
+            this.elapsedNanos = elapsedNanos;
+            this.studentsPerSecond = studentsPerSecond;
+        }
+
+        public long getProcessed() {
+            return processed;
+        }
+
+        public long getResumedFrom() {
+            return resumedFrom;
+        }
+
+        public long getUpdated() {
+            return updated;
+        }
+
+        public long getMissing() {
+            return missing;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public Map<String, Long> getStatusCounts() {
+            return statusCounts;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getStudentsPerSecond() {
+            return studentsPerSecond;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.siakad.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Batas jumlah request bersamaan yang menyesuaikan diri dengan latensi (AIMD).
+ *
+ * Selama latensi di bawah target dan batas benar-benar terpakai, batas naik
+ * sekitar satu per "jendela" request ({@code +1/limit} per sampel). Jika ada
+ * sampel melebihi target, batas turun 10%, paling banyak sekali untuk setiap
+ * generasi request: sampel yang dimulai sebelum penurunan terakhir diabaikan
+ * karena mencerminkan batas lama.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double DECREASE_FACTOR = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private long lastDecreaseNanos = Long.MIN_VALUE;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Require 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return true jika request boleh jalan; wajib diikuti {@link #release}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Mengembalikan slot dan memperbarui batas berdasarkan latensi request tersebut.
+     */
+    public void release(long startNanos, long endNanos) {
+        int concurrent = inFlight.getAndDecrement();
+        long latency = endNanos - startNanos;
+        synchronized (this) {
+            double current = limit;
+            if (latency > targetLatencyNanos) {
+                if (startNanos > lastDecreaseNanos) {
+                    limit = Math.max(minLimit, current * DECREASE_FACTOR);
+                    lastDecreaseNanos = endNanos;
+                }
+            } else if (concurrent * 2 >= current) {
+                // Naik hanya jika batas memang terpakai, bukan karena trafik sedang sepi
+                limit = Math.min(maxLimit, current + 1.0 / current);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,214 @@
+package com.siakad.service;
+
+import com.siakad.exception.AdmissionRejectedException;
+import com.siakad.exception.AdmissionRejectedException.Reason;
+import com.siakad.exception.CourseFullException;
+import com.siakad.model.Enrollment;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Lapisan admission di depan {@link EnrollmentService} untuk masa pembukaan KRS.
+ *
+ * Setiap request melewati, secara berurutan:
+ * <ol>
+ *   <li>ruang tunggu virtual (opsional), yang menolak tiket yang belum waktunya;</li>
+ *   <li>daftar mata kuliah yang baru saja terlihat penuh, yang ditolak langsung dengan
+ *       {@link CourseFullException} tanpa menyentuh repository. Dilewati jika delegate
+ *       adalah {@link ConcurrentEnrollmentService} dengan daftar tunggu aktif, karena
+ *       hanya delegate yang bisa memasukkan mahasiswa ke daftar tunggu;</li>
+ *   <li>token bucket per mahasiswa, yang meredam retry agresif;</li>
+ *   <li>{@link AdaptiveConcurrencyLimit}, yang menjaga latensi tetap di bawah target.
+ *       Token dikembalikan jika request ditolak di sini.</li>
+ * </ol>
+ * Penolakan dari lapisan ini berupa {@link AdmissionRejectedException} beserta
+ * saran waktu retry; semua exception dari EnrollmentService diteruskan apa adanya.
+ *
+ * Token bucket yang sudah terisi penuh kembali tidak berbeda dengan bucket baru,
+ * jadi bucket seperti itu dibuang secara berkala supaya jumlahnya tidak terus
+ * bertambah selama masa KRS.
+ */
+public class AdmissionController {
+
+    private static final long OVERLOAD_RETRY_MILLIS = 100;
+    private static final int EVICTION_INTERVAL = 4096;
+
+    private final EnrollmentService delegate;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final int bucketCapacity;
+    private final double nanosPerToken;
+    private final long fullCourseTtlNanos;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> fullUntil = new ConcurrentHashMap<>();
+    private final AtomicInteger admissions = new AtomicInteger();
+    private WaitingRoom waitingRoom;
+
+    /**
+     * @param bucketCapacity   jumlah request beruntun yang boleh dikirim satu mahasiswa
+     * @param tokensPerSecond  laju pengisian ulang token per mahasiswa
+     * @param fullCourseTtl    berapa lama mata kuliah yang penuh langsung ditolak
+     */
+    public AdmissionController(EnrollmentService delegate, AdaptiveConcurrencyLimit concurrencyLimit,
+                               int bucketCapacity, double tokensPerSecond, long fullCourseTtl, TimeUnit unit) {
+        this(delegate, concurrencyLimit, bucketCapacity, tokensPerSecond, unit.toNanos(fullCourseTtl),
+                System::nanoTime);
+    }
+
+    AdmissionController(EnrollmentService delegate, AdaptiveConcurrencyLimit concurrencyLimit,
+                        int bucketCapacity, double tokensPerSecond, long fullCourseTtlNanos, LongSupplier clock) {
+        if (bucketCapacity < 1 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket capacity and rate must be positive");
+        }
+        this.delegate = delegate;
+        this.concurrencyLimit = concurrencyLimit;
+        this.bucketCapacity = bucketCapacity;
+        this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / tokensPerSecond;
+        this.fullCourseTtlNanos = fullCourseTtlNanos;
+        this.clock = clock;
+    }
+
+    public Enrollment enrollCourse(String studentId, String courseCode) {
+        long now = clock.getAsLong();
+        checkWaitingRoom(studentId);
+        boolean shortcut = fullCourseShortcut();
+        Long knownFullUntil = shortcut ? fullUntil.get(courseCode) : null;
+        if (knownFullUntil != null) {
+            if (knownFullUntil - now > 0) {
+                throw new CourseFullException("Course is full");
+            }
+            fullUntil.remove(courseCode, knownFullUntil);
+        }
+        TokenBucket bucket = takeToken(studentId, now);
+        acquireSlot(bucket);
+        long start = clock.getAsLong();
+        try {
+            return delegate.enrollCourse(studentId, courseCode);
+        } catch (CourseFullException e) {
+            if (shortcut) {
+                fullUntil.put(courseCode, clock.getAsLong() + fullCourseTtlNanos);
+            }
+            throw e;
+        } finally {
+            concurrencyLimit.release(start, clock.getAsLong());
+        }
+    }
+
+    public void dropCourse(String studentId, String courseCode) {
+        checkWaitingRoom(studentId);
+        TokenBucket bucket = takeToken(studentId, clock.getAsLong());
+        acquireSlot(bucket);
+        long start = clock.getAsLong();
+        try {
+            delegate.dropCourse(studentId, courseCode);
+            // Ada kursi yang dilepas, jadi mata kuliah ini tidak lagi pasti penuh
+            fullUntil.remove(courseCode);
+        } finally {
+            concurrencyLimit.release(start, clock.getAsLong());
+        }
+    }
+
+    /**
+     * Mengaktifkan ruang tunggu; mahasiswa harus meminta tiket sebelum boleh enroll.
+     */
+    public void setWaitingRoom(WaitingRoom waitingRoom) {
+        this.waitingRoom = waitingRoom;
+    }
+
+    public AdaptiveConcurrencyLimit getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    /**
+     * Membuang token bucket yang sudah terisi penuh kembali. Dipanggil otomatis
+     * setiap beberapa ribu request; mahasiswa yang datang lagi mendapat bucket
+     * baru yang isinya sama.
+     *
+     * @return jumlah bucket yang dibuang
+     */
+    public int evictIdleBuckets() {
+        long now = clock.getAsLong();
+        int before = buckets.size();
+        // Thread yang baru saja mengambil bucket yang dibuang paling banyak mendapat satu token ekstra
+        buckets.values().removeIf(bucket -> bucket.isFull(now, bucketCapacity, nanosPerToken));
+        return before - buckets.size();
+    }
+
+    int getBucketCount() {
+        return buckets.size();
+    }
+
+    // Penolakan lokal untuk kursi penuh hanya aman jika delegate tidak punya daftar tunggu
+    private boolean fullCourseShortcut() {
+        return !(delegate instanceof ConcurrentEnrollmentService)
+                || !((ConcurrentEnrollmentService) delegate).isWaitlistEnabled();
+    }
+
+    private void checkWaitingRoom(String studentId) {
+        if (waitingRoom != null) {
+            long wait = waitingRoom.millisUntilEntry(waitingRoom.ticketFor(studentId));
+            if (wait > 0) {
+                throw new AdmissionRejectedException("Waiting room: entry not open yet", Reason.WAITING_ROOM, wait);
+            }
+        }
+    }
+
+    private TokenBucket takeToken(String studentId, long now) {
+        if (admissions.incrementAndGet() % EVICTION_INTERVAL == 0) {
+            evictIdleBuckets();
+        }
+        TokenBucket bucket = buckets.computeIfAbsent(studentId, id -> new TokenBucket(bucketCapacity, now));
+        long wait = bucket.tryTake(now, bucketCapacity, nanosPerToken);
+        if (wait > 0) {
+            throw new AdmissionRejectedException("Too many requests from student: " + studentId,
+                    Reason.RATE_LIMITED, TimeUnit.NANOSECONDS.toMillis(wait) + 1);
+        }
+        return bucket;
+    }
+
+    private void acquireSlot(TokenBucket bucket) {
+        if (!concurrencyLimit.tryAcquire()) {
+            // Request tidak pernah sampai ke delegate, jadi tidak dihitung sebagai percobaan mahasiswa
+            bucket.refund(bucketCapacity);
+            throw new AdmissionRejectedException("Enrollment is busy, please retry", Reason.OVERLOADED,
+                    OVERLOAD_RETRY_MILLIS);
+        }
+    }
+
+    private static final class TokenBucket {
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        /**
+         * @return 0 jika token berhasil diambil, selain itu nanodetik sampai token berikutnya tersedia
+         */
+        synchronized long tryTake(long now, int capacity, double nanosPerToken) {
+            if (now - refilledAt > 0) {
+                tokens = Math.min(capacity, tokens + (now - refilledAt) / nanosPerToken);
+                refilledAt = now;
+            }
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * nanosPerToken);
+        }
+
+        synchronized void refund(int capacity) {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        synchronized boolean isFull(long now, int capacity, double nanosPerToken) {
+            return tokens + (now - refilledAt) / nanosPerToken >= capacity;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.siakad.service;
+
+/**
+ * Perhitungan GPA massal di atas array primitif, tanpa alokasi objek per baris.
+ *
+ * Data transkrip disimpan kolumnar: {@code credits[i]} dan {@code gradePoints[i]}
+ * adalah baris ke-i, dan {@code offsets[s]..offsets[s + 1]} adalah rentang baris
+ * milik mahasiswa ke-s. Penjumlahan dilakukan berurutan lewat {@link GpaFold},
+ * ekspresi yang sama seperti {@link GradeCalculator#calculateGPA(java.util.List)},
+ * sehingga hasilnya identik bit per bit (termasuk aturan total SKS 0 menghasilkan 0.0).
+ * Urutan penjumlahan sengaja tidak divektorisasi karena reduksi paralel mengubah
+ * pembulatan floating point.
+ *
+ * Baris dengan grade point di luar 0-4 atau NaN tidak menghentikan proses: semua baris
+ * invalid dilaporkan ke {@link InvalidRowListener} dan GPA mahasiswa tersebut
+ * bernilai {@link Double#NaN}.
+ */
+public class BulkGpaCalculator {
+
+    /**
+     * Penerima laporan baris invalid.
+     */
+    @FunctionalInterface
+    public interface InvalidRowListener {
+        void onInvalidRow(int row, double gradePoint);
+    }
+
+    /**
+     * GPA untuk satu rentang baris {@code [from, to)}.
+     *
+     * @param listener penerima baris invalid, boleh null
+     * @return GPA, 0.0 jika rentang kosong atau total SKS 0, NaN jika ada baris invalid
+     */
+    public double calculateGPA(int[] credits, double[] gradePoints, int from, int to, InvalidRowListener listener) {
+        if (from < 0 || to > credits.length || to > gradePoints.length || from > to) {
+            throw new IndexOutOfBoundsException("Invalid row range: " + from + ".." + to);
+        }
+        double totalPoints = 0;
+        int totalCredits = 0;
+        boolean valid = true;
+        for (int i = from; i < to; i++) {
+            double gradePoint = gradePoints[i];
+            if (!GpaFold.isValidGradePoint(gradePoint)) {
+                valid = false;
+                if (listener != null) {
+                    listener.onInvalidRow(i, gradePoint);
+                }
+                continue;
+            }
+            totalPoints = GpaFold.addPoints(totalPoints, credits[i], gradePoint);
+            totalCredits += credits[i];
+        }
+        if (!valid) {
+            return Double.NaN;
+        }
+        return GpaFold.gpa(totalPoints, totalCredits);
+    }
+
+    public double calculateGPA(int[] credits, double[] gradePoints) {
+        return calculateGPA(credits, gradePoints, 0, Math.min(credits.length, gradePoints.length), null);
+    }
+
+    /**
+     * GPA untuk banyak mahasiswa sekaligus.
+     *
+     * @param offsets     batas baris tiap mahasiswa, panjang jumlah mahasiswa + 1
+     * @param gpaOut      tujuan hasil, minimal sepanjang jumlah mahasiswa
+     * @param listener    penerima baris invalid, boleh null
+     * @return jumlah mahasiswa yang punya minimal satu baris invalid
+     */
+    public int calculateGPAs(int[] offsets, int[] credits, double[] gradePoints, double[] gpaOut,
+                             InvalidRowListener listener) {
+        int students = offsets.length - 1;
+        if (gpaOut.length < students) {
+            throw new IllegalArgumentException("Output buffer too small: " + gpaOut.length + " < " + students);
+        }
+        int invalidStudents = 0;
+        for (int s = 0; s < students; s++) {
+            double gpa = calculateGPA(credits, gradePoints, offsets[s], offsets[s + 1], listener);
+            gpaOut[s] = gpa;
+            if (Double.isNaN(gpa)) {
+                invalidStudents++;
+            }
+        }
+        return invalidStudents;
+    }
+}
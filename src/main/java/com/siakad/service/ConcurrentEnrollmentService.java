@@ -0,0 +1,773 @@
+package com.siakad.service;
+
+import com.siakad.eventlog.EnrollmentEventLog;
+import com.siakad.eventlog.EnrollmentEventType;
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.exception.CreditLimitExceededException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.exception.PrerequisiteNotMetException;
+import com.siakad.exception.ScheduleConflictException;
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.metrics.EnrollmentMetrics;
+import com.siakad.metrics.EnrollmentMetrics.Stage;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentRequest;
+import com.siakad.model.EnrollmentResult;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.PrerequisiteIndex;
+import com.siakad.repository.StudentRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * EnrollmentService yang aman dipanggil bersamaan oleh banyak mahasiswa.
+ *
+ * Alur validasi dan exception sama dengan {@link EnrollmentService}, tetapi
+ * pengecekan kapasitas dan penambahan kursi dilakukan secara atomik lewat
+ * {@link SeatReservationEngine}, sehingga tidak ada overselling dan tidak ada
+ * lock global.
+ */
+public class ConcurrentEnrollmentService extends EnrollmentService {
+
+    private static final int STUDENT_LOCK_STRIPES = 256;
+
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final NotificationService notificationService;
+    private final SeatReservationEngine seatEngine;
+    private EnrollmentEventLog eventLog;
+    private WaitlistEngine waitlist;
+    private CreditLedger creditLedger;
+    private ScheduleIndex scheduleIndex;
+    private PrerequisiteIndex prerequisiteIndex;
+    private EnrollmentMetrics metrics = EnrollmentMetrics.NOOP;
+    // Perubahan jadwal dan SKS milik satu mahasiswa diserialkan, sehingga rollback swap tidak bisa bentrok
+    private final Object[] studentLocks = new Object[STUDENT_LOCK_STRIPES];
+
+    public ConcurrentEnrollmentService(StudentRepository studentRepository,
+                                       CourseRepository courseRepository,
+                                       NotificationService notificationService,
+                                       GradeCalculator gradeCalculator) {
+        this(studentRepository, courseRepository, notificationService, gradeCalculator,
+                new SeatReservationEngine());
+    }
+
+    public ConcurrentEnrollmentService(StudentRepository studentRepository,
+                                       CourseRepository courseRepository,
+                                       NotificationService notificationService,
+                                       GradeCalculator gradeCalculator,
+                                       SeatReservationEngine seatEngine) {
+        super(studentRepository, courseRepository, notificationService, gradeCalculator);
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.notificationService = notificationService;
+        this.seatEngine = seatEngine;
+        for (int i = 0; i < studentLocks.length; i++) {
+            studentLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public Enrollment enrollCourse(String studentId, String courseCode) {
+        try {
+            return enroll(studentId, courseCode, false);
+        } catch (EnrollmentException e) {
+            metrics.recordFailure(e);
+            throw e;
+        }
+    }
+
+    private Enrollment enroll(String studentId, String courseCode, boolean promotion) {
+        EnrollmentMetrics metrics = this.metrics;
+        boolean timed = metrics.isEnabled();
+        long lap = timed ? System.nanoTime() : 0L;
+
+        Student student = studentRepository.findById(studentId);
+        lap = lap(metrics, timed, Stage.STUDENT_LOOKUP, lap);
+        if (student == null) {
+            throw new StudentNotFoundException("Student not found: " + studentId);
+        }
+        if ("SUSPENDED".equals(student.getAcademicStatus())) {
+            throw new EnrollmentException("Cannot enroll: Student is suspended");
+        }
+        lap = lap(metrics, timed, Stage.STATUS_CHECK, lap);
+
+        Course course = courseRepository.findByCourseCode(courseCode);
+        lap = lap(metrics, timed, Stage.COURSE_LOOKUP, lap);
+        if (course == null) {
+            throw new CourseNotFoundException("Course not found: " + courseCode);
+        }
+
+        if (!promotion) {
+            fillFromWaitlist(course);
+        }
+
+        long sequence;
+        if (timed) {
+            metrics.courseEntered(courseCode);
+        }
+        try {
+            if (promotion && seatEngine.isFull(course)) {
+                // Kandidat tidak didaftarkan ulang; promoteFromWaitlist mengembalikan entry aslinya
+                throw new CourseFullException("Course is full");
+            }
+            if (seatEngine.isFull(course) || (!promotion && hasWaitlist(courseCode))) {
+                throw courseFull(student, courseCode);
+            }
+            lap = lap(metrics, timed, Stage.CAPACITY_CHECK, lap);
+            PrerequisiteNotMetException unmet = unmetPrerequisites(studentId, courseCode);
+            if (unmet != null) {
+                throw unmet;
+            }
+            lap = lap(metrics, timed, Stage.PREREQUISITE_CHECK, lap);
+
+            synchronized (studentLock(studentId)) {
+                // Rollback hanya melepas jadwal yang dicatat oleh enroll ini
+                boolean scheduled = reserveSchedule(studentId, courseCode);
+                try {
+                    reserveCredits(studentId, course);
+                } catch (EnrollmentException e) {
+                    if (scheduled) {
+                        releaseSchedule(studentId, courseCode);
+                    }
+                    throw e;
+                }
+
+                // Kursi baru benar-benar diambil di sini; bisa tetap gagal jika kalah balapan
+                try {
+                    sequence = reserveSeat(course, studentId);
+                } catch (RuntimeException e) {
+                    releaseCredits(studentId, course);
+                    if (scheduled) {
+                        releaseSchedule(studentId, courseCode);
+                    }
+                    throw promotion || !(e instanceof CourseFullException) ? e : courseFull(student, courseCode);
+                }
+            }
+            lap = lap(metrics, timed, Stage.SEAT_RESERVATION, lap);
+            seatEngine.publish(course, courseRepository);
+            lap = lap(metrics, timed, Stage.COURSE_UPDATE, lap);
+        } finally {
+            if (timed) {
+                metrics.courseExited(courseCode);
+            }
+        }
+        commit(sequence);
+        lap = lap(metrics, timed, Stage.EVENT_LOG, lap);
+
+        if (promotion) {
+            notificationService.sendEmail(student.getEmail(), "Waitlist Promotion",
+                    "A seat opened up and you have been enrolled in: " + course.getCourseName());
+        } else {
+            notificationService.sendEmail(student.getEmail(), "Enrollment Confirmation",
+                    "You have been enrolled in: " + course.getCourseName());
+        }
+        lap(metrics, timed, Stage.NOTIFICATION, lap);
+
+        return approvedEnrollment(studentId, courseCode);
+    }
+
+    @Override
+    public void dropCourse(String studentId, String courseCode) {
+        Student student = studentRepository.findById(studentId);
+        if (student == null) {
+            throw new StudentNotFoundException("Student not found: " + studentId);
+        }
+        Course course = courseRepository.findByCourseCode(courseCode);
+        if (course == null) {
+            throw new CourseNotFoundException("Course not found: " + courseCode);
+        }
+
+        long sequence;
+        synchronized (studentLock(studentId)) {
+            sequence = releaseSeat(course, studentId);
+            releaseCredits(studentId, course);
+            releaseSchedule(studentId, courseCode);
+        }
+        seatEngine.publish(course, courseRepository);
+        commit(sequence);
+
+        notificationService.sendEmail(student.getEmail(), "Course Drop Confirmation",
+                "You have dropped: " + course.getCourseName());
+
+        promoteFromWaitlist(course);
+    }
+
+    /**
+     * Pindah dari satu mata kuliah ke mata kuliah lain tanpa kehilangan kursi lama.
+     *
+     * Mahasiswa harus sedang mengambil mata kuliah lama dan belum mengambil mata
+     * kuliah baru menurut ledger SKS (atau indeks jadwal jika ledger tidak
+     * dipasang); tanpa keduanya swap ditolak dengan IllegalStateException karena
+     * kepemilikan kursi tidak bisa diperiksa. Status, prasyarat, bentrok jadwal
+     * dan total SKS diperiksa dulu, lalu
+     * kursi baru diambil sebelum kursi lama dilepas. Jika salah satu langkah
+     * gagal, mahasiswa tetap terdaftar di mata kuliah lama dan exception yang
+     * sama dengan {@link #enrollCourse} dilempar. Kedua mata kuliah dikunci
+     * berurutan menurut kode sehingga swap bersamaan ke arah berlawanan tidak
+     * bisa deadlock. Kursi lama yang kosong langsung ditawarkan ke daftar tunggu.
+     */
+    public Enrollment swapCourse(String studentId, String fromCourseCode, String toCourseCode) {
+        try {
+            return swap(studentId, fromCourseCode, toCourseCode);
+        } catch (EnrollmentException e) {
+            metrics.recordFailure(e);
+            throw e;
+        }
+    }
+
+    private Enrollment swap(String studentId, String fromCourseCode, String toCourseCode) {
+        if (fromCourseCode.equals(toCourseCode)) {
+            throw new EnrollmentException("Cannot swap a course with itself: " + fromCourseCode);
+        }
+        Student student = studentRepository.findById(studentId);
+        if (student == null) {
+            throw new StudentNotFoundException("Student not found: " + studentId);
+        }
+        if ("SUSPENDED".equals(student.getAcademicStatus())) {
+            throw new EnrollmentException("Cannot enroll: Student is suspended");
+        }
+        Course from = courseRepository.findByCourseCode(fromCourseCode);
+        if (from == null) {
+            throw new CourseNotFoundException("Course not found: " + fromCourseCode);
+        }
+        Course to = courseRepository.findByCourseCode(toCourseCode);
+        if (to == null) {
+            throw new CourseNotFoundException("Course not found: " + toCourseCode);
+        }
+        fillFromWaitlist(to);
+        if (seatEngine.isFull(to) || hasWaitlist(toCourseCode)) {
+            throw new CourseFullException("Course is full");
+        }
+        PrerequisiteNotMetException unmet = unmetPrerequisites(studentId, toCourseCode);
+        if (unmet != null) {
+            throw unmet;
+        }
+
+        long sequence;
+        boolean fromFirst = fromCourseCode.compareTo(toCourseCode) < 0;
+        Object firstLock = seatEngine.lockFor(fromFirst ? from : to);
+        Object secondLock = seatEngine.lockFor(fromFirst ? to : from);
+        // Urutan kunci: mahasiswa lalu mata kuliah, sama dengan enroll dan drop
+        synchronized (studentLock(studentId)) {
+            if (!holdsCourse(studentId, fromCourseCode)) {
+                throw new EnrollmentException("Student " + studentId + " is not enrolled in " + fromCourseCode);
+            }
+            if (holdsCourse(studentId, toCourseCode)) {
+                throw new EnrollmentException("Student " + studentId + " is already enrolled in " + toCourseCode);
+            }
+            synchronized (firstLock) {
+                synchronized (secondLock) {
+                    // Rollback hanya membalik apa yang benar-benar diubah swap ini
+                    boolean fromReleased = releaseSchedule(studentId, fromCourseCode);
+                    boolean toScheduled;
+                    try {
+                        toScheduled = reserveSchedule(studentId, toCourseCode);
+                    } catch (ScheduleConflictException e) {
+                        if (fromReleased) {
+                            restoreSchedule(studentId, fromCourseCode, e);
+                        }
+                        throw e;
+                    }
+                    boolean creditsMoved = false;
+                    try {
+                        transferCredits(studentId, from, to);
+                        creditsMoved = creditLedger != null;
+                        seatEngine.reserve(to);
+                    } catch (EnrollmentException e) {
+                        try {
+                            if (creditsMoved) {
+                                restoreCredits(studentId, from, to);
+                            }
+                        } finally {
+                            if (toScheduled) {
+                                releaseSchedule(studentId, toCourseCode);
+                            }
+                            if (fromReleased) {
+                                restoreSchedule(studentId, fromCourseCode, e);
+                            }
+                        }
+                        throw e;
+                    }
+                    seatEngine.release(from);
+                    // Dicatat di bawah kedua kunci supaya urutan log sama dengan urutan perubahan kursi
+                    recordDeferred(EnrollmentEventType.DROP, studentId, fromCourseCode);
+                    sequence = recordDeferred(EnrollmentEventType.ENROLL, studentId, toCourseCode);
+
+                    // CourseRepository hanya punya update per mata kuliah; keduanya ditulis di bawah kunci yang sama
+                    seatEngine.publish(to, courseRepository);
+                    seatEngine.publish(from, courseRepository);
+                }
+            }
+        }
+        commit(sequence);
+
+        notificationService.sendEmail(student.getEmail(), "Course Swap Confirmation",
+                "You have switched from " + from.getCourseName() + " to " + to.getCourseName());
+
+        promoteFromWaitlist(from);
+        return approvedEnrollment(studentId, toCourseCode);
+    }
+
+    /**
+     * Memberikan kursi kosong ke mahasiswa berikutnya di daftar tunggu.
+     *
+     * Kandidat diperiksa ulang seperti enroll biasa (status, prasyarat, kapasitas)
+     * ditambah batas SKS. Kandidat yang tidak memenuhi syarat dilewati dan keluar
+     * dari antrian; jika kursi direbut lebih dulu, entry kandidat dikembalikan
+     * dengan tiket aslinya sehingga posisinya tidak berubah. Paling banyak satu
+     * mahasiswa dipromosikan per panggilan.
+     *
+     * @return enrollment hasil promosi, atau null jika tidak ada yang dipromosikan
+     */
+    public Enrollment promoteFromWaitlist(Course course) {
+        if (waitlist == null) {
+            return null;
+        }
+        WaitlistEngine.Entry next;
+        while (!seatEngine.isFull(course) && (next = waitlist.pollNext(course.getCourseCode())) != null) {
+            try {
+                if (!validateCreditLimit(next.getStudentId(), course.getCredits())) {
+                    continue;
+                }
+                return enroll(next.getStudentId(), course.getCourseCode(), true);
+            } catch (CourseFullException e) {
+                waitlist.requeue(next);
+                return null;
+            } catch (EnrollmentException e) {
+                // Tidak lagi memenuhi syarat, lanjut ke kandidat berikutnya
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mendaftarkan banyak pasangan mahasiswa-mata kuliah sekaligus.
+     *
+     * Validasi dijalankan per tahap untuk seluruh batch (mahasiswa, status,
+     * mata kuliah, kapasitas, prasyarat) sehingga setiap mahasiswa, mata kuliah
+     * dan pasangan prasyarat hanya di-lookup sekali. Setiap mata kuliah yang
+     * berubah hanya di-update satu kali di akhir. Kegagalan satu baris tidak
+     * menggagalkan baris lain. Pasangan yang muncul lebih dari sekali hanya
+     * diproses pada kemunculan pertama; sisanya gagal dengan EnrollmentException
+     * supaya tidak mengambil dua kursi dan dua kali SKS.
+     *
+     * @return hasil per baris dengan urutan yang sama dengan input
+     */
+    public List<EnrollmentResult> enrollBatch(Collection<EnrollmentRequest> requests) {
+        List<EnrollmentRequest> rows = new ArrayList<>(requests);
+        EnrollmentException[] errors = new EnrollmentException[rows.size()];
+
+        Set<EnrollmentRequest> seen = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (!seen.add(rows.get(i))) {
+                errors[i] = new EnrollmentException("Duplicate enrollment request in batch: " + rows.get(i));
+            }
+        }
+
+        // Tahap 1: lookup mahasiswa, sekali per id
+        Map<String, Student> students = new HashMap<>();
+        for (EnrollmentRequest row : rows) {
+            if (!students.containsKey(row.getStudentId())) {
+                students.put(row.getStudentId(), studentRepository.findById(row.getStudentId()));
+            }
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors[i] == null && students.get(rows.get(i).getStudentId()) == null) {
+                errors[i] = new StudentNotFoundException("Student not found: " + rows.get(i).getStudentId());
+            }
+        }
+
+        // Tahap 2: status akademik
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors[i] == null
+                    && "SUSPENDED".equals(students.get(rows.get(i).getStudentId()).getAcademicStatus())) {
+                errors[i] = new EnrollmentException("Cannot enroll: Student is suspended");
+            }
+        }
+
+        // Tahap 3: lookup mata kuliah, sekali per kode
+        Map<String, Course> courses = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors[i] == null) {
+                String courseCode = rows.get(i).getCourseCode();
+                if (!courses.containsKey(courseCode)) {
+                    courses.put(courseCode, courseRepository.findByCourseCode(courseCode));
+                }
+                if (courses.get(courseCode) == null) {
+                    errors[i] = new CourseNotFoundException("Course not found: " + courseCode);
+                }
+            }
+        }
+
+        // Tahap 4: kapasitas (cek cepat, kursi baru diambil setelah prasyarat)
+        for (Course course : courses.values()) {
+            if (course != null) {
+                fillFromWaitlist(course);
+            }
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors[i] == null) {
+                String courseCode = rows.get(i).getCourseCode();
+                if (seatEngine.isFull(courses.get(courseCode)) || hasWaitlist(courseCode)) {
+                    errors[i] = courseFull(students.get(rows.get(i).getStudentId()), courseCode);
+                }
+            }
+        }
+
+        // Tahap 5: prasyarat, pasangan ganda sudah ditolak sehingga tiap pasangan dicek sekali
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors[i] == null) {
+                EnrollmentRequest row = rows.get(i);
+                errors[i] = unmetPrerequisites(row.getStudentId(), row.getCourseCode());
+            }
+        }
+
+        // Tahap 6: ambil kursi sesuai urutan input, lalu satu update per mata kuliah
+        Set<Course> touched = new LinkedHashSet<>();
+        long lastSequence = 0L;
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors[i] == null) {
+                Course course = courses.get(rows.get(i).getCourseCode());
+                String studentId = rows.get(i).getStudentId();
+                synchronized (studentLock(studentId)) {
+                    boolean scheduled;
+                    try {
+                        scheduled = reserveSchedule(studentId, course.getCourseCode());
+                    } catch (ScheduleConflictException e) {
+                        errors[i] = e;
+                        continue;
+                    }
+                    try {
+                        reserveCredits(studentId, course);
+                    } catch (EnrollmentException e) {
+                        if (scheduled) {
+                            releaseSchedule(studentId, course.getCourseCode());
+                        }
+                        errors[i] = e;
+                        continue;
+                    }
+                    try {
+                        lastSequence = Math.max(lastSequence, reserveSeat(course, studentId));
+                        touched.add(course);
+                    } catch (CourseFullException e) {
+                        releaseCredits(studentId, course);
+                        if (scheduled) {
+                            releaseSchedule(studentId, course.getCourseCode());
+                        }
+                        errors[i] = courseFull(students.get(studentId), course.getCourseCode());
+                    }
+                }
+            }
+        }
+        for (Course course : touched) {
+            seatEngine.publish(course, courseRepository);
+        }
+        // Satu penantian fsync untuk seluruh batch
+        commit(lastSequence);
+
+        List<EnrollmentResult> results = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            EnrollmentRequest row = rows.get(i);
+            if (errors[i] != null) {
+                metrics.recordFailure(errors[i]);
+                results.add(EnrollmentResult.failure(row, errors[i]));
+                continue;
+            }
+            Course course = courses.get(row.getCourseCode());
+            notificationService.sendEmail(students.get(row.getStudentId()).getEmail(), "Enrollment Confirmation",
+                    "You have been enrolled in: " + course.getCourseName());
+            results.add(EnrollmentResult.success(row, approvedEnrollment(row.getStudentId(), row.getCourseCode())));
+        }
+        return results;
+    }
+
+    /**
+     * Mengaktifkan pencatatan setiap enroll dan drop yang berhasil ke event log.
+     *
+     * Record ditulis di bawah kunci mata kuliah yang sama dengan perubahan kursinya,
+     * sehingga urutan log per mata kuliah sama dengan urutan kursi diambil dan
+     * dilepas. Penantian fsync ({@code durableAppends}) dilakukan setelah kunci dilepas.
+     *
+     * Replay menghitung dari nol, jadi overload ini hanya untuk katalog yang belum
+     * punya mahasiswa terdaftar; selain itu pakai {@link #setEventLog(EnrollmentEventLog, Collection)}.
+     */
+    public void setEventLog(EnrollmentEventLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Seperti {@link #setEventLog(EnrollmentEventLog)}, untuk katalog yang sudah
+     * punya mahasiswa terdaftar. Jika log masih kosong, {@code enrolledCount}
+     * setiap mata kuliah dicatat dulu sebagai baseline supaya replay menghasilkan
+     * jumlah yang sama dengan counter kursi, yang juga diisi dari nilai tersebut.
+     *
+     * @throws UncheckedIOException jika snapshot baseline gagal ditulis
+     */
+    public void setEventLog(EnrollmentEventLog eventLog, Collection<Course> catalog) {
+        if (eventLog.isEmpty()) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (Course course : catalog) {
+                counts.put(course.getCourseCode(), course.getEnrolledCount());
+            }
+            try {
+                eventLog.writeBaseline(counts);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Dengan ledger aktif, batas SKS dibandingkan dengan SKS yang sedang diambil
+     * ditambah SKS yang diminta, dan dibaca dari ledger dalam waktu konstan.
+     */
+    @Override
+    public boolean validateCreditLimit(String studentId, int requestedCredits) {
+        if (creditLedger == null) {
+            return super.validateCreditLimit(studentId, requestedCredits);
+        }
+        return creditLedger.canTake(studentId, requestedCredits);
+    }
+
+    /**
+     * Mengaktifkan ledger SKS: enroll ditolak dengan {@link CreditLimitExceededException}
+     * jika total SKS melebihi batas, dan ledger diperbarui atomik bersama kursi.
+     */
+    public void setCreditLedger(CreditLedger creditLedger) {
+        this.creditLedger = creditLedger;
+    }
+
+    /**
+     * Mengaktifkan instrumentasi latensi per tahap, counter exception dan gauge
+     * kontensi. Tanpa metrics (default {@link EnrollmentMetrics#NOOP}) tidak ada
+     * timestamp yang diambil.
+     */
+    public void setMetrics(EnrollmentMetrics metrics) {
+        this.metrics = metrics == null ? EnrollmentMetrics.NOOP : metrics;
+    }
+
+    /**
+     * Mengaktifkan deteksi bentrok jadwal: enroll ditolak dengan
+     * {@link ScheduleConflictException} jika jadwalnya bentrok.
+     */
+    public void setScheduleIndex(ScheduleIndex scheduleIndex) {
+        this.scheduleIndex = scheduleIndex;
+    }
+
+    /**
+     * Prasyarat dicek langsung dari indeks, bukan lewat
+     * {@link CourseRepository#isPrerequisiteMet}, dan pesan PrerequisiteNotMetException
+     * menyebutkan grup prasyarat yang belum dipenuhi.
+     */
+    public void setPrerequisiteIndex(PrerequisiteIndex prerequisiteIndex) {
+        this.prerequisiteIndex = prerequisiteIndex;
+    }
+
+    /**
+     * Mengaktifkan daftar tunggu: mahasiswa yang mendapat CourseFullException dan
+     * memenuhi prasyarat otomatis masuk antrian dan dipromosikan ketika ada kursi
+     * yang dilepas. Selama antrian belum kosong, kursi kosong diberikan ke antrian
+     * lebih dulu sebelum enroll langsung diproses.
+     */
+    public void setWaitlist(WaitlistEngine waitlist) {
+        this.waitlist = waitlist;
+    }
+
+    /**
+     * Memuat ulang course dari repository dan menyamakan counter kursi engine
+     * dengan {@code enrolledCount} yang tersimpan, misalnya setelah data
+     * diperbaiki langsung di database.
+     *
+     * @return jumlah kursi terisi setelah sinkronisasi
+     */
+    public int resyncSeats(String courseCode) {
+        Course course = courseRepository.findByCourseCode(courseCode);
+        if (course == null) {
+            throw new CourseNotFoundException("Course not found: " + courseCode);
+        }
+        return seatEngine.resync(course);
+    }
+
+    public boolean isWaitlistEnabled() {
+        return waitlist != null;
+    }
+
+    public SeatReservationEngine getSeatEngine() {
+        return seatEngine;
+    }
+
+    // Tanpa metrics aktif tidak ada System.nanoTime(); lap tetap diteruskan apa adanya
+    private static long lap(EnrollmentMetrics metrics, boolean timed, Stage stage, long startNanos) {
+        return timed ? metrics.lap(stage, startNanos) : startNanos;
+    }
+
+    private boolean hasWaitlist(String courseCode) {
+        return waitlist != null && waitlist.size(courseCode) > 0;
+    }
+
+    // Kursi kosong yang tertahan antrian (misalnya setelah requeue) diberikan ke antrian lebih dulu
+    private void fillFromWaitlist(Course course) {
+        while (hasWaitlist(course.getCourseCode()) && !seatEngine.isFull(course)
+                && promoteFromWaitlist(course) != null) {
+            // lanjut sampai kursi penuh atau antrian habis
+        }
+    }
+
+    // Mahasiswa yang kehabisan kursi masuk daftar tunggu jika memenuhi prasyarat, exception tetap dilempar
+    private CourseFullException courseFull(Student student, String courseCode) {
+        if (waitlist != null && unmetPrerequisites(student.getStudentId(), courseCode) == null) {
+            waitlist.join(student, courseCode);
+            return new CourseFullException("Course is full; added to waitlist");
+        }
+        return new CourseFullException("Course is full");
+    }
+
+    private Object studentLock(String studentId) {
+        return studentLocks[(studentId.hashCode() & 0x7FFFFFFF) % studentLocks.length];
+    }
+
+    // Kepemilikan mata kuliah dibaca dari ledger SKS, atau dari indeks jadwal jika ledger tidak dipasang
+    private boolean holdsCourse(String studentId, String courseCode) {
+        if (creditLedger != null) {
+            return creditLedger.holds(studentId, courseCode);
+        }
+        if (scheduleIndex != null) {
+            return scheduleIndex.holds(studentId, courseCode);
+        }
+        throw new IllegalStateException("Swap requires a credit ledger or schedule index to verify enrollment");
+    }
+
+    // Kembali ke total semula; jika batas SKS berubah di antaranya, reservasi lama tetap dikembalikan
+    private void restoreCredits(String studentId, Course from, Course to) {
+        if (!creditLedger.tryTransfer(studentId, to.getCourseCode(), from.getCourseCode(), from.getCredits())) {
+            creditLedger.revertTransfer(studentId, to.getCourseCode(), from.getCourseCode(), from.getCredits());
+        }
+    }
+
+    // Kegagalan rollback dilampirkan ke exception asal supaya penyebab utamanya tidak tertutup
+    private void restoreSchedule(String studentId, String courseCode, EnrollmentException cause) {
+        try {
+            reserveSchedule(studentId, courseCode);
+        } catch (ScheduleConflictException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    // true jika jadwal benar-benar dicatat oleh panggilan ini
+    private boolean reserveSchedule(String studentId, String courseCode) {
+        return scheduleIndex != null && scheduleIndex.reserve(studentId, courseCode);
+    }
+
+    private boolean releaseSchedule(String studentId, String courseCode) {
+        return scheduleIndex != null && scheduleIndex.release(studentId, courseCode);
+    }
+
+    private void reserveCredits(String studentId, Course course) {
+        if (creditLedger != null && !creditLedger.tryReserve(studentId, course.getCourseCode(), course.getCredits())) {
+            throw new CreditLimitExceededException("Credit limit exceeded for student: " + studentId);
+        }
+    }
+
+    private void transferCredits(String studentId, Course from, Course to) {
+        if (creditLedger != null
+                && !creditLedger.tryTransfer(studentId, from.getCourseCode(), to.getCourseCode(), to.getCredits())) {
+            throw new CreditLimitExceededException("Credit limit exceeded for student: " + studentId);
+        }
+    }
+
+    // Hanya SKS yang memang direservasi untuk mata kuliah ini yang dikembalikan
+    private void releaseCredits(String studentId, Course course) {
+        if (creditLedger != null) {
+            creditLedger.release(studentId, course.getCourseCode());
+        }
+    }
+
+    /**
+     * Mengambil kursi dan, jika event log aktif, mencatat ENROLL di bawah kunci
+     * mata kuliah yang sama. Kursi dikembalikan jika pencatatan gagal.
+     *
+     * @return nomor urut record untuk {@link #commit}, atau 0 tanpa event log
+     */
+    private long reserveSeat(Course course, String studentId) {
+        if (eventLog == null) {
+            seatEngine.reserve(course);
+            return 0L;
+        }
+        synchronized (seatEngine.lockFor(course)) {
+            seatEngine.reserve(course);
+            try {
+                return recordDeferred(EnrollmentEventType.ENROLL, studentId, course.getCourseCode());
+            } catch (RuntimeException e) {
+                seatEngine.release(course);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Mencatat DROP lalu melepas kursi di bawah kunci mata kuliah yang sama.
+     *
+     * @return nomor urut record untuk {@link #commit}, atau 0 tanpa event log
+     */
+    private long releaseSeat(Course course, String studentId) {
+        if (eventLog == null) {
+            seatEngine.release(course);
+            return 0L;
+        }
+        synchronized (seatEngine.lockFor(course)) {
+            long sequence = recordDeferred(EnrollmentEventType.DROP, studentId, course.getCourseCode());
+            seatEngine.release(course);
+            return sequence;
+        }
+    }
+
+    private long recordDeferred(EnrollmentEventType type, String studentId, String courseCode) {
+        return eventLog == null ? 0L : eventLog.appendDeferred(type, studentId, courseCode);
+    }
+
+    private void commit(long sequence) {
+        if (eventLog != null && sequence > 0) {
+            eventLog.commit(sequence);
+        }
+    }
+
+    /**
+     * @return exception untuk prasyarat yang belum dipenuhi, atau null jika terpenuhi
+     */
+    private PrerequisiteNotMetException unmetPrerequisites(String studentId, String courseCode) {
+        PrerequisiteIndex index = prerequisiteIndex;
+        if (index == null) {
+            return courseRepository.isPrerequisiteMet(studentId, courseCode)
+                    ? null : new PrerequisiteNotMetException("Prerequisites not met");
+        }
+        List<List<String>> missing = index.missingPrerequisites(studentId, courseCode);
+        return missing.isEmpty()
+                ? null : new PrerequisiteNotMetException(PrerequisiteIndex.describeMissing(courseCode, missing));
+    }
+
+    static Enrollment approvedEnrollment(String studentId, String courseCode) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setEnrollmentId("ENR-" + UUID.randomUUID());
+        enrollment.setStudentId(studentId);
+        enrollment.setCourseCode(courseCode);
+        enrollment.setEnrollmentDate(LocalDateTime.now());
+        enrollment.setStatus("APPROVED");
+        return enrollment;
+    }
+}
@@ -0,0 +1,230 @@
+package com.siakad.service;
+
+import com.siakad.exception.EnrollmentException;
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.StudentRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Buku besar SKS per mahasiswa: total SKS yang sedang diambil dan batas SKS dari GPA.
+ *
+ * Kedua nilai dikemas dalam satu {@code long} (batas di 32 bit atas, SKS terambil
+ * di 32 bit bawah) dan diubah dengan compare-and-set, sehingga pengecekan batas
+ * hanya satu pembacaan dan dua enroll paralel milik mahasiswa yang sama tidak
+ * bisa bersama-sama melewati batas. Batas SKS dihitung sekali dari
+ * {@link GradeCalculator#calculateMaxCredits(double)} lalu di-cache sampai
+ * diperbarui lewat {@link #updateMaxCredits(String, int)}.
+ *
+ * SKS dicatat per mata kuliah, sehingga {@link #release} hanya mengembalikan SKS
+ * yang memang direservasi untuk mata kuliah itu. Enrollment yang sudah ada
+ * sebelum ledger dibuat dimuat dari {@code currentEnrollments} saat mahasiswa
+ * pertama kali disentuh.
+ */
+public class CreditLedger {
+
+    private final StudentRepository studentRepository;
+    private final GradeCalculator gradeCalculator;
+    private final Function<String, Collection<Course>> currentEnrollments;
+    private final ConcurrentHashMap<String, Account> accounts = new ConcurrentHashMap<>();
+
+    public CreditLedger(StudentRepository studentRepository, GradeCalculator gradeCalculator) {
+        this(studentRepository, gradeCalculator, studentId -> List.of());
+    }
+
+    /**
+     * @param currentEnrollments mata kuliah yang sedang diambil tiap mahasiswa,
+     *                           misalnya dari hasil replay event log
+     */
+    public CreditLedger(StudentRepository studentRepository, GradeCalculator gradeCalculator,
+                        Function<String, Collection<Course>> currentEnrollments) {
+        this.studentRepository = studentRepository;
+        this.gradeCalculator = gradeCalculator;
+        this.currentEnrollments = currentEnrollments;
+    }
+
+    /**
+     * Mereservasi SKS satu mata kuliah jika masih di bawah batas.
+     *
+     * @return false jika penambahan akan melebihi batas SKS
+     * @throws EnrollmentException jika SKS mata kuliah ini sudah direservasi
+     */
+    public boolean tryReserve(String studentId, String courseCode, int credits) {
+        Account account = accountOf(studentId);
+        // Klaim mata kuliah dulu supaya dua reservasi paralel untuk pasangan yang sama tidak sama-sama lolos
+        if (account.courses.putIfAbsent(courseCode, credits) != null) {
+            throw new EnrollmentException("Credits already reserved for " + courseCode);
+        }
+        if (!account.add(credits)) {
+            account.courses.remove(courseCode);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Mengembalikan SKS yang direservasi untuk mata kuliah tersebut.
+     *
+     * @return jumlah SKS yang dilepas, 0 jika mata kuliah ini tidak direservasi
+     */
+    public int release(String studentId, String courseCode) {
+        Account account = accountOf(studentId);
+        Integer credits = account.courses.remove(courseCode);
+        if (credits == null) {
+            return 0;
+        }
+        account.add(-credits);
+        return credits;
+    }
+
+    /**
+     * Memindahkan reservasi dari satu mata kuliah ke mata kuliah lain dalam satu langkah.
+     * Batas SKS dicek terhadap total setelah SKS mata kuliah lama dilepas.
+     *
+     * @return false jika total setelah pindah melebihi batas SKS; tidak ada yang berubah
+     * @throws EnrollmentException jika mata kuliah lama tidak direservasi atau mata kuliah baru sudah
+     */
+    public boolean tryTransfer(String studentId, String fromCourseCode, String toCourseCode, int toCredits) {
+        Account account = accountOf(studentId);
+        Integer fromCredits = account.courses.remove(fromCourseCode);
+        if (fromCredits == null) {
+            throw new EnrollmentException("No credits reserved for " + fromCourseCode);
+        }
+        if (account.courses.putIfAbsent(toCourseCode, toCredits) != null) {
+            account.courses.put(fromCourseCode, fromCredits);
+            throw new EnrollmentException("Credits already reserved for " + toCourseCode);
+        }
+        if (!account.add(toCredits - fromCredits)) {
+            account.courses.remove(toCourseCode);
+            account.courses.put(fromCourseCode, fromCredits);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Membatalkan {@link #tryTransfer} yang sudah berhasil tanpa memeriksa batas SKS,
+     * karena total semula sudah pernah lolos batas. Hanya untuk rollback.
+     */
+    void revertTransfer(String studentId, String toCourseCode, String fromCourseCode, int fromCredits) {
+        Account account = accountOf(studentId);
+        Integer toCredits = account.courses.remove(toCourseCode);
+        account.courses.put(fromCourseCode, fromCredits);
+        account.force(fromCredits - (toCredits == null ? 0 : toCredits));
+    }
+
+    /**
+     * Apakah SKS mata kuliah tersebut sedang direservasi untuk mahasiswa ini.
+     */
+    public boolean holds(String studentId, String courseCode) {
+        return accountOf(studentId).courses.containsKey(courseCode);
+    }
+
+    /**
+     * Pengecekan O(1): apakah mahasiswa masih boleh menambah sejumlah SKS.
+     */
+    public boolean canTake(String studentId, int requestedCredits) {
+        long current = accountOf(studentId).state.get();
+        return enrolled(current) + requestedCredits <= maxCredits(current);
+    }
+
+    public int getEnrolledCredits(String studentId) {
+        return enrolled(accountOf(studentId).state.get());
+    }
+
+    public int getMaxCredits(String studentId) {
+        return maxCredits(accountOf(studentId).state.get());
+    }
+
+    /**
+     * Memperbarui batas SKS yang di-cache, misalnya setelah GPA dihitung ulang.
+     */
+    public void updateMaxCredits(String studentId, int maxCredits) {
+        AtomicLong state = accountOf(studentId, maxCredits).state;
+        while (true) {
+            long current = state.get();
+            if (state.compareAndSet(current, pack(maxCredits, enrolled(current)))) {
+                return;
+            }
+        }
+    }
+
+    public void forget(String studentId) {
+        accounts.remove(studentId);
+    }
+
+    private Account accountOf(String studentId) {
+        Account account = accounts.get(studentId);
+        if (account != null) {
+            return account;
+        }
+        Student student = studentRepository.findById(studentId);
+        if (student == null) {
+            throw new StudentNotFoundException("Student not found: " + studentId);
+        }
+        return accountOf(studentId, gradeCalculator.calculateMaxCredits(student.getGpa()));
+    }
+
+    private Account accountOf(String studentId, int maxCredits) {
+        return accounts.computeIfAbsent(studentId, key -> {
+            Account account = new Account(maxCredits);
+            for (Course course : currentEnrollments.apply(studentId)) {
+                if (account.courses.putIfAbsent(course.getCourseCode(), course.getCredits()) == null) {
+                    account.state.set(pack(maxCredits, enrolled(account.state.get()) + course.getCredits()));
+                }
+            }
+            return account;
+        });
+    }
+
+    private static long pack(int maxCredits, int enrolled) {
+        return ((long) maxCredits << 32) | (enrolled & 0xFFFFFFFFL);
+    }
+
+    private static int maxCredits(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int enrolled(long state) {
+        return (int) state;
+    }
+
+    private static final class Account {
+        final AtomicLong state;
+        final ConcurrentHashMap<String, Integer> courses = new ConcurrentHashMap<>();
+
+        Account(int maxCredits) {
+            this.state = new AtomicLong(pack(maxCredits, 0));
+        }
+
+        // Menambah (atau mengurangi jika negatif) SKS terambil; penambahan ditolak jika melebihi batas
+        boolean add(int credits) {
+            while (true) {
+                long current = state.get();
+                int enrolled = Math.max(enrolled(current) + credits, 0);
+                if (credits > 0 && enrolled > maxCredits(current)) {
+                    return false;
+                }
+                if (state.compareAndSet(current, pack(maxCredits(current), enrolled))) {
+                    return true;
+                }
+            }
+        }
+
+        // Seperti add, tetapi tanpa batas SKS
+        void force(int credits) {
+            while (true) {
+                long current = state.get();
+                if (state.compareAndSet(current, pack(maxCredits(current), Math.max(enrolled(current) + credits, 0)))) {
+                    return;
+                }
+            }
+        }
+    }
+}
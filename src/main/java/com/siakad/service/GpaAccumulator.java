@@ -0,0 +1,232 @@
+package com.siakad.service;
+
+import com.siakad.model.AcademicStanding;
+import com.siakad.model.CourseGrade;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * GPA seorang mahasiswa yang dipelihara secara inkremental.
+ *
+ * Hasil {@link #getGpa()} identik bit per bit dengan
+ * {@link GradeCalculator#calculateGPA(List)} pada daftar nilai yang sama
+ * (urutan sama, total SKS 0 menghasilkan 0.0) karena memakai {@link GpaFold}. Karena penjumlahan floating
+ * point tidak asosiatif, total bobot tidak bisa dikoreksi dengan mengurangi
+ * nilai lama; yang disimpan adalah prefix sum berurutan. Menambah nilai baru
+ * O(1), sedangkan koreksi atau penghapusan nilai ke-k hanya menjumlah ulang
+ * nilai setelah k (koreksi biasanya menyentuh nilai semester terakhir).
+ *
+ * Mata kuliah yang diulang boleh muncul lebih dari sekali, sama seperti di
+ * {@link GradeCalculator#calculateGPA(List)}; setiap percobaan dihitung.
+ * {@link #replace} dan {@link #remove} mengenai percobaan terakhir, yang dicari
+ * dari belakang.
+ *
+ * Status akademik dan batas SKS hanya dihitung ulang lewat {@link GradeCalculator}
+ * ketika GPA melewati salah satu ambang aturan atau kelompok semester berubah.
+ * Dengan {@link RuleTableGradeCalculator} ambang dan kelompok semester dibaca dari
+ * {@link AcademicRuleTable}-nya; selain itu dipakai aturan GradeCalculator
+ * (2.0, 2.25, 2.5, 3.0; semester 1-2, 3-4, 5+), sehingga subclass lain harus
+ * memakai ambang yang sama. Tidak thread-safe; satu accumulator dipakai oleh satu thread
+ * pada satu waktu.
+ */
+public class GpaAccumulator {
+
+    // Ambang yang dipakai GradeCalculator.determineAcademicStatus dan calculateMaxCredits
+    private static final double[] THRESHOLDS = {2.0, 2.25, 2.5, 3.0};
+    private static final IntUnaryOperator SEMESTER_BANDS = semester -> semester <= 2 ? 0 : semester <= 4 ? 1 : 2;
+
+    private final String studentId;
+    private final GradeCalculator gradeCalculator;
+    private final double[] thresholds;
+    private final IntUnaryOperator semesterBands;
+
+    private String[] courseCodes = new String[16];
+    private int[] credits = new int[16];
+    private double[] gradePoints = new double[16];
+    private double[] prefixPoints = new double[16];
+    private int size;
+    private int totalCredits;
+
+    private int semester;
+    private int gpaBand = -1;
+    private int semesterBand = -1;
+    private String academicStatus;
+    private int maxCredits;
+    private Consumer<AcademicStanding> standingListener;
+
+    public GpaAccumulator(String studentId, int semester, GradeCalculator gradeCalculator) {
+        if (semester < 1) {
+            throw new IllegalArgumentException("Semester must be positive");
+        }
+        this.studentId = studentId;
+        this.semester = semester;
+        this.gradeCalculator = gradeCalculator;
+        if (gradeCalculator instanceof RuleTableGradeCalculator) {
+            AcademicRuleTable ruleTable = ((RuleTableGradeCalculator) gradeCalculator).getRuleTable();
+            this.thresholds = ruleTable.getGpaThresholds();
+            this.semesterBands = ruleTable::semesterBand;
+        } else {
+            this.thresholds = THRESHOLDS;
+            this.semesterBands = SEMESTER_BANDS;
+        }
+        refreshStanding();
+    }
+
+    public static GpaAccumulator of(String studentId, int semester, List<CourseGrade> grades,
+                                    GradeCalculator gradeCalculator) {
+        GpaAccumulator accumulator = new GpaAccumulator(studentId, semester, gradeCalculator);
+        for (CourseGrade grade : grades) {
+            accumulator.add(grade.getCourseCode(), grade.getCredits(), grade.getGradePoint());
+        }
+        return accumulator;
+    }
+
+    /**
+     * Menambahkan nilai mata kuliah baru di akhir transkrip; mata kuliah yang
+     * sudah ada dicatat sebagai pengulangan.
+     *
+     * @throws IllegalArgumentException jika grade point di luar 0-4
+     */
+    public void add(String courseCode, int courseCredits, double gradePoint) {
+        validate(gradePoint);
+        if (size == courseCodes.length) {
+            grow();
+        }
+        courseCodes[size] = courseCode;
+        credits[size] = courseCredits;
+        gradePoints[size] = gradePoint;
+        prefixPoints[size] = GpaFold.addPoints(size == 0 ? 0 : prefixPoints[size - 1], courseCredits, gradePoint);
+        size++;
+        totalCredits += courseCredits;
+        refreshStanding();
+    }
+
+    /**
+     * Mengoreksi nilai percobaan terakhir sebuah mata kuliah tanpa mengubah urutannya.
+     */
+    public void replace(String courseCode, int courseCredits, double gradePoint) {
+        validate(gradePoint);
+        int index = indexOf(courseCode);
+        totalCredits += courseCredits - credits[index];
+        credits[index] = courseCredits;
+        gradePoints[index] = gradePoint;
+        refold(index);
+        refreshStanding();
+    }
+
+    /**
+     * Menghapus percobaan terakhir sebuah mata kuliah.
+     */
+    public void remove(String courseCode) {
+        int index = indexOf(courseCode);
+        totalCredits -= credits[index];
+        int tail = size - index - 1;
+        System.arraycopy(courseCodes, index + 1, courseCodes, index, tail);
+        System.arraycopy(credits, index + 1, credits, index, tail);
+        System.arraycopy(gradePoints, index + 1, gradePoints, index, tail);
+        size--;
+        courseCodes[size] = null;
+        refold(index);
+        refreshStanding();
+    }
+
+    /**
+     * Mengganti semester; status dihitung ulang hanya jika kelompok semesternya berubah.
+     */
+    public void setSemester(int semester) {
+        if (semester < 1) {
+            throw new IllegalArgumentException("Semester must be positive");
+        }
+        this.semester = semester;
+        refreshStanding();
+    }
+
+    /**
+     * Dipanggil setiap kali status akademik atau batas SKS berubah, misalnya
+     * untuk meneruskan batas baru ke {@link CreditLedger#updateMaxCredits}.
+     */
+    public void setStandingListener(Consumer<AcademicStanding> standingListener) {
+        this.standingListener = standingListener;
+    }
+
+    public double getGpa() {
+        return GpaFold.gpa(size == 0 ? 0 : prefixPoints[size - 1], totalCredits);
+    }
+
+    public int getTotalCredits() {
+        return totalCredits;
+    }
+
+    public int getGradeCount() {
+        return size;
+    }
+
+    public String getAcademicStatus() {
+        return academicStatus;
+    }
+
+    public int getMaxCredits() {
+        return maxCredits;
+    }
+
+    public AcademicStanding getStanding() {
+        return new AcademicStanding(studentId, getGpa(), academicStatus, maxCredits);
+    }
+
+    private void refold(int from) {
+        double running = from == 0 ? 0 : prefixPoints[from - 1];
+        for (int i = from; i < size; i++) {
+            running = GpaFold.addPoints(running, credits[i], gradePoints[i]);
+            prefixPoints[i] = running;
+        }
+    }
+
+    private void refreshStanding() {
+        double gpa = getGpa();
+        int band = 0;
+        while (band < thresholds.length && gpa >= thresholds[band]) {
+            band++;
+        }
+        int currentSemesterBand = semesterBands.applyAsInt(semester);
+        if (band == gpaBand && currentSemesterBand == semesterBand) {
+            return;
+        }
+        gpaBand = band;
+        semesterBand = currentSemesterBand;
+        String previousStatus = academicStatus;
+        int previousMaxCredits = maxCredits;
+        academicStatus = gradeCalculator.determineAcademicStatus(gpa, semester);
+        maxCredits = gradeCalculator.calculateMaxCredits(gpa);
+        if (standingListener != null
+                && (!academicStatus.equals(previousStatus) || maxCredits != previousMaxCredits)) {
+            standingListener.accept(getStanding());
+        }
+    }
+
+    // Dicari dari belakang: percobaan terakhir, dan koreksi biasanya di semester terakhir
+    private int indexOf(String courseCode) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (courseCodes[i].equals(courseCode)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Course not graded: " + courseCode);
+    }
+
+    private static void validate(double gradePoint) {
+        if (!GpaFold.isValidGradePoint(gradePoint)) {
+            throw new IllegalArgumentException("Invalid grade point: " + gradePoint);
+        }
+    }
+
+    private void grow() {
+        int capacity = courseCodes.length * 2;
+        courseCodes = Arrays.copyOf(courseCodes, capacity);
+        credits = Arrays.copyOf(credits, capacity);
+        gradePoints = Arrays.copyOf(gradePoints, capacity);
+        prefixPoints = Arrays.copyOf(prefixPoints, capacity);
+    }
+}
@@ -0,0 +1,31 @@
+package com.siakad.service;
+
+/**
+ * Langkah penjumlahan GPA yang dipakai bersama oleh {@link BulkGpaCalculator},
+ * {@link GpaAccumulator} dan pembaca transkrip biner.
+ *
+ * Ekspresinya sama dengan {@link GradeCalculator#calculateGPA(java.util.List)}:
+ * bobot dijumlah berurutan sebagai {@code total + gradePoint * credits}, lalu
+ * dibagi total SKS, dengan total SKS 0 menghasilkan 0.0. Selama urutan baris
+ * sama, hasilnya identik bit per bit.
+ */
+public final class GpaFold {
+
+    private GpaFold() {
+    }
+
+    /**
+     * Grade point valid berada di 0-4; NaN dianggap invalid.
+     */
+    public static boolean isValidGradePoint(double gradePoint) {
+        return gradePoint >= 0 && gradePoint <= 4.0;
+    }
+
+    public static double addPoints(double totalPoints, int credits, double gradePoint) {
+        return totalPoints + gradePoint * credits;
+    }
+
+    public static double gpa(double totalPoints, int totalCredits) {
+        return totalCredits > 0 ? totalPoints / totalCredits : 0.0;
+    }
+}
@@ -0,0 +1,259 @@
+package com.siakad.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NotificationService asinkron yang membungkus NotificationService lain.
+ *
+ * Pesan dimasukkan ke antrian berukuran tetap dan langsung kembali ke pemanggil,
+ * sehingga latensi SMTP/SMS tidak ikut masuk ke waktu respons enrollment.
+ * Worker mengambil pesan per batch, menggabungkan pesan untuk penerima dan
+ * kanal yang sama, lalu mengirim dengan retry dan backoff eksponensial.
+ * Jika antrian penuh, pemanggil menunggu paling lama {@code offerTimeoutMillis}
+ * sebelum pesan dibuang dan dihitung sebagai drop.
+ */
+public class QueuedNotificationDispatcher implements NotificationService, AutoCloseable {
+
+    private static final int MAX_BATCH = 256;
+
+    private final NotificationService delegate;
+    private final BlockingQueue<Message> queue;
+    private final long offerTimeoutMillis;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+    // Pemanggil enqueue yang sedang berjalan; close menunggunya sebelum menghabiskan antrian
+    private final AtomicInteger enqueuing = new AtomicInteger();
+
+    public QueuedNotificationDispatcher(NotificationService delegate) {
+        this(delegate, 10_000, 2, 50, 3, 100);
+    }
+
+    public QueuedNotificationDispatcher(NotificationService delegate, int capacity, int workerCount,
+                                        long offerTimeoutMillis, int maxAttempts, long initialBackoffMillis) {
+        if (capacity < 1 || workerCount < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Capacity, worker count and attempts must be positive");
+        }
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::drainLoop, "notification-dispatcher-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    @Override
+    public void sendEmail(String to, String subject, String body) {
+        enqueue(new Message(Channel.EMAIL, to, subject, body));
+    }
+
+    @Override
+    public void sendSMS(String phone, String message) {
+        enqueue(new Message(Channel.SMS, phone, null, message));
+    }
+
+    private void enqueue(Message message) {
+        // Dinaikkan sebelum cek running, supaya close tidak bisa melewatkan pesan yang sedang masuk
+        enqueuing.incrementAndGet();
+        try {
+            if (!running) {
+                dropped.incrementAndGet();
+                return;
+            }
+            pending.incrementAndGet();
+            try {
+                if (queue.offer(message, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    enqueued.incrementAndGet();
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            pending.decrementAndGet();
+            dropped.incrementAndGet();
+        } finally {
+            enqueuing.decrementAndGet();
+        }
+    }
+
+    private void drainLoop() {
+        List<Message> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Message first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void process(List<Message> batch) throws InterruptedException {
+        try {
+            for (Message message : coalesce(batch)) {
+                deliver(message);
+            }
+        } finally {
+            pending.addAndGet(-batch.size());
+            batch.clear();
+        }
+    }
+
+    /**
+     * Menggabungkan pesan dengan kanal, penerima dan subjek yang sama menjadi satu,
+     * dengan isi pesan dipisahkan baris baru. Urutan kedatangan tetap dijaga.
+     */
+    private List<Message> coalesce(List<Message> batch) {
+        Map<String, Message> merged = new LinkedHashMap<>();
+        for (Message message : batch) {
+            String key = message.channel + "|" + message.recipient + "|" + message.subject;
+            Message existing = merged.get(key);
+            if (existing == null) {
+                merged.put(key, message);
+            } else {
+                merged.put(key, new Message(message.channel, message.recipient, message.subject,
+                        existing.body + "\n" + message.body));
+                coalesced.incrementAndGet();
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private void deliver(Message message) throws InterruptedException {
+        long backoff = initialBackoffMillis;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                if (message.channel == Channel.EMAIL) {
+                    delegate.sendEmail(message.recipient, message.subject, message.body);
+                } else {
+                    delegate.sendSMS(message.recipient, message.body);
+                }
+                delivered.incrementAndGet();
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == maxAttempts) {
+                    failed.incrementAndGet();
+                    return;
+                }
+                retries.incrementAndGet();
+                Thread.sleep(backoff);
+                backoff *= 2;
+            }
+        }
+    }
+
+    /**
+     * Menunggu sampai antrian kosong dan tidak ada pesan yang sedang dikirim.
+     *
+     * @return true jika semua pesan selesai diproses sebelum timeout
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (pending.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    /**
+     * Berhenti menerima pesan baru dan menunggu semua pesan yang sudah diterima
+     * terkirim. Pesan yang masuk setelah worker terakhir berhenti dikirim oleh
+     * thread pemanggil. Jika thread pemanggil diinterupsi, penantian dihentikan,
+     * status interrupt dipasang kembali, dan sisa antrian tidak dikirim.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            while (enqueuing.get() > 0) {
+                Thread.sleep(1);
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            List<Message> batch = new ArrayList<>(MAX_BATCH);
+            while (queue.drainTo(batch, MAX_BATCH) > 0) {
+                process(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getRetryCount() {
+        return retries.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    private enum Channel { EMAIL, SMS }
+
+    private static final class Message {
+        final Channel channel;
+        final String recipient;
+        final String subject;
+        final String body;
+
+        Message(Channel channel, String recipient, String subject, String body) {
+            this.channel = channel;
+            this.recipient = recipient;
+            this.subject = subject;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.siakad.service;
+
+/**
+ * GradeCalculator yang menjawab status akademik dan batas SKS dari
+ * {@link AcademicRuleTable}, sehingga bisa langsung dipakai oleh CreditLedger,
+ * GpaAccumulator dan AcademicStatusRecomputeJob. GpaAccumulator membaca ambang
+ * dan kelompok semester dari tabel yang sama. Perhitungan GPA tidak berubah.
+ */
+public class RuleTableGradeCalculator extends GradeCalculator {
+
+    private final AcademicRuleTable ruleTable;
+
+    public RuleTableGradeCalculator(AcademicRuleTable ruleTable) {
+        this.ruleTable = ruleTable;
+    }
+
+    @Override
+    public String determineAcademicStatus(double gpa, int semester) {
+        return ruleTable.determineAcademicStatus(gpa, semester);
+    }
+
+    @Override
+    public int calculateMaxCredits(double gpa) {
+        return ruleTable.calculateMaxCredits(gpa);
+    }
+
+    public AcademicRuleTable getRuleTable() {
+        return ruleTable;
+    }
+}
@@ -0,0 +1,304 @@
+package com.siakad.service;
+
+import com.siakad.exception.ScheduleConflictException;
+import com.siakad.model.MeetingSlot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Indeks jadwal untuk mendeteksi bentrok jadwal kuliah.
+ *
+ * Satu minggu dipetakan ke bitmap per blok 5 menit (7 x 288 bit). Jadwal setiap
+ * mata kuliah dikompilasi menjadi bitmap jarang yang hanya menyimpan word yang
+ * terisi, dan setiap mahasiswa punya bitmap mingguan dari mata kuliah yang
+ * sedang diambil. Pengecekan bentrok cukup AND pada beberapa word milik mata
+ * kuliah baru, berapa pun jumlah kelas yang sudah diambil mahasiswa.
+ *
+ * Jam yang bukan kelipatan 5 menit dibulatkan keluar ke blok terdekat, jadi
+ * bitmap bisa melaporkan bentrok semu (09:00-09:52 dan 09:53-10:30 berbagi blok
+ * 09:50). Bit yang beririsan karena itu selalu dikonfirmasi dengan jam pertemuan
+ * asli sebelum dianggap bentrok.
+ *
+ * Perkiraan memori per mahasiswa, dengan ukuran yang sama seperti angka di
+ * {@link com.siakad.repository.CompactStudentRepository}: bitmap 32 word
+ * (~272 byte termasuk header array) ditambah objek Timetable dan set kode mata
+ * kuliah (~100 byte untuk beberapa mata kuliah), jadi sekitar 75 MB untuk 200 ribu
+ * mahasiswa. Bitmap per menit butuh ~1,3 KB per mahasiswa (~250 MB).
+ */
+public class ScheduleIndex {
+
+    private static final int BLOCK_MINUTES = 5;
+    private static final int BLOCKS_PER_DAY = 24 * 60 / BLOCK_MINUTES;
+    private static final int WORDS = (7 * BLOCKS_PER_DAY + 63) / 64;
+
+    private final ConcurrentHashMap<String, CourseMask> courses = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timetable> timetables = new ConcurrentHashMap<>();
+
+    /**
+     * Mendaftarkan jadwal pertemuan sebuah mata kuliah. Mata kuliah tanpa jadwal tidak pernah bentrok.
+     *
+     * Jika jadwal didefinisikan ulang, bitmap mahasiswa yang sudah mengambil mata
+     * kuliah tersebut dibangun ulang dengan jadwal baru. Bentrok yang muncul karena
+     * perubahan jadwal tidak ditolak di sini; gunakan {@link #findAllConflicts}.
+     */
+    public void defineSchedule(String courseCode, Collection<MeetingSlot> slots) {
+        long[] dense = new long[WORDS];
+        for (MeetingSlot slot : slots) {
+            int base = (slot.getDay().getValue() - 1) * BLOCKS_PER_DAY;
+            setRange(dense, base + slot.getStartMinute() / BLOCK_MINUTES,
+                    base + (slot.getEndMinute() + BLOCK_MINUTES - 1) / BLOCK_MINUTES);
+        }
+        if (courses.put(courseCode, new CourseMask(List.copyOf(slots), dense)) == null) {
+            return;
+        }
+        // reserve/release membaca mask di dalam monitor timetable, jadi setelah put tidak ada yang memakai mask lama
+        for (Timetable timetable : timetables.values()) {
+            synchronized (timetable) {
+                if (timetable.courses.contains(courseCode)) {
+                    rebuild(timetable);
+                }
+            }
+        }
+    }
+
+    public List<MeetingSlot> getSchedule(String courseCode) {
+        CourseMask mask = courses.get(courseCode);
+        return mask == null ? Collections.emptyList() : mask.slots;
+    }
+
+    /**
+     * Mencatat mata kuliah ke jadwal mahasiswa jika tidak bentrok.
+     *
+     * @return false jika mata kuliah sudah ada di jadwal mahasiswa dan tidak ada yang dicatat;
+     *         pemanggil hanya boleh me-release apa yang ia reserve sendiri
+     * @throws ScheduleConflictException jika bentrok dengan mata kuliah yang sudah diambil
+     */
+    public boolean reserve(String studentId, String courseCode) {
+        Timetable timetable = timetables.computeIfAbsent(studentId, key -> new Timetable());
+        synchronized (timetable) {
+            if (timetable.courses.contains(courseCode)) {
+                return false;
+            }
+            CourseMask mask = courses.get(courseCode);
+            if (mask != null && mask.intersects(timetable.bits)) {
+                String other = findConflict(timetable, mask);
+                if (other != null) {
+                    throw new ScheduleConflictException("Schedule conflict between " + courseCode + " and " + other,
+                            other);
+                }
+            }
+            if (mask != null) {
+                mask.orInto(timetable.bits);
+            }
+            timetable.courses.add(courseCode);
+            return true;
+        }
+    }
+
+    /**
+     * Mengeluarkan mata kuliah dari jadwal mahasiswa.
+     *
+     * @return false jika mata kuliah tidak ada di jadwal mahasiswa
+     */
+    public boolean release(String studentId, String courseCode) {
+        Timetable timetable = timetables.get(studentId);
+        if (timetable == null) {
+            return false;
+        }
+        synchronized (timetable) {
+            if (!timetable.courses.remove(courseCode)) {
+                return false;
+            }
+            // Dibangun ulang, bukan dihapus per bit: setelah defineSchedule ulang dua mata kuliah
+            // yang diambil bisa berbagi menit yang sama
+            rebuild(timetable);
+            return true;
+        }
+    }
+
+    /**
+     * Apakah mata kuliah tersebut ada di jadwal mahasiswa.
+     */
+    public boolean holds(String studentId, String courseCode) {
+        Timetable timetable = timetables.get(studentId);
+        if (timetable == null) {
+            return false;
+        }
+        synchronized (timetable) {
+            return timetable.courses.contains(courseCode);
+        }
+    }
+
+    /**
+     * Cek tanpa mencatat: apakah mata kuliah bentrok dengan jadwal mahasiswa saat ini.
+     */
+    public boolean conflicts(String studentId, String courseCode) {
+        Timetable timetable = timetables.get(studentId);
+        if (timetable == null) {
+            return false;
+        }
+        synchronized (timetable) {
+            CourseMask mask = courses.get(courseCode);
+            return mask != null && !timetable.courses.contains(courseCode) && mask.intersects(timetable.bits)
+                    && findConflict(timetable, mask) != null;
+        }
+    }
+
+    /**
+     * Laporan semua bentrok jadwal di seluruh kampus, dihitung paralel per mahasiswa.
+     *
+     * @param enrollmentsByStudent mata kuliah yang diambil tiap mahasiswa, misalnya hasil replay event log
+     */
+    public List<ScheduleConflict> findAllConflicts(Map<String, ? extends Collection<String>> enrollmentsByStudent) {
+        return enrollmentsByStudent.entrySet().parallelStream()
+                .flatMap(entry -> conflictsOf(entry.getKey(), entry.getValue()).stream())
+                .collect(Collectors.toList());
+    }
+
+    private List<ScheduleConflict> conflictsOf(String studentId, Collection<String> courseCodes) {
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        List<String> codes = new ArrayList<>(new LinkedHashSet<>(courseCodes));
+        for (int i = 0; i < codes.size(); i++) {
+            CourseMask first = courses.get(codes.get(i));
+            if (first == null) {
+                continue;
+            }
+            for (int j = i + 1; j < codes.size(); j++) {
+                CourseMask second = courses.get(codes.get(j));
+                if (second != null && first.overlaps(second)) {
+                    conflicts.add(new ScheduleConflict(studentId, codes.get(i), codes.get(j)));
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private String findConflict(Timetable timetable, CourseMask mask) {
+        for (String code : timetable.courses) {
+            CourseMask other = courses.get(code);
+            if (other != null && other.overlaps(mask)) {
+                return code;
+            }
+        }
+        return null;
+    }
+
+    // Dipanggil di dalam monitor timetable
+    private void rebuild(Timetable timetable) {
+        Arrays.fill(timetable.bits, 0L);
+        for (String code : timetable.courses) {
+            CourseMask mask = courses.get(code);
+            if (mask != null) {
+                mask.orInto(timetable.bits);
+            }
+        }
+    }
+
+    private static void setRange(long[] bits, int from, int to) {
+        for (int i = from; i < to; i++) {
+            bits[i >>> 6] |= 1L << i;
+        }
+    }
+
+    private static final class Timetable {
+        final long[] bits = new long[WORDS];
+        final Set<String> courses = new LinkedHashSet<>();
+    }
+
+    private static final class CourseMask {
+        final List<MeetingSlot> slots;
+        final long[] dense;
+        final int[] words;
+        final long[] values;
+
+        CourseMask(List<MeetingSlot> slots, long[] dense) {
+            this.slots = slots;
+            this.dense = dense;
+            int count = 0;
+            for (long word : dense) {
+                if (word != 0) {
+                    count++;
+                }
+            }
+            words = new int[count];
+            values = new long[count];
+            for (int i = 0, n = 0; i < dense.length; i++) {
+                if (dense[i] != 0) {
+                    words[n] = i;
+                    values[n++] = dense[i];
+                }
+            }
+        }
+
+        boolean intersects(long[] timetable) {
+            for (int i = 0; i < words.length; i++) {
+                if ((timetable[words[i]] & values[i]) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Bitmap menyaring, jam pertemuan asli memastikan
+        boolean overlaps(CourseMask other) {
+            if (!intersects(other.dense)) {
+                return false;
+            }
+            for (MeetingSlot slot : slots) {
+                for (MeetingSlot otherSlot : other.slots) {
+                    if (slot.overlaps(otherSlot)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        void orInto(long[] timetable) {
+            for (int i = 0; i < words.length; i++) {
+                timetable[words[i]] |= values[i];
+            }
+        }
+    }
+
+    /**
+     * Satu bentrok jadwal milik seorang mahasiswa.
+     */
+    public static final class ScheduleConflict {
+        private final String studentId;
+        private final String firstCourseCode;
+        private final String secondCourseCode;
+
+        ScheduleConflict(String studentId, String firstCourseCode, String secondCourseCode) {
+            this.studentId = studentId;
+            this.firstCourseCode = firstCourseCode;
+            this.secondCourseCode = secondCourseCode;
+        }
+
+        public String getStudentId() {
+            return studentId;
+        }
+
+        public String getFirstCourseCode() {
+            return firstCourseCode;
+        }
+
+        public String getSecondCourseCode() {
+            return secondCourseCode;
+        }
+
+        @Override
+        public String toString() {
+            return studentId + ": " + firstCourseCode + " x " + secondCourseCode;
+        }
+    }
+}
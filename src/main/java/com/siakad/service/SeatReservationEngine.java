@@ -0,0 +1,132 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.model.Course;
+import com.siakad.repository.CourseRepository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mesin reservasi kursi per mata kuliah tanpa lock global.
+ *
+ * Setiap kode mata kuliah punya counter atomik sendiri. Kursi diambil dengan
+ * compare-and-set sehingga {@link CourseFullException} dilempar tepat ketika
+ * kapasitas tercapai, berapa pun banyaknya thread yang mendaftar bersamaan.
+ *
+ * Engine adalah sumber kebenaran jumlah terdaftar: counter diisi dari
+ * {@code enrolledCount} objek Course pertama yang dilihat, setelah itu nilai di
+ * repository hanya ditulis lewat {@link #publish}. Perubahan dari luar engine
+ * (reload repository, state image, koreksi admin) tidak terlihat sampai
+ * {@link #resync} dipanggil.
+ */
+public class SeatReservationEngine {
+
+    private final ConcurrentHashMap<String, Seats> seats = new ConcurrentHashMap<>();
+
+    /**
+     * Mengambil satu kursi di mata kuliah.
+     *
+     * @return jumlah kursi terisi setelah reservasi
+     * @throws CourseFullException jika kapasitas sudah penuh
+     */
+    public int reserve(Course course) {
+        Seats slot = seatsOf(course);
+        int capacity = course.getCapacity();
+        while (true) {
+            int current = slot.count.get();
+            if (current >= capacity) {
+                throw new CourseFullException("Course is full");
+            }
+            if (slot.count.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Mengembalikan satu kursi. Counter tidak pernah turun di bawah nol.
+     *
+     * @return jumlah kursi terisi setelah pelepasan
+     */
+    public int release(Course course) {
+        Seats slot = seatsOf(course);
+        while (true) {
+            int current = slot.count.get();
+            if (current == 0) {
+                return 0;
+            }
+            if (slot.count.compareAndSet(current, current - 1)) {
+                return current - 1;
+            }
+        }
+    }
+
+    /**
+     * Cek cepat tanpa mengambil kursi, dipakai untuk menjaga urutan validasi
+     * (kapasitas dicek sebelum prasyarat).
+     */
+    public boolean isFull(Course course) {
+        return seatsOf(course).count.get() >= course.getCapacity();
+    }
+
+    /**
+     * Menulis jumlah terdaftar terbaru ke objek course dan repository.
+     *
+     * Penulisan diserialkan per mata kuliah dan selalu membaca counter di dalam
+     * monitor, sehingga penulis terakhir selalu menyimpan nilai paling baru.
+     */
+    public void publish(Course course, CourseRepository courseRepository) {
+        Seats slot = seatsOf(course);
+        synchronized (slot) {
+            course.setEnrolledCount(slot.count.get());
+            courseRepository.update(course);
+        }
+    }
+
+    /**
+     * Mengganti counter dengan {@code enrolledCount} dari course yang baru dimuat.
+     *
+     * Dipanggil setelah jumlah terdaftar diubah di luar engine. Reservasi yang
+     * sedang berjalan untuk course yang sama dan belum di-publish akan tertimpa,
+     * jadi panggil saat tidak ada enroll yang sedang berlangsung di course tersebut.
+     *
+     * @return jumlah kursi terisi setelah sinkronisasi
+     */
+    public int resync(Course course) {
+        Seats slot = seatsOf(course);
+        synchronized (slot) {
+            int count = Math.max(course.getEnrolledCount(), 0);
+            slot.count.set(count);
+            return count;
+        }
+    }
+
+    /**
+     * Jumlah kursi terisi menurut engine, atau -1 jika course belum pernah disentuh.
+     */
+    public int getReservedCount(String courseCode) {
+        Seats slot = seats.get(courseCode);
+        return slot == null ? -1 : slot.count.get();
+    }
+
+    /**
+     * Monitor milik satu mata kuliah, dipakai juga oleh operasi yang perlu
+     * mengunci beberapa course sekaligus.
+     */
+    Object lockFor(Course course) {
+        return seatsOf(course);
+    }
+
+    private Seats seatsOf(Course course) {
+        return seats.computeIfAbsent(course.getCourseCode(), code -> new Seats(course.getEnrolledCount()));
+    }
+
+    private static final class Seats {
+        final AtomicInteger count;
+
+        Seats(int initial) {
+            this.count = new AtomicInteger(Math.max(initial, 0));
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.exception.PrerequisiteNotMetException;
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.StudentRepository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * EnrollmentService yang menjalankan setiap request di shard single-writer.
+ *
+ * Request di-hash berdasarkan kode mata kuliah ke salah satu shard mata kuliah.
+ * Setiap shard adalah satu thread dengan antriannya sendiri yang menjadi
+ * satu-satunya penulis jumlah kursi mata kuliah miliknya, sehingga okupansi
+ * disimpan tanpa lock maupun CAS. Pengecekan yang menyangkut mahasiswa
+ * (lookup, status, notifikasi) berjalan di shard mahasiswa yang terpisah,
+ * di-hash berdasarkan id mahasiswa. Tidak ada state bersama antar shard, jadi
+ * rancangan ini dimaksudkan untuk bertambah cepat seiring jumlah shard selama
+ * beban tersebar di banyak mata kuliah; belum ada pengukuran multi-core yang
+ * menunjukkan seberapa besar. Jumlah request yang sedang berjalan dibatasi
+ * {@code maxInFlight}; pemanggil menunggu jika batas tercapai.
+ *
+ * Urutan validasi dan exception sama dengan {@link EnrollmentService}.
+ * Versi async mengembalikan future yang gagal dengan exception yang sama;
+ * {@link #enrollCourse} dan {@link #dropCourse} menunggu hasilnya dan
+ * melempar exception tersebut apa adanya.
+ *
+ * Shard menyimpan objek {@link Course} miliknya setelah lookup dan membacanya
+ * ulang dari repository setelah {@link #setCourseRefreshInterval} (default satu
+ * detik), sehingga perubahan dari luar seperti kapasitas baru atau koreksi
+ * jumlah kursi terlihat paling lambat setelah interval itu.
+ * {@link #invalidateCourse} membuatnya langsung terlihat.
+ */
+public class ShardedEnrollmentService extends EnrollmentService implements AutoCloseable {
+
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final NotificationService notificationService;
+    private final CourseShard[] courseShards;
+    private final ThreadPoolExecutor[] studentShards;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private volatile boolean closed;
+    private volatile long courseRefreshNanos = TimeUnit.SECONDS.toNanos(1);
+
+    public ShardedEnrollmentService(StudentRepository studentRepository,
+                                    CourseRepository courseRepository,
+                                    NotificationService notificationService,
+                                    GradeCalculator gradeCalculator,
+                                    int courseShardCount,
+                                    int studentShardCount,
+                                    int maxInFlight) {
+        super(studentRepository, courseRepository, notificationService, gradeCalculator);
+        if (courseShardCount < 1 || studentShardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.notificationService = notificationService;
+        this.courseShards = new CourseShard[courseShardCount];
+        for (int i = 0; i < courseShardCount; i++) {
+            courseShards[i] = new CourseShard(newShardThread("enroll-course-shard-" + i));
+        }
+        this.studentShards = new ThreadPoolExecutor[studentShardCount];
+        for (int i = 0; i < studentShardCount; i++) {
+            studentShards[i] = newShardThread("enroll-student-shard-" + i);
+        }
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Satu shard mata kuliah dan satu shard mahasiswa per core.
+     */
+    public ShardedEnrollmentService(StudentRepository studentRepository,
+                                    CourseRepository courseRepository,
+                                    NotificationService notificationService,
+                                    GradeCalculator gradeCalculator) {
+        this(studentRepository, courseRepository, notificationService, gradeCalculator,
+                Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors(), 4096);
+    }
+
+    @Override
+    public Enrollment enrollCourse(String studentId, String courseCode) {
+        return await(enrollCourseAsync(studentId, courseCode));
+    }
+
+    @Override
+    public void dropCourse(String studentId, String courseCode) {
+        await(dropCourseAsync(studentId, courseCode));
+    }
+
+    public CompletableFuture<Enrollment> enrollCourseAsync(String studentId, String courseCode) {
+        ThreadPoolExecutor studentShard = studentShard(studentId);
+        CourseShard courseShard = courseShard(courseCode);
+        return admit(() -> CompletableFuture
+                .supplyAsync(() -> {
+                    Student student = findStudent(studentId);
+                    if ("SUSPENDED".equals(student.getAcademicStatus())) {
+                        throw new EnrollmentException("Cannot enroll: Student is suspended");
+                    }
+                    return student;
+                }, studentShard)
+                .thenCompose(student -> CompletableFuture
+                        .supplyAsync(() -> courseShard.enroll(studentId, courseCode), courseShard.executor)
+                        .thenApplyAsync(courseName -> {
+                            notificationService.sendEmail(student.getEmail(), "Enrollment Confirmation",
+                                    "You have been enrolled in: " + courseName);
+                            return ConcurrentEnrollmentService.approvedEnrollment(studentId, courseCode);
+                        }, studentShard)));
+    }
+
+    public CompletableFuture<Void> dropCourseAsync(String studentId, String courseCode) {
+        ThreadPoolExecutor studentShard = studentShard(studentId);
+        CourseShard courseShard = courseShard(courseCode);
+        return admit(() -> CompletableFuture
+                .supplyAsync(() -> findStudent(studentId), studentShard)
+                .thenCompose(student -> CompletableFuture
+                        .supplyAsync(() -> courseShard.drop(courseCode), courseShard.executor)
+                        .thenAcceptAsync(courseName -> notificationService.sendEmail(student.getEmail(),
+                                "Course Drop Confirmation", "You have dropped: " + courseName), studentShard)));
+    }
+
+    /**
+     * Seberapa lama shard boleh memakai objek course tanpa membacanya ulang dari
+     * repository; 0 berarti dibaca ulang di setiap request.
+     */
+    public void setCourseRefreshInterval(long interval, TimeUnit unit) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("Refresh interval must not be negative");
+        }
+        this.courseRefreshNanos = unit.toNanos(interval);
+    }
+
+    /**
+     * Membuang objek course yang disimpan shard sehingga lookup berikutnya membaca
+     * ulang dari repository. Dijalankan di thread shard, berurutan dengan request
+     * lain untuk mata kuliah yang sama.
+     */
+    public void invalidateCourse(String courseCode) {
+        CourseShard courseShard = courseShard(courseCode);
+        await(admit(() -> CompletableFuture.runAsync(() -> courseShard.forget(courseCode),
+                courseShard.executor)));
+    }
+
+    /**
+     * Berhenti menerima request baru, menunggu semua request yang sedang berjalan
+     * selesai melewati seluruh tahapnya, lalu menghentikan shard.
+     *
+     * Request melompat dari shard mahasiswa ke shard mata kuliah lalu kembali ke
+     * shard mahasiswa, jadi tidak ada shard yang boleh dihentikan selama masih ada
+     * request yang belum selesai. Request baru setelah close ditolak dengan
+     * {@link IllegalStateException}. Jika thread pemanggil diinterupsi, shard
+     * tetap dihentikan (request yang sudah antri tetap diproses), status
+     * interrupt dipasang kembali dan close kembali tanpa menunggu.
+     *
+     * @throws IllegalStateException jika request yang sedang berjalan tidak selesai dalam 30 detik
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        boolean drained;
+        try {
+            // Semua izin kembali berarti tidak ada request di tahap mana pun
+            drained = inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS);
+            if (drained) {
+                // Dikembalikan supaya pemanggil yang masih menunggu izin bisa bangun dan ditolak
+                inFlight.release(maxInFlight);
+            }
+            shutdownShards();
+            for (ThreadPoolExecutor shard : studentShards) {
+                shard.awaitTermination(30, TimeUnit.SECONDS);
+            }
+            for (CourseShard shard : courseShards) {
+                shard.executor.awaitTermination(30, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            shutdownShards();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!drained) {
+            throw new IllegalStateException("Timed out waiting for in-flight enrollment requests");
+        }
+    }
+
+    private void shutdownShards() {
+        for (ThreadPoolExecutor shard : studentShards) {
+            shard.shutdown();
+        }
+        for (CourseShard shard : courseShards) {
+            shard.executor.shutdown();
+        }
+    }
+
+    private Student findStudent(String studentId) {
+        Student student = studentRepository.findById(studentId);
+        if (student == null) {
+            throw new StudentNotFoundException("Student not found: " + studentId);
+        }
+        return student;
+    }
+
+    private CourseShard courseShard(String courseCode) {
+        return courseShards[Math.floorMod(courseCode.hashCode(), courseShards.length)];
+    }
+
+    private ThreadPoolExecutor studentShard(String studentId) {
+        return studentShards[Math.floorMod(studentId.hashCode(), studentShards.length)];
+    }
+
+    /**
+     * Membatasi jumlah request yang sedang berjalan. Antrian shard sendiri tidak
+     * dibatasi karena shard saling mengirim tahap lanjutan; jika antrian shard
+     * bisa memblok, dua shard yang saling menunggu akan deadlock.
+     */
+    private <T> CompletableFuture<T> admit(Supplier<CompletableFuture<T>> request) {
+        if (closed) {
+            throw new IllegalStateException("Enrollment service is closed");
+        }
+        inFlight.acquireUninterruptibly();
+        if (closed) {
+            inFlight.release();
+            throw new IllegalStateException("Enrollment service is closed");
+        }
+        CompletableFuture<T> future;
+        try {
+            future = request.get();
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        return future.whenComplete((result, error) -> inFlight.release());
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static ThreadPoolExecutor newShardThread(String name) {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * State satu shard mata kuliah. Hanya diakses dari thread shard itu sendiri;
+     * hasil yang dibutuhkan tahap berikutnya dikembalikan lewat future.
+     */
+    private final class CourseShard {
+        final ThreadPoolExecutor executor;
+        final Map<String, Course> courses = new HashMap<>();
+        final Map<String, Long> loadedAt = new HashMap<>();
+
+        CourseShard(ThreadPoolExecutor executor) {
+            this.executor = executor;
+        }
+
+        String enroll(String studentId, String courseCode) {
+            Course course = course(courseCode);
+            if (course.getEnrolledCount() >= course.getCapacity()) {
+                throw new CourseFullException("Course is full");
+            }
+            if (!courseRepository.isPrerequisiteMet(studentId, courseCode)) {
+                throw new PrerequisiteNotMetException("Prerequisites not met");
+            }
+            course.setEnrolledCount(course.getEnrolledCount() + 1);
+            courseRepository.update(course);
+            return course.getCourseName();
+        }
+
+        void forget(String courseCode) {
+            courses.remove(courseCode);
+            loadedAt.remove(courseCode);
+        }
+
+        String drop(String courseCode) {
+            Course course = course(courseCode);
+            course.setEnrolledCount(Math.max(0, course.getEnrolledCount() - 1));
+            courseRepository.update(course);
+            return course.getCourseName();
+        }
+
+        private Course course(String courseCode) {
+            Course course = courses.get(courseCode);
+            long now = System.nanoTime();
+            // Shard menulis setiap perubahannya ke repository, jadi membaca ulang tidak kehilangan kursi
+            if (course == null || now - loadedAt.get(courseCode) >= courseRefreshNanos) {
+                course = courseRepository.findByCourseCode(courseCode);
+                if (course == null) {
+                    courses.remove(courseCode);
+                    throw new CourseNotFoundException("Course not found: " + courseCode);
+                }
+                courses.put(courseCode, course);
+                loadedAt.put(courseCode, now);
+            }
+            return course;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.siakad.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ruang tunggu virtual saat pembukaan masa KRS.
+ *
+ * Setiap mahasiswa mendapat satu tiket sesuai urutan kedatangan. Tiket ke-n
+ * boleh masuk pada {@code waktu buka + n / admitsPerSecond}, sehingga beban
+ * ke repository naik bertahap alih-alih semua mahasiswa masuk bersamaan.
+ * Meminta tiket lagi mengembalikan tiket yang sama, jadi retry tidak
+ * memundurkan antrian.
+ *
+ * Tiket yang waktu masuknya sudah lewat lebih dari {@code ticketTtl} dibuang
+ * secara berkala. Mahasiswa yang kembali setelah itu mendapat tiket baru di
+ * akhir antrian, yang biasanya langsung boleh masuk karena antrian sudah surut.
+ */
+public class WaitingRoom {
+
+    private static final long DEFAULT_TICKET_TTL_NANOS = TimeUnit.HOURS.toNanos(1);
+    private static final int EVICTION_INTERVAL = 4096;
+
+    private final long openAtNanos;
+    private final double nanosPerAdmission;
+    private final long ticketTtlNanos;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final AtomicLong issued = new AtomicLong();
+
+    public WaitingRoom(double admitsPerSecond) {
+        this(admitsPerSecond, DEFAULT_TICKET_TTL_NANOS, System::nanoTime);
+    }
+
+    /**
+     * @param ticketTtl berapa lama tiket disimpan setelah waktu masuknya lewat
+     */
+    public WaitingRoom(double admitsPerSecond, long ticketTtl, TimeUnit unit) {
+        this(admitsPerSecond, unit.toNanos(ticketTtl), System::nanoTime);
+    }
+
+    WaitingRoom(double admitsPerSecond, LongSupplier clock) {
+        this(admitsPerSecond, DEFAULT_TICKET_TTL_NANOS, clock);
+    }
+
+    WaitingRoom(double admitsPerSecond, long ticketTtlNanos, LongSupplier clock) {
+        if (admitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Admission rate must be positive");
+        }
+        this.clock = clock;
+        this.openAtNanos = clock.getAsLong();
+        this.nanosPerAdmission = TimeUnit.SECONDS.toNanos(1) / admitsPerSecond;
+        this.ticketTtlNanos = ticketTtlNanos;
+    }
+
+    public Ticket ticketFor(String studentId) {
+        Ticket ticket = tickets.get(studentId);
+        if (ticket != null) {
+            return ticket;
+        }
+        if (issued.get() % EVICTION_INTERVAL == EVICTION_INTERVAL - 1) {
+            evictExpired();
+        }
+        return tickets.computeIfAbsent(studentId, id -> {
+            long position = issued.getAndIncrement();
+            return new Ticket(id, position, openAtNanos + (long) (position * nanosPerAdmission));
+        });
+    }
+
+    /**
+     * Membuang tiket yang waktu masuknya sudah lewat lebih dari {@code ticketTtl}.
+     *
+     * @return jumlah tiket yang dibuang
+     */
+    public int evictExpired() {
+        long now = clock.getAsLong();
+        int before = tickets.size();
+        tickets.values().removeIf(ticket -> now - ticket.admitAtNanos > ticketTtlNanos);
+        return before - tickets.size();
+    }
+
+    int getTicketCount() {
+        return tickets.size();
+    }
+
+    /**
+     * @return sisa waktu tunggu dalam milidetik, 0 jika tiket sudah boleh masuk
+     */
+    public long millisUntilEntry(Ticket ticket) {
+        long remaining = ticket.admitAtNanos - clock.getAsLong();
+        return remaining <= 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(remaining) + 1;
+    }
+
+    public long getIssuedCount() {
+        return issued.get();
+    }
+
+    /**
+     * Tiket masuk seorang mahasiswa.
+     */
+    public static final class Ticket {
+        private final String studentId;
+        private final long position;
+        private final long admitAtNanos;
+
+        Ticket(String studentId, long position, long admitAtNanos) {
+            this.studentId = studentId;
+            this.position = position;
+            this.admitAtNanos = admitAtNanos;
+        }
+
+        public String getStudentId() {
+            return studentId;
+        }
+
+        public long getPosition() {
+            return position;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.siakad.service;
+
+import com.siakad.model.Student;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Daftar tunggu per mata kuliah untuk mahasiswa yang mendapat CourseFullException.
+ *
+ * Setiap mata kuliah punya priority queue sendiri yang dijaga lock per mata
+ * kuliah, sehingga join dan ambil antrian berjalan O(log n) dan drop di mata
+ * kuliah lain tidak saling menunggu. Urutan dasar adalah FIFO; kebijakan
+ * {@link Policy#SEMESTER} dan {@link Policy#GPA} mendahulukan semester lebih
+ * tinggi atau GPA lebih tinggi, dengan FIFO sebagai penentu jika sama.
+ * Keluar dari antrian dilakukan dengan penandaan sehingga tetap O(log n);
+ * setiap join mendapat tiket baru, jadi entry lama milik mahasiswa yang keluar
+ * lalu masuk lagi dilewati dan ia mendapat posisi di belakang.
+ */
+public class WaitlistEngine {
+
+    public enum Policy {
+        FIFO,
+        SEMESTER,
+        GPA
+    }
+
+    private final Policy policy;
+    private final ConcurrentHashMap<String, CourseWaitlist> waitlists = new ConcurrentHashMap<>();
+    private long nextTicket;
+
+    public WaitlistEngine(Policy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Memasukkan mahasiswa ke daftar tunggu. Mahasiswa yang sudah ada di antrian tidak ditambahkan lagi.
+     *
+     * @return true jika mahasiswa baru masuk antrian
+     */
+    public boolean join(Student student, String courseCode) {
+        double priority;
+        switch (policy) {
+            case SEMESTER:
+                priority = student.getSemester();
+                break;
+            case GPA:
+                priority = student.getGpa();
+                break;
+            default:
+                priority = 0;
+        }
+        CourseWaitlist waitlist = waitlists.computeIfAbsent(courseCode, code -> new CourseWaitlist());
+        synchronized (waitlist) {
+            if (waitlist.members.containsKey(student.getStudentId())) {
+                return false;
+            }
+            Entry entry = new Entry(student.getStudentId(), courseCode, priority, ticket());
+            waitlist.members.put(entry.studentId, entry.ticket);
+            waitlist.queue.add(entry);
+            return true;
+        }
+    }
+
+    /**
+     * Mengeluarkan mahasiswa dari daftar tunggu.
+     */
+    public boolean leave(String studentId, String courseCode) {
+        CourseWaitlist waitlist = waitlists.get(courseCode);
+        if (waitlist == null) {
+            return false;
+        }
+        synchronized (waitlist) {
+            return waitlist.members.remove(studentId) != null;
+        }
+    }
+
+    /**
+     * Mengambil mahasiswa berikutnya yang berhak mendapat kursi, atau null jika antrian kosong.
+     */
+    public Entry pollNext(String courseCode) {
+        CourseWaitlist waitlist = waitlists.get(courseCode);
+        if (waitlist == null) {
+            return null;
+        }
+        synchronized (waitlist) {
+            Entry entry;
+            while ((entry = waitlist.queue.poll()) != null) {
+                // Lewati entry milik mahasiswa yang sudah keluar, termasuk entry join sebelumnya
+                if (waitlist.members.remove(entry.studentId, entry.ticket)) {
+                    return entry;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Mengembalikan entry yang gagal dipromosikan karena kursi direbut, dengan posisi semula.
+     */
+    public void requeue(Entry entry) {
+        CourseWaitlist waitlist = waitlists.computeIfAbsent(entry.courseCode, code -> new CourseWaitlist());
+        synchronized (waitlist) {
+            if (waitlist.members.putIfAbsent(entry.studentId, entry.ticket) == null) {
+                waitlist.queue.add(entry);
+            }
+        }
+    }
+
+    public int size(String courseCode) {
+        CourseWaitlist waitlist = waitlists.get(courseCode);
+        if (waitlist == null) {
+            return 0;
+        }
+        synchronized (waitlist) {
+            return waitlist.members.size();
+        }
+    }
+
+    public boolean contains(String studentId, String courseCode) {
+        CourseWaitlist waitlist = waitlists.get(courseCode);
+        if (waitlist == null) {
+            return false;
+        }
+        synchronized (waitlist) {
+            return waitlist.members.containsKey(studentId);
+        }
+    }
+
+    private synchronized long ticket() {
+        return nextTicket++;
+    }
+
+    private static final class CourseWaitlist {
+        final PriorityQueue<Entry> queue = new PriorityQueue<>(
+                Comparator.comparingDouble((Entry entry) -> -entry.priority).thenComparingLong(entry -> entry.ticket));
+        // Tiket join yang masih berlaku per mahasiswa
+        final Map<String, Long> members = new HashMap<>();
+    }
+
+    /**
+     * Satu posisi di daftar tunggu.
+     */
+    public static final class Entry {
+        private final String studentId;
+        private final String courseCode;
+        private final double priority;
+        private final long ticket;
+
+        Entry(String studentId, String courseCode, double priority, long ticket) {
+            this.studentId = studentId;
+            this.courseCode = courseCode;
+            this.priority = priority;
+            this.ticket = ticket;
+        }
+
+        public String getStudentId() {
+            return studentId;
+        }
+
+        public String getCourseCode() {
+            return courseCode;
+        }
+    }
+}
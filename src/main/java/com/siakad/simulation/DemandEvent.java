@@ -0,0 +1,32 @@
+package com.siakad.simulation;
+
+/**
+ * Satu permintaan enroll dalam aliran permintaan simulasi.
+ */
+public class DemandEvent {
+
+    private final long timeMillis;
+    private final String studentId;
+    private final String courseCode;
+
+    /**
+     * @param timeMillis waktu permintaan, dihitung dari pembukaan masa KRS
+     */
+    public DemandEvent(long timeMillis, String studentId, String courseCode) {
+        this.timeMillis = timeMillis;
+        this.studentId = studentId;
+        this.courseCode = courseCode;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+}
@@ -0,0 +1,113 @@
+package com.siakad.simulation;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Hasil satu kali simulasi: hasil per mata kuliah, penolakan per jenis
+ * exception, dan throughput simulasi itu sendiri.
+ */
+public class SimulationReport {
+
+    private final long requests;
+    private final long elapsedNanos;
+    private final Map<String, CourseResult> courses;
+    private final Map<String, Long> rejections;
+
+    SimulationReport(long requests, long elapsedNanos, Map<String, CourseResult> courses,
+                     Map<String, Long> rejections) {
+        this.requests = requests;
+        this.elapsedNanos = elapsedNanos;
+        this.courses = Collections.unmodifiableMap(new TreeMap<>(courses));
+        this.rejections = Collections.unmodifiableMap(new TreeMap<>(rejections));
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getRequestsPerSecond() {
+        return elapsedNanos == 0 ? 0 : requests * 1e9 / elapsedNanos;
+    }
+
+    public Map<String, CourseResult> getCourses() {
+        return courses;
+    }
+
+    public CourseResult getCourse(String courseCode) {
+        return courses.get(courseCode);
+    }
+
+    /**
+     * @return jumlah penolakan per nama exception, misalnya CourseFullException
+     */
+    public Map<String, Long> getRejections() {
+        return rejections;
+    }
+
+    public long getRejections(String exceptionType) {
+        return rejections.getOrDefault(exceptionType, 0L);
+    }
+
+    /**
+     * Selisih jumlah mahasiswa terdaftar per mata kuliah antara dua skenario,
+     * misalnya sebelum dan sesudah kapasitas diubah.
+     */
+    public static Map<String, Integer> enrolledDelta(SimulationReport baseline, SimulationReport scenario) {
+        Map<String, Integer> delta = new TreeMap<>();
+        for (Map.Entry<String, CourseResult> entry : scenario.courses.entrySet()) {
+            CourseResult before = baseline.courses.get(entry.getKey());
+            delta.put(entry.getKey(), entry.getValue().getEnrolled() - (before == null ? 0 : before.getEnrolled()));
+        }
+        return delta;
+    }
+
+    /**
+     * Hasil simulasi untuk satu mata kuliah.
+     */
+    public static final class CourseResult {
+        private final int capacity;
+        private final int enrolled;
+        private final long fillTimeMillis;
+        private final Map<String, Long> rejections;
+
+        CourseResult(int capacity, int enrolled, long fillTimeMillis, Map<String, Long> rejections) {
+            this.capacity = capacity;
+            this.enrolled = enrolled;
+            this.fillTimeMillis = fillTimeMillis;
+            this.rejections = Collections.unmodifiableMap(new TreeMap<>(rejections));
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public int getEnrolled() {
+            return enrolled;
+        }
+
+        public boolean isFull() {
+            return fillTimeMillis >= 0;
+        }
+
+        /**
+         * @return waktu permintaan yang mengambil kursi terakhir, atau -1 jika tidak pernah penuh
+         */
+        public long getFillTimeMillis() {
+            return fillTimeMillis;
+        }
+
+        public Map<String, Long> getRejections() {
+            return rejections;
+        }
+
+        public long getRejections(String exceptionType) {
+            return rejections.getOrDefault(exceptionType, 0L);
+        }
+    }
+}
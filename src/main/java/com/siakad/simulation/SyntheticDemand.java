@@ -0,0 +1,67 @@
+package com.siakad.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Pembangkit aliran permintaan sintetis.
+ *
+ * Popularitas mata kuliah mengikuti distribusi Zipf: mata kuliah ke-r dalam
+ * daftar dipilih dengan bobot {@code 1 / r^skew}. Waktu permintaan tersebar
+ * eksponensial dari pembukaan, sehingga sebagian besar permintaan datang di
+ * menit-menit pertama seperti saat KRS dibuka.
+ */
+public final class SyntheticDemand {
+
+    private SyntheticDemand() {
+    }
+
+    /**
+     * @param courseCodes       mata kuliah, urut dari yang paling diminati
+     * @param coursesPerStudent jumlah permintaan per mahasiswa (mata kuliah berbeda bila memungkinkan)
+     * @param skew              eksponen Zipf, 0 berarti merata
+     * @param meanDelayMillis   rata-rata jeda permintaan dari pembukaan
+     * @return permintaan terurut berdasarkan waktu
+     */
+    public static List<DemandEvent> generate(List<String> studentIds, List<String> courseCodes,
+                                             int coursesPerStudent, double skew, long meanDelayMillis,
+                                             long seed) {
+        double[] cumulative = new double[courseCodes.size()];
+        double total = 0;
+        for (int rank = 0; rank < cumulative.length; rank++) {
+            total += 1.0 / Math.pow(rank + 1, skew);
+            cumulative[rank] = total;
+        }
+
+        Random random = new Random(seed);
+        int perStudent = Math.min(coursesPerStudent, courseCodes.size());
+        List<DemandEvent> events = new ArrayList<>(studentIds.size() * perStudent);
+        int[] picked = new int[perStudent];
+        for (String studentId : studentIds) {
+            for (int i = 0; i < perStudent; i++) {
+                int course;
+                do {
+                    int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                    course = index >= 0 ? index : -index - 1;
+                } while (contains(picked, i, course));
+                picked[i] = course;
+                long time = (long) (-Math.log(1 - random.nextDouble()) * meanDelayMillis);
+                events.add(new DemandEvent(time, studentId, courseCodes.get(course)));
+            }
+        }
+        events.sort(Comparator.comparingLong(DemandEvent::getTimeMillis));
+        return events;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,255 @@
+package com.siakad.snapshot;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+
+/**
+ * Image katalog dan data mahasiswa yang di-memory-map saat startup.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * header 48 byte: magic, versi, waktu dibuat, jumlah mata kuliah, jumlah mahasiswa,
+ *                 offset indeks mata kuliah, offset indeks mahasiswa, offset data,
+ *                 panjang file, CRC32 isi, CRC32 header
+ * indeks          satu int offset record per entri, terurut berdasarkan kunci
+ * data            record; setiap record diawali kuncinya (short panjang + UTF-8)
+ * </pre>
+ *
+ * Membuka image hanya memeriksa header, jadi node langsung bisa melayani lookup;
+ * halaman file dimuat sistem operasi saat pertama disentuh. Lookup adalah
+ * binary search di indeks dengan membandingkan byte kunci langsung di mapping,
+ * dan objek baru dibuat untuk record yang cocok saja. CRC32 seluruh isi
+ * diverifikasi di thread latar; jika gagal, {@link #isUsable()} bernilai false
+ * dan pemakai image harus kembali ke repository asli.
+ */
+public class StateImage implements AutoCloseable {
+
+    static final int MAGIC = 0x534B494D;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 48;
+    static final int HEADER_CRC_OFFSET = 44;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long createdAtMillis;
+    private final int courseCount;
+    private final int studentCount;
+    private final int courseIndexOffset;
+    private final int studentIndexOffset;
+    private final int length;
+    private final long bodyCrc;
+    private final CompletableFuture<Boolean> verification;
+    private volatile boolean usable = true;
+
+    private StateImage(FileChannel channel, MappedByteBuffer buffer, Executor verifier) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a state image");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported state image version " + version);
+        }
+        CRC32 headerCrc = new CRC32();
+        headerCrc.update(buffer.duplicate().position(0).limit(HEADER_CRC_OFFSET));
+        if ((int) headerCrc.getValue() != buffer.getInt(HEADER_CRC_OFFSET)) {
+            throw new IOException("Corrupt state image header");
+        }
+        this.createdAtMillis = buffer.getLong(8);
+        this.courseCount = buffer.getInt(16);
+        this.studentCount = buffer.getInt(20);
+        this.courseIndexOffset = buffer.getInt(24);
+        this.studentIndexOffset = buffer.getInt(28);
+        this.length = buffer.getInt(36);
+        this.bodyCrc = Integer.toUnsignedLong(buffer.getInt(40));
+        if (length != buffer.limit()) {
+            throw new IOException("Truncated state image: expected " + length + " bytes, found " + buffer.limit());
+        }
+        this.verification = CompletableFuture.supplyAsync(this::verify, verifier);
+    }
+
+    /**
+     * Memetakan image dan memulai verifikasi CRC di latar belakang.
+     */
+    public static StateImage open(Path file) throws IOException {
+        return open(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param verifier executor untuk verifikasi CRC; test memakainya untuk menunda verifikasi
+     */
+    static StateImage open(Path file, Executor verifier) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("State image larger than 2 GB is not supported");
+            }
+            return new StateImage(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), verifier);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public Course findCourse(String courseCode) {
+        int position = find(courseIndexOffset, courseCount, courseCode);
+        if (position < 0) {
+            return null;
+        }
+        ByteBuffer record = buffer.duplicate().position(position);
+        Course course = new Course();
+        course.setCourseCode(readString(record));
+        course.setCourseName(readString(record));
+        course.setCredits(record.getInt());
+        course.setCapacity(record.getInt());
+        course.setEnrolledCount(record.getInt());
+        course.setLecturer(readString(record));
+        return course;
+    }
+
+    public Student findStudent(String studentId) {
+        int position = find(studentIndexOffset, studentCount, studentId);
+        if (position < 0) {
+            return null;
+        }
+        ByteBuffer record = buffer.duplicate().position(position);
+        String id = readString(record);
+        String name = readString(record);
+        String email = readString(record);
+        String major = readString(record);
+        int semester = record.getInt();
+        double gpa = record.getDouble();
+        return new Student(id, name, email, major, semester, gpa, readString(record));
+    }
+
+    /**
+     * @return kode mata kuliah yang sudah diselesaikan, atau null jika mahasiswa tidak ada di image
+     */
+    public List<String> findCompletedCourseCodes(String studentId) {
+        int position = find(studentIndexOffset, studentCount, studentId);
+        if (position < 0) {
+            return null;
+        }
+        ByteBuffer record = buffer.duplicate().position(position);
+        for (int i = 0; i < 4; i++) {
+            skipString(record);
+        }
+        record.position(record.position() + 12);
+        skipString(record);
+        int count = record.getInt();
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        List<String> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            codes.add(readString(record));
+        }
+        return codes;
+    }
+
+    public int getCourseCount() {
+        return courseCount;
+    }
+
+    public int getStudentCount() {
+        return studentCount;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    /**
+     * @return false jika verifikasi latar menemukan isi image rusak
+     */
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * Hasil verifikasi CRC: true jika isi image utuh.
+     */
+    public CompletableFuture<Boolean> verification() {
+        return verification;
+    }
+
+    @Override
+    public void close() throws IOException {
+        usable = false;
+        channel.close();
+    }
+
+    private boolean verify() {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(HEADER_SIZE).limit(length));
+        boolean valid = crc.getValue() == bodyCrc;
+        if (!valid) {
+            usable = false;
+        }
+        return valid;
+    }
+
+    private int find(int indexOffset, int count, String key) {
+        byte[] target = key.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int position = buffer.getInt(indexOffset + 4 * middle);
+            int comparison = compareKey(position, target);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private int compareKey(int position, byte[] target) {
+        int keyLength = buffer.getShort(position);
+        int common = Math.min(keyLength, target.length);
+        for (int i = 0; i < common; i++) {
+            int difference = Byte.toUnsignedInt(buffer.get(position + 2 + i)) - Byte.toUnsignedInt(target[i]);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return keyLength - target.length;
+    }
+
+    private static String readString(ByteBuffer record) {
+        int length = record.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(ByteBuffer record) {
+        int length = record.getShort();
+        if (length > 0) {
+            record.position(record.position() + length);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.siakad.snapshot;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Menulis image biner berisi katalog mata kuliah (termasuk jumlah kursi terisi)
+ * dan data mahasiswa beserta mata kuliah yang sudah diselesaikan.
+ *
+ * Layout file dijelaskan di {@link StateImage}. Record diurutkan berdasarkan
+ * byte UTF-8 kuncinya supaya bisa dicari dengan binary search langsung di
+ * mapping. File ditulis ke file sementara lalu dipindahkan secara atomik.
+ */
+public class StateImageWriter {
+
+    private final List<Entry> courses = new ArrayList<>();
+    private final List<Entry> students = new ArrayList<>();
+
+    public void addCourse(Course course) {
+        courses.add(new Entry(encode(course.getCourseCode()), record(out -> {
+            writeString(out, course.getCourseCode());
+            writeString(out, course.getCourseName());
+            out.writeInt(course.getCredits());
+            out.writeInt(course.getCapacity());
+            out.writeInt(course.getEnrolledCount());
+            writeString(out, course.getLecturer());
+        })));
+    }
+
+    public void addStudent(Student student, Collection<String> completedCourseCodes) {
+        students.add(new Entry(encode(student.getStudentId()), record(out -> {
+            writeString(out, student.getStudentId());
+            writeString(out, student.getName());
+            writeString(out, student.getEmail());
+            writeString(out, student.getMajor());
+            out.writeInt(student.getSemester());
+            out.writeDouble(student.getGpa());
+            writeString(out, student.getAcademicStatus());
+            out.writeInt(completedCourseCodes.size());
+            for (String code : completedCourseCodes) {
+                writeString(out, code);
+            }
+        })));
+    }
+
+    /**
+     * @return ukuran image dalam byte
+     */
+    public long write(Path file) throws IOException {
+        Comparator<Entry> byKey = (a, b) -> Arrays.compareUnsigned(a.key, b.key);
+        courses.sort(byKey);
+        students.sort(byKey);
+        rejectDuplicates(courses, "course");
+        rejectDuplicates(students, "student");
+
+        long courseIndexOffset = StateImage.HEADER_SIZE;
+        long studentIndexOffset = courseIndexOffset + 4L * courses.size();
+        long dataOffset = studentIndexOffset + 4L * students.size();
+        long length = dataOffset;
+        for (Entry entry : courses) {
+            length += entry.record.length;
+        }
+        for (Entry entry : students) {
+            length += entry.record.length;
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("State image larger than 2 GB is not supported");
+        }
+
+        ByteBuffer body = ByteBuffer.allocate((int) length - StateImage.HEADER_SIZE);
+        int recordOffset = (int) dataOffset;
+        for (Entry entry : courses) {
+            body.putInt(recordOffset);
+            recordOffset += entry.record.length;
+        }
+        for (Entry entry : students) {
+            body.putInt(recordOffset);
+            recordOffset += entry.record.length;
+        }
+        for (Entry entry : courses) {
+            body.put(entry.record);
+        }
+        for (Entry entry : students) {
+            body.put(entry.record);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(body.array(), 0, body.position());
+        ByteBuffer header = ByteBuffer.allocate(StateImage.HEADER_SIZE);
+        header.putInt(StateImage.MAGIC);
+        header.putInt(StateImage.VERSION);
+        header.putLong(System.currentTimeMillis());
+        header.putInt(courses.size());
+        header.putInt(students.size());
+        header.putInt((int) courseIndexOffset);
+        header.putInt((int) studentIndexOffset);
+        header.putInt((int) dataOffset);
+        header.putInt((int) length);
+        header.putInt((int) crc.getValue());
+        CRC32 headerCrc = new CRC32();
+        headerCrc.update(header.array(), 0, StateImage.HEADER_CRC_OFFSET);
+        header.putInt((int) headerCrc.getValue());
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            out.write(header.array());
+            out.write(body.array(), 0, body.position());
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return length;
+    }
+
+    private static void rejectDuplicates(List<Entry> entries, String kind) {
+        for (int i = 1; i < entries.size(); i++) {
+            if (Arrays.equals(entries.get(i - 1).key, entries.get(i).key)) {
+                throw new IllegalArgumentException("Duplicate " + kind + ": "
+                        + new String(entries.get(i).key, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private interface RecordBody {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] record(RecordBody body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            body.write(out);
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory write failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = encode(value);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Value too long: " + value.length() + " characters");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] encode(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class Entry {
+        final byte[] key;
+        final byte[] record;
+
+        Entry(byte[] key, byte[] record) {
+            this.key = key;
+            this.record = record;
+        }
+    }
+}
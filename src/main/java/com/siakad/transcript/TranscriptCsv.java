@@ -0,0 +1,191 @@
+package com.siakad.transcript;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapter CSV untuk migrasi data transkrip lama ke format biner dan sebaliknya.
+ *
+ * Format CSV: header {@value #HEADER}, lalu satu baris per nilai. Baris milik
+ * mahasiswa yang sama harus berurutan; setiap pergantian id mahasiswa memulai
+ * record baru. Mahasiswa tanpa nilai tidak punya baris di CSV.
+ *
+ * Quoting mengikuti RFC 4180: field yang berisi koma, tanda kutip atau baris
+ * baru ditulis di antara tanda kutip dengan kutip di dalamnya digandakan, dan
+ * field seperti itu dibaca kembali apa adanya (tanpa trim).
+ */
+public final class TranscriptCsv {
+
+    public static final String HEADER = "student_id,course_code,credits,grade_point";
+
+    private TranscriptCsv() {
+    }
+
+    /**
+     * Membaca CSV baris per baris dan menuliskannya ke {@code writer}.
+     *
+     * @return jumlah baris nilai yang diimpor
+     */
+    public static long importCsv(Reader csv, TranscriptWriter writer) throws IOException {
+        BufferedReader reader = csv instanceof BufferedReader ? (BufferedReader) csv : new BufferedReader(csv);
+        String line = reader.readLine();
+        if (line == null) {
+            return 0;
+        }
+        if (!line.trim().equals(HEADER)) {
+            throw new IOException("Unexpected CSV header: " + line);
+        }
+        String currentStudent = null;
+        long rows = 0;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            int rowStart = lineNumber;
+            List<String> fields = new ArrayList<>(4);
+            // Field ber-quote boleh berisi baris baru; baca baris berikutnya sampai quote tertutup
+            while (!parseRow(line, fields)) {
+                String next = reader.readLine();
+                if (next == null) {
+                    throw new IOException("Unterminated quoted field at line " + rowStart);
+                }
+                lineNumber++;
+                line = line + "\n" + next;
+                fields.clear();
+            }
+            if (fields.size() != 4) {
+                throw new IOException("Invalid CSV row at line " + rowStart + ": " + line);
+            }
+            String studentId = fields.get(0);
+            if (!studentId.equals(currentStudent)) {
+                if (currentStudent != null) {
+                    writer.endStudent();
+                }
+                writer.beginStudent(studentId);
+                currentStudent = studentId;
+            }
+            try {
+                writer.addGrade(fields.get(1), Integer.parseInt(fields.get(2).trim()),
+                        Double.parseDouble(fields.get(3).trim()));
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid number at line " + rowStart + ": " + line, e);
+            }
+            rows++;
+        }
+        if (currentStudent != null) {
+            writer.endStudent();
+        }
+        return rows;
+    }
+
+    /**
+     * Menulis seluruh isi {@code reader} (mulai dari posisinya saat ini) sebagai CSV.
+     * Grade point ditulis dengan {@link Double#toString(double)} agar bisa dibaca ulang tanpa kehilangan presisi.
+     *
+     * @return jumlah baris nilai yang diekspor
+     */
+    public static long exportCsv(TranscriptReader reader, Writer csv) throws IOException {
+        csv.write(HEADER);
+        csv.write('\n');
+        long rows = 0;
+        StringBuilder line = new StringBuilder(64);
+        while (reader.nextStudent()) {
+            String studentId = reader.studentId();
+            while (reader.nextGrade()) {
+                line.setLength(0);
+                appendField(line, studentId).append(',');
+                appendField(line, reader.courseCode()).append(',')
+                        .append(reader.credits()).append(',')
+                        .append(reader.gradePoint()).append('\n');
+                csv.append(line);
+                rows++;
+            }
+        }
+        csv.flush();
+        return rows;
+    }
+
+    /**
+     * Memecah satu baris CSV ke {@code fields}. Field tanpa quote di-trim seperti
+     * format lama; field ber-quote dipertahankan apa adanya.
+     *
+     * @return false jika baris berakhir di dalam field ber-quote
+     */
+    static boolean parseRow(String line, List<String> fields) throws IOException {
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        int length = line.length();
+        while (true) {
+            // Spasi sebelum quote pembuka diabaikan
+            int start = i;
+            while (i < length && line.charAt(i) == ' ') {
+                i++;
+            }
+            if (i < length && line.charAt(i) == '"') {
+                i++;
+                field.setLength(0);
+                while (true) {
+                    if (i >= length) {
+                        return false;
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < length && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                while (i < length && line.charAt(i) == ' ') {
+                    i++;
+                }
+                if (i < length && line.charAt(i) != ',') {
+                    throw new IOException("Unexpected character after quoted field: " + line);
+                }
+                fields.add(field.toString());
+            } else {
+                int comma = line.indexOf(',', start);
+                int end = comma < 0 ? length : comma;
+                String value = line.substring(start, end);
+                if (value.indexOf('"') >= 0) {
+                    throw new IOException("Unexpected quote in unquoted field: " + line);
+                }
+                fields.add(value.trim());
+                i = end;
+            }
+            if (i >= length) {
+                return true;
+            }
+            i++; // lewati koma
+        }
+    }
+
+    private static StringBuilder appendField(StringBuilder line, String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r'
+                    || (c == ' ' && (i == 0 || i == value.length() - 1));
+        }
+        if (!quote) {
+            return line.append(value);
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        return line.append('"');
+    }
+}
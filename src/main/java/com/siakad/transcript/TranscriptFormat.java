@@ -0,0 +1,26 @@
+package com.siakad.transcript;
+
+/**
+ * Konstanta format biner transkrip.
+ *
+ * File diawali header 8 byte (magic, versi, cadangan), lalu satu record per
+ * mahasiswa:
+ * <pre>
+ * int    panjang isi record (tidak termasuk field ini)
+ * short  panjang id mahasiswa, lalu byte UTF-8 id
+ * int    jumlah nilai
+ * per nilai: short panjang kode, byte UTF-8 kode, short SKS, double grade point
+ * </pre>
+ * Semua angka big-endian. Grade point disimpan sebagai bit double apa adanya
+ * sehingga GPA yang dihitung dari file identik dengan GPA dari data asal.
+ */
+final class TranscriptFormat {
+
+    static final int MAGIC = 0x534B5452;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int MAX_STRING_BYTES = Short.MAX_VALUE;
+
+    private TranscriptFormat() {
+    }
+}
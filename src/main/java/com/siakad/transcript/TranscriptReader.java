@@ -0,0 +1,258 @@
+package com.siakad.transcript;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.service.GpaFold;
+import com.siakad.service.GradeCalculator;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pembaca transkrip biner berbasis memory-mapped file, bergaya cursor.
+ *
+ * {@link #nextStudent()} pindah ke record berikutnya (nilai yang belum dibaca
+ * dilewati lewat prefix panjang), {@link #nextGrade()} pindah ke nilai
+ * berikutnya. SKS dan grade point dibaca langsung dari mapping tanpa membuat
+ * objek; kode mata kuliah baru di-decode jika {@link #courseCode()} dipanggil.
+ * File dibaca per jendela mapping sehingga ukuran file tidak dibatasi 2 GB.
+ * Record yang isinya melewati prefix panjangnya sendiri (jumlah nilai atau
+ * panjang kode yang rusak) ditolak dengan {@link IOException}.
+ *
+ * Tidak thread-safe; setiap thread memakai reader sendiri.
+ */
+public class TranscriptReader implements AutoCloseable {
+
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    private long nextRecord;
+    private long recordOffset;
+    private int recordStart = -1;
+    private int recordEnd;
+    private int gradesStart;
+    private String studentId;
+    private int gradeCount;
+    private int gradeIndex;
+    private int gradePosition;
+    private int codePosition;
+    private int codeLength;
+    private int credits;
+    private double gradePoint;
+
+    public TranscriptReader(Path file) throws IOException {
+        this(file, WINDOW_SIZE);
+    }
+
+    TranscriptReader(Path file, long windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        try {
+            if (fileSize < TranscriptFormat.HEADER_SIZE) {
+                throw new IOException("Not a transcript file: " + file);
+            }
+            map(0, TranscriptFormat.HEADER_SIZE);
+            if (window.getInt(0) != TranscriptFormat.MAGIC) {
+                throw new IOException("Not a transcript file: " + file);
+            }
+            short version = window.getShort(4);
+            if (version != TranscriptFormat.VERSION) {
+                throw new IOException("Unsupported transcript version " + version);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        nextRecord = TranscriptFormat.HEADER_SIZE;
+    }
+
+    /**
+     * Pindah ke mahasiswa berikutnya.
+     *
+     * @return false jika sudah di akhir file
+     */
+    public boolean nextStudent() throws IOException {
+        if (nextRecord >= fileSize) {
+            recordStart = -1;
+            return false;
+        }
+        int length = readLength(nextRecord);
+        long end = nextRecord + 4 + length;
+        if (end > fileSize) {
+            throw new IOException("Truncated transcript record at offset " + nextRecord);
+        }
+        if (end > windowStart + window.limit()) {
+            map(nextRecord, Math.max(windowSize, 4L + length));
+        }
+        recordOffset = nextRecord;
+        recordStart = (int) (nextRecord - windowStart) + 4;
+        recordEnd = recordStart + length;
+        nextRecord = end;
+
+        int idLength = Short.toUnsignedInt(window.getShort(recordStart));
+        gradesStart = recordStart + 6 + idLength;
+        if (gradesStart > recordEnd) {
+            throw corrupt();
+        }
+        studentId = decode(recordStart + 2, idLength);
+        gradeCount = window.getInt(recordStart + 2 + idLength);
+        // Setiap nilai paling sedikit 12 byte (panjang kode, SKS, grade point)
+        if (gradeCount < 0 || gradeCount > (recordEnd - gradesStart) / 12) {
+            throw corrupt();
+        }
+        rewindGrades();
+        return true;
+    }
+
+    public String studentId() {
+        checkStudent();
+        return studentId;
+    }
+
+    public int gradeCount() {
+        checkStudent();
+        return gradeCount;
+    }
+
+    /**
+     * Pindah ke nilai berikutnya milik mahasiswa saat ini.
+     *
+     * @return false jika nilai mahasiswa ini sudah habis
+     * @throws IOException jika nilai melewati akhir record
+     */
+    public boolean nextGrade() throws IOException {
+        checkStudent();
+        if (gradeIndex >= gradeCount) {
+            return false;
+        }
+        if (gradePosition + 2 > recordEnd) {
+            throw corrupt();
+        }
+        codeLength = Short.toUnsignedInt(window.getShort(gradePosition));
+        codePosition = gradePosition + 2;
+        int position = codePosition + codeLength;
+        if (position + 10 > recordEnd) {
+            throw corrupt();
+        }
+        credits = window.getShort(position);
+        gradePoint = window.getDouble(position + 2);
+        gradePosition = position + 10;
+        gradeIndex++;
+        return true;
+    }
+
+    public int credits() {
+        return credits;
+    }
+
+    public double gradePoint() {
+        return gradePoint;
+    }
+
+    public String courseCode() {
+        return decode(codePosition, codeLength);
+    }
+
+    /**
+     * Kembali ke nilai pertama milik mahasiswa saat ini.
+     */
+    public void rewindGrades() {
+        checkStudent();
+        gradeIndex = 0;
+        gradePosition = gradesStart;
+    }
+
+    /**
+     * GPA mahasiswa saat ini, dijumlah langsung dari mapping tanpa membuat objek.
+     * Langkahnya dari {@link GpaFold}, sehingga hasilnya identik bit per bit dengan
+     * {@link GradeCalculator#calculateGPA(List)} pada nilai yang sama.
+     *
+     * @throws IllegalArgumentException jika ada grade point di luar 0-4
+     * @throws IOException jika record mahasiswa ini rusak
+     */
+    public double calculateGPA() throws IOException {
+        rewindGrades();
+        double totalPoints = 0;
+        int totalCredits = 0;
+        try {
+            while (nextGrade()) {
+                if (!GpaFold.isValidGradePoint(gradePoint)) {
+                    throw new IllegalArgumentException("Invalid grade point: " + gradePoint);
+                }
+                totalPoints = GpaFold.addPoints(totalPoints, credits, gradePoint);
+                totalCredits += credits;
+            }
+        } finally {
+            rewindGrades();
+        }
+        return GpaFold.gpa(totalPoints, totalCredits);
+    }
+
+    /**
+     * Mengubah nilai mahasiswa saat ini menjadi list, untuk kode yang masih memakai {@link CourseGrade}.
+     */
+    public List<CourseGrade> toCourseGrades() throws IOException {
+        rewindGrades();
+        List<CourseGrade> grades = new ArrayList<>(gradeCount);
+        try {
+            while (nextGrade()) {
+                grades.add(new CourseGrade(courseCode(), credits, gradePoint));
+            }
+        } finally {
+            rewindGrades();
+        }
+        return grades;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private int readLength(long offset) throws IOException {
+        if (offset + 4 > fileSize) {
+            throw new IOException("Truncated transcript record at offset " + offset);
+        }
+        if (offset + 4 > windowStart + window.limit()) {
+            map(offset, windowSize);
+        }
+        int length = window.getInt((int) (offset - windowStart));
+        if (length < 6) {
+            throw new IOException("Corrupt transcript record at offset " + offset);
+        }
+        return length;
+    }
+
+    private IOException corrupt() {
+        return new IOException("Corrupt transcript record at offset " + recordOffset);
+    }
+
+    private void map(long start, long size) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size, fileSize - start));
+    }
+
+    private String decode(int position, int length) {
+        byte[] bytes = new byte[length];
+        window.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void checkStudent() {
+        if (recordStart < 0) {
+            throw new IllegalStateException("No current student; call nextStudent() first");
+        }
+    }
+}
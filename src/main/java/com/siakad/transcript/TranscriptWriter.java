@@ -0,0 +1,120 @@
+package com.siakad.transcript;
+
+import com.siakad.model.CourseGrade;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Penulis transkrip biner secara streaming, satu mahasiswa per record.
+ *
+ * Nilai ditampung di buffer yang dipakai ulang sampai {@link #endStudent()},
+ * lalu ditulis bersama panjangnya. Memori yang dipakai hanya sebesar transkrip
+ * satu mahasiswa, berapa pun ukuran file.
+ */
+public class TranscriptWriter implements AutoCloseable {
+
+    private final DataOutputStream out;
+    private ByteBuffer record = ByteBuffer.allocate(4096);
+    private int gradeCountPosition = -1;
+    private int gradeCount;
+    private long studentCount;
+
+    public TranscriptWriter(Path file) throws IOException {
+        this(Files.newOutputStream(file));
+    }
+
+    public TranscriptWriter(OutputStream target) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(target, 64 * 1024));
+        out.writeInt(TranscriptFormat.MAGIC);
+        out.writeShort(TranscriptFormat.VERSION);
+        out.writeShort(0);
+    }
+
+    /**
+     * Memulai record baru. Record sebelumnya harus sudah ditutup dengan {@link #endStudent()}.
+     */
+    public void beginStudent(String studentId) {
+        if (gradeCountPosition >= 0) {
+            throw new IllegalStateException("Previous student record is still open");
+        }
+        record.clear();
+        putString(studentId);
+        ensureCapacity(4);
+        gradeCountPosition = record.position();
+        record.putInt(0);
+        gradeCount = 0;
+    }
+
+    public void addGrade(String courseCode, int credits, double gradePoint) {
+        if (gradeCountPosition < 0) {
+            throw new IllegalStateException("No open student record");
+        }
+        if (credits < 0 || credits > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid credits: " + credits);
+        }
+        putString(courseCode);
+        ensureCapacity(10);
+        record.putShort((short) credits);
+        record.putDouble(gradePoint);
+        gradeCount++;
+    }
+
+    public void endStudent() throws IOException {
+        if (gradeCountPosition < 0) {
+            throw new IllegalStateException("No open student record");
+        }
+        record.putInt(gradeCountPosition, gradeCount);
+        out.writeInt(record.position());
+        out.write(record.array(), 0, record.position());
+        gradeCountPosition = -1;
+        studentCount++;
+    }
+
+    public void writeStudent(String studentId, List<CourseGrade> grades) throws IOException {
+        beginStudent(studentId);
+        for (CourseGrade grade : grades) {
+            addGrade(grade.getCourseCode(), grade.getCredits(), grade.getGradePoint());
+        }
+        endStudent();
+    }
+
+    public long getStudentCount() {
+        return studentCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (gradeCountPosition >= 0) {
+            out.close();
+            throw new IllegalStateException("Student record was not ended");
+        }
+        out.close();
+    }
+
+    private void putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > TranscriptFormat.MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Value too long: " + value.length() + " characters");
+        }
+        ensureCapacity(2 + bytes.length);
+        record.putShort((short) bytes.length);
+        record.put(bytes);
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (record.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(record.capacity() * 2, record.position() + bytes));
+            record.flip();
+            larger.put(record);
+            record = larger;
+        }
+    }
+}
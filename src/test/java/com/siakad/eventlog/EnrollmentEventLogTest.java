@@ -0,0 +1,218 @@
+package com.siakad.eventlog;
+
+import com.siakad.model.Course;
+import com.siakad.repository.CourseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentEventLogTest {
+
+    private static final int REGION_SIZE = 64 * 1024;
+
+    private Path logFile;
+    private Path snapshotFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path directory = Files.createTempDirectory("enrollment-log");
+        logFile = directory.resolve("enrollment.log");
+        snapshotFile = directory.resolve("enrollment.snapshot");
+    }
+
+    private EnrollmentEventLog open(boolean durable) throws IOException {
+        return new EnrollmentEventLog(logFile, snapshotFile, REGION_SIZE, 0, durable, 1);
+    }
+
+    @Test
+    @DisplayName("Replay membangun ulang jumlah terdaftar dan enrollment per mahasiswa")
+    void testReplay_RebuildsState() throws IOException {
+        try (EnrollmentEventLog log = open(true)) {
+            log.append(EnrollmentEventType.ENROLL, "S001", "CS101");
+            log.append(EnrollmentEventType.ENROLL, "S002", "CS101");
+            log.append(EnrollmentEventType.ENROLL, "S001", "MA101");
+            log.append(EnrollmentEventType.DROP, "S002", "CS101");
+        }
+
+        EnrollmentState state = EnrollmentEventLog.replay(logFile, snapshotFile);
+
+        assertEquals(1, state.getEnrolledCount("CS101"));
+        assertEquals(1, state.getEnrolledCount("MA101"));
+        assertEquals(Set.of("CS101", "MA101"), state.getEnrollments("S001"));
+        assertTrue(state.getEnrollments("S002").isEmpty());
+        assertEquals(4, state.getLastSequence());
+    }
+
+    @Test
+    @DisplayName("Log yang dibuka ulang melanjutkan nomor urut dan data lama")
+    void testReopen_ContinuesSequence() throws IOException {
+        try (EnrollmentEventLog log = open(false)) {
+            log.append(EnrollmentEventType.ENROLL, "S001", "CS101");
+        }
+        try (EnrollmentEventLog log = open(false)) {
+            assertEquals(2, log.append(EnrollmentEventType.ENROLL, "S002", "CS101"));
+        }
+
+        assertEquals(2, EnrollmentEventLog.replay(logFile, snapshotFile).getEnrolledCount("CS101"));
+    }
+
+    @Test
+    @DisplayName("Snapshot ditambah sisa log menghasilkan keadaan yang sama dengan replay penuh")
+    void testSnapshot_ReplayMatchesFullReplay() throws IOException {
+        int events = 200_000;
+        try (EnrollmentEventLog log = open(false)) {
+            for (int i = 0; i < events; i++) {
+                String course = "C" + (i % 97);
+                log.append(i % 5 == 4 ? EnrollmentEventType.DROP : EnrollmentEventType.ENROLL, "S" + (i % 5_000), course);
+                if (i == events / 2) {
+                    log.writeSnapshot();
+                }
+            }
+        }
+        assertTrue(Files.size(logFile) > REGION_SIZE, "Log harus melewati beberapa region");
+
+        EnrollmentState fromSnapshot = EnrollmentEventLog.replay(logFile, snapshotFile);
+        EnrollmentState full = EnrollmentEventLog.replay(logFile, null);
+
+        assertEquals(full.getOccupancy(), fromSnapshot.getOccupancy());
+        assertEquals(full.getLastSequence(), fromSnapshot.getLastSequence());
+        assertEquals(full.getEnrollments("S42"), fromSnapshot.getEnrollments("S42"));
+        assertEquals(events, full.getLastSequence());
+    }
+
+    @Test
+    @DisplayName("Record terakhir yang rusak diabaikan dan ditimpa saat log dibuka ulang")
+    void testRecover_TornTail() throws IOException {
+        try (EnrollmentEventLog log = open(true)) {
+            log.append(EnrollmentEventType.ENROLL, "S001", "CS101");
+            log.append(EnrollmentEventType.ENROLL, "S002", "CS101");
+        }
+        // Rusak satu byte di isi record kedua
+        long secondRecordBody = 16 + 8 + (21 + 4 + 5) + 8 + 1;
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0x7F}), secondRecordBody);
+        }
+
+        assertEquals(1, EnrollmentEventLog.replay(logFile, null).getEnrolledCount("CS101"));
+
+        try (EnrollmentEventLog log = open(true)) {
+            assertEquals(2, log.append(EnrollmentEventType.ENROLL, "S003", "CS101"));
+        }
+        EnrollmentState state = EnrollmentEventLog.replay(logFile, null);
+        assertEquals(2, state.getEnrolledCount("CS101"));
+        assertTrue(state.getEnrollments("S002").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Hasil replay bisa diterapkan ke CourseRepository saat startup")
+    void testApplyTo_CourseRepository() throws IOException {
+        try (EnrollmentEventLog log = open(false)) {
+            log.append(EnrollmentEventType.ENROLL, "S001", "CS101");
+            log.append(EnrollmentEventType.ENROLL, "S002", "CS101");
+        }
+        Map<String, Course> courses = new HashMap<>();
+        Course course = new Course();
+        course.setCourseCode("CS101");
+        courses.put("CS101", course);
+        CourseRepository repository = new CourseRepository() {
+            @Override public Course findByCourseCode(String courseCode) { return courses.get(courseCode); }
+            @Override public void save(Course c) {}
+            @Override public void update(Course c) { courses.put(c.getCourseCode(), c); }
+            @Override public boolean isPrerequisiteMet(String studentId, String courseCode) { return true; }
+        };
+
+        EnrollmentEventLog.replay(logFile, null).applyTo(repository);
+
+        assertEquals(2, courses.get("CS101").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Baseline jumlah terdaftar yang sudah ada ikut di-replay dan hanya bisa ditulis ke log kosong")
+    void testBaseline_ReplayStartsFromExistingCounts() throws IOException {
+        try (EnrollmentEventLog log = open(true)) {
+            assertTrue(log.isEmpty());
+            log.writeBaseline(Map.of("CS101", 30, "MA101", 0));
+            assertFalse(log.isEmpty());
+            assertThrows(IllegalStateException.class, () -> log.writeBaseline(Map.of("CS101", 30)));
+
+            log.append(EnrollmentEventType.DROP, "S001", "CS101");
+            log.append(EnrollmentEventType.ENROLL, "S002", "CS101");
+            log.append(EnrollmentEventType.ENROLL, "S003", "CS101");
+            log.append(EnrollmentEventType.DROP, "S004", "MA101");
+        }
+
+        EnrollmentState state = EnrollmentEventLog.replay(logFile, snapshotFile);
+
+        assertEquals(31, state.getEnrolledCount("CS101"));
+        assertEquals(0, state.getEnrolledCount("MA101"));
+        assertEquals(Set.of("CS101"), state.getEnrollments("S002"));
+
+        Path noSnapshot = logFile.resolveSibling("other.log");
+        try (EnrollmentEventLog log = new EnrollmentEventLog(noSnapshot, null, REGION_SIZE, 0, false, 1)) {
+            assertThrows(IllegalStateException.class, () -> log.writeBaseline(Map.of("CS101", 30)));
+        }
+    }
+
+    @Test
+    @DisplayName("Append durable dari banyak thread tetap selesai saat snapshot otomatis aktif")
+    void testDurableAppend_WithAutomaticSnapshot() throws Exception {
+        int threads = 4;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (EnrollmentEventLog log = new EnrollmentEventLog(logFile, snapshotFile, REGION_SIZE, 50, true, 1)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String studentPrefix = "T" + t + "-";
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        long sequence = log.append(EnrollmentEventType.ENROLL, studentPrefix + i, "CS101");
+                        assertTrue(log.getDurableSequence() >= sequence);
+                    }
+                }));
+            }
+            // Timeout berarti append durable macet menunggu snapshot
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(Files.exists(snapshotFile));
+        EnrollmentState state = EnrollmentEventLog.replay(logFile, snapshotFile);
+        assertEquals(threads * perThread, state.getEnrolledCount("CS101"));
+        assertEquals(threads * perThread, state.getLastSequence());
+    }
+
+    @Test
+    @DisplayName("Record yang ditulis tanpa menunggu tersimpan setelah commit")
+    void testAppendDeferred_CommitMakesDurable() throws IOException {
+        try (EnrollmentEventLog log = open(true)) {
+            long first = log.appendDeferred(EnrollmentEventType.ENROLL, "S001", "CS101");
+            long second = log.appendDeferred(EnrollmentEventType.ENROLL, "S002", "CS101");
+            log.commit(second);
+
+            assertEquals(first + 1, second);
+            assertTrue(log.getDurableSequence() >= second);
+        }
+        assertEquals(2, EnrollmentEventLog.replay(logFile, null).getEnrolledCount("CS101"));
+    }
+}
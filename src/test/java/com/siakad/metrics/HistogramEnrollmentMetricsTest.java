@@ -0,0 +1,90 @@
+package com.siakad.metrics;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.exception.StudentNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramEnrollmentMetricsTest {
+
+    private HistogramEnrollmentMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new HistogramEnrollmentMetrics();
+    }
+
+    @Test
+    @DisplayName("Indeks bucket histogram monoton dan batas atas bucket mencakup nilainya")
+    void testBucketBoundaries() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 100, 1_000, 65_537, 1_000_000_007L, Long.MAX_VALUE};
+        int previous = -1;
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(index >= previous, "Indeks harus monoton untuk " + value);
+            long highest = LatencyHistogram.highestValueAt(index);
+            assertTrue(highest >= value, "Batas atas bucket untuk " + value);
+            assertTrue(highest - value <= value / 32, "Kesalahan relatif maksimal 1/32 untuk " + value);
+            previous = index;
+        }
+    }
+
+    @Test
+    @DisplayName("Persentil histogram mendekati nilai sebenarnya")
+    void testPercentiles() {
+        LatencyHistogram histogram = metrics.getHistogram(EnrollmentMetrics.Stage.STUDENT_LOOKUP);
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 100);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(500_050_000 * 10L, histogram.getSum());
+        assertEquals(500_000, histogram.valueAtPercentile(50), 500_000 / 32.0);
+        assertEquals(990_000, histogram.valueAtPercentile(99), 990_000 / 32.0);
+        assertEquals(1_000_000, histogram.valueAtPercentile(100), 1_000_000 / 32.0);
+    }
+
+    @Test
+    @DisplayName("Kegagalan dihitung per jenis exception")
+    void testFailureCounters() {
+        metrics.recordFailure(new CourseFullException("Course is full"));
+        metrics.recordFailure(new CourseFullException("Course is full"));
+        metrics.recordFailure(new StudentNotFoundException("Student not found: S999"));
+
+        assertEquals(2, metrics.getFailureCount(CourseFullException.class));
+        assertEquals(1, metrics.getFailureCount(StudentNotFoundException.class));
+        assertEquals(0, metrics.getFailureCount(CourseNotFoundException.class));
+    }
+
+    @Test
+    @DisplayName("Gauge kontensi mencatat request berjalan dan puncaknya")
+    void testContentionGauge() {
+        metrics.courseEntered("CS101");
+        metrics.courseEntered("CS101");
+        metrics.courseExited("CS101");
+
+        assertEquals(1, metrics.getInFlight("CS101"));
+        assertEquals(2, metrics.getPeakInFlight("CS101"));
+        assertEquals(0, metrics.getInFlight("CS999"));
+    }
+
+    @Test
+    @DisplayName("Ekspor Prometheus memuat summary, counter dan gauge")
+    void testPrometheusExport() {
+        metrics.recordStage(EnrollmentMetrics.Stage.COURSE_UPDATE, 2_000);
+        metrics.recordFailure(new CourseFullException("Course is full"));
+        metrics.courseEntered("CS101");
+
+        String text = new PrometheusExporter(metrics).scrape();
+
+        assertTrue(text.contains("# TYPE siakad_enrollment_stage_seconds summary\n"));
+        assertTrue(text.contains("siakad_enrollment_stage_seconds_count{stage=\"course_update\"} 1\n"));
+        assertTrue(text.contains("siakad_enrollment_stage_seconds_sum{stage=\"course_update\"} 2.0E-6\n"));
+        assertTrue(text.contains("siakad_enrollment_failures_total{exception=\"CourseFullException\"} 1\n"));
+        assertTrue(text.contains("siakad_enrollment_in_flight{course=\"CS101\"} 1\n"));
+        assertTrue(text.contains("siakad_enrollment_in_flight_peak{course=\"CS101\"} 1\n"));
+    }
+}
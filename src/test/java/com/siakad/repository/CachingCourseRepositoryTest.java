@@ -0,0 +1,187 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk CachingCourseRepository menggunakan stub repository dan jam manual
+ */
+class CachingCourseRepositoryTest {
+
+    private static final long TTL = 1_000;
+    private static final long NEGATIVE_TTL = 100;
+
+    private CourseRepositoryStub delegate;
+    private long now;
+    private CachingCourseRepository cache;
+
+    static class CourseRepositoryStub implements CourseRepository {
+        final Map<String, Course> courses = new HashMap<>();
+        int lookups;
+        Runnable duringLoad = () -> {};
+
+        @Override
+        public Course findByCourseCode(String courseCode) {
+            lookups++;
+            duringLoad.run();
+            return courses.get(courseCode);
+        }
+
+        @Override public void save(Course course) { courses.put(course.getCourseCode(), course); }
+        @Override public void update(Course course) { courses.put(course.getCourseCode(), course); }
+        @Override public boolean isPrerequisiteMet(String studentId, String courseCode) { return true; }
+    }
+
+    private static Course course(String code, int enrolled) {
+        Course course = new Course();
+        course.setCourseCode(code);
+        course.setCourseName("Mata Kuliah " + code);
+        course.setCapacity(40);
+        course.setEnrolledCount(enrolled);
+        return course;
+    }
+
+    @BeforeEach
+    void setUp() {
+        delegate = new CourseRepositoryStub();
+        delegate.save(course("IF101", 10));
+        delegate.save(course("IF102", 5));
+        delegate.save(course("IF103", 0));
+        now = 0;
+        cache = new CachingCourseRepository(delegate, 2, TTL, NEGATIVE_TTL, () -> now);
+    }
+
+    @Test
+    @DisplayName("Lookup kedua dilayani dari cache")
+    void testFindByCourseCode_CacheHit() {
+        cache.findByCourseCode("IF101");
+        cache.findByCourseCode("IF101");
+
+        assertEquals(1, delegate.lookups);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Kode tidak dikenal di-cache sampai TTL negatif habis")
+    void testFindByCourseCode_NegativeCaching() {
+        assertNull(cache.findByCourseCode("XX999"));
+        assertNull(cache.findByCourseCode("XX999"));
+        assertEquals(1, delegate.lookups);
+        assertEquals(1, cache.getNegativeHitCount());
+
+        now += NEGATIVE_TTL;
+        assertNull(cache.findByCourseCode("XX999"));
+        assertEquals(2, delegate.lookups);
+    }
+
+    @Test
+    @DisplayName("Entry kedaluwarsa dimuat ulang setelah TTL")
+    void testFindByCourseCode_Expires() {
+        cache.findByCourseCode("IF101");
+        now += TTL;
+        cache.findByCourseCode("IF101");
+
+        assertEquals(2, delegate.lookups);
+    }
+
+    @Test
+    @DisplayName("Entry paling lama tidak dipakai dikeluarkan saat cache penuh")
+    void testFindByCourseCode_LruEviction() {
+        cache.findByCourseCode("IF101");
+        cache.findByCourseCode("IF102");
+        cache.findByCourseCode("IF101");
+        cache.findByCourseCode("IF103");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+
+        // IF101 baru saja dipakai, jadi IF102 yang dikeluarkan
+        cache.findByCourseCode("IF101");
+        assertEquals(3, delegate.lookups);
+        cache.findByCourseCode("IF102");
+        assertEquals(4, delegate.lookups);
+    }
+
+    @Test
+    @DisplayName("Update menyegarkan cache sehingga jumlah terdaftar tetap benar")
+    void testUpdate_WriteThrough() {
+        cache.findByCourseCode("IF101");
+
+        Course updated = course("IF101", 11);
+        cache.update(updated);
+
+        assertSame(updated, delegate.courses.get("IF101"));
+        assertEquals(11, cache.findByCourseCode("IF101").getEnrolledCount());
+        assertEquals(1, delegate.lookups);
+    }
+
+    @Test
+    @DisplayName("Save menggantikan entry negatif")
+    void testSave_ReplacesNegativeEntry() {
+        assertNull(cache.findByCourseCode("IF201"));
+
+        cache.save(course("IF201", 0));
+
+        assertNotNull(cache.findByCourseCode("IF201"));
+    }
+
+    @Test
+    @DisplayName("Update kode lain selama loading tidak membuang hasil loading")
+    void testFindByCourseCode_UnrelatedWriteDuringLoad() {
+        delegate.duringLoad = () -> {
+            delegate.duringLoad = () -> {};
+            cache.update(course("IF102", 6));
+        };
+        cache.findByCourseCode("IF101");
+        cache.findByCourseCode("IF101");
+
+        assertEquals(1, delegate.lookups);
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    @DisplayName("Update kode yang sama selama loading tidak ditimpa hasil loading lama")
+    void testFindByCourseCode_SameKeyWriteDuringLoad() {
+        delegate.duringLoad = () -> {
+            delegate.duringLoad = () -> {};
+            cache.update(course("IF101", 12));
+        };
+        cache.findByCourseCode("IF101");
+
+        assertEquals(12, cache.findByCourseCode("IF101").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Cache hit tidak menunggu lock yang dipegang miss atau install lain")
+    void testFindByCourseCode_HitWithoutLock() throws InterruptedException {
+        cache.findByCourseCode("IF101");
+        Course[] found = new Course[1];
+        Thread reader = new Thread(() -> found[0] = cache.findByCourseCode("IF101"));
+        synchronized (cache) {
+            reader.start();
+            reader.join(5_000);
+            assertFalse(reader.isAlive(), "Hit tidak boleh terblokir");
+        }
+        assertEquals(10, found[0].getEnrolledCount());
+        assertEquals(1, delegate.lookups);
+    }
+
+    @Test
+    @DisplayName("Perubahan pada objek hasil lookup tidak mengubah isi cache")
+    void testFindByCourseCode_ReturnsCopies() {
+        Course first = cache.findByCourseCode("IF101");
+        first.setEnrolledCount(39);
+
+        Course second = cache.findByCourseCode("IF101");
+        assertFalse(first == second);
+        assertEquals(10, second.getEnrolledCount());
+    }
+}
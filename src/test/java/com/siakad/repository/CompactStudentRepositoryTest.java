@@ -0,0 +1,145 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk CompactStudentRepository
+ */
+class CompactStudentRepositoryTest {
+
+    private CompactStudentRepository repository;
+
+    static class CourseRepositoryStub implements CourseRepository {
+        final Map<String, Course> courses = new HashMap<>();
+
+        CourseRepositoryStub() {
+            Course course = new Course();
+            course.setCourseCode("IF101");
+            course.setCourseName("Pemrograman Dasar");
+            courses.put("IF101", course);
+        }
+
+        @Override public Course findByCourseCode(String courseCode) { return courses.get(courseCode); }
+        @Override public void save(Course course) {}
+        @Override public void update(Course course) {}
+        @Override public boolean isPrerequisiteMet(String studentId, String courseCode) { return true; }
+    }
+
+    @BeforeEach
+    void setUp() {
+        repository = new CompactStudentRepository(new CourseRepositoryStub(), 4);
+    }
+
+    @Test
+    @DisplayName("Data mahasiswa yang disimpan bisa dibaca kembali utuh")
+    void testSaveAndFindById() {
+        repository.save(new Student("S001", "Park Sungho", "park@uni.ac.id", "Informatika", 5, 3.8, "ACTIVE"));
+
+        Student student = repository.findById("S001");
+
+        assertEquals("S001", student.getStudentId());
+        assertEquals("Park Sungho", student.getName());
+        assertEquals("park@uni.ac.id", student.getEmail());
+        assertEquals("Informatika", student.getMajor());
+        assertEquals(5, student.getSemester());
+        assertEquals(3.8, student.getGpa());
+        assertEquals("ACTIVE", student.getAcademicStatus());
+        assertNull(repository.findById("S999"));
+    }
+
+    @Test
+    @DisplayName("Update menimpa data lama tanpa menambah mahasiswa")
+    void testUpdate() {
+        repository.save(new Student("S002", "Lee Sanghyeok", "lee@uni.ac.id", "Informatika", 4, 2.6, "ACTIVE"));
+        repository.update(new Student("S002", "Lee Sanghyeok", "lee@uni.ac.id", "Informatika", 5, 1.9, "PROBATION"));
+
+        Student student = repository.findById("S002");
+        assertEquals(5, student.getSemester());
+        assertEquals("PROBATION", student.getAcademicStatus());
+        assertEquals(1, repository.size());
+    }
+
+    @Test
+    @DisplayName("Delete menghapus mahasiswa dan baris bisa dipakai lagi")
+    void testDelete() {
+        repository.save(new Student("S003", "Myung Jaehyun", "jaehyun@uni.ac.id", "Sistem Informasi", 4, 2.3, "ACTIVE"));
+        repository.delete("S003");
+        assertNull(repository.findById("S003"));
+        assertEquals(0, repository.size());
+
+        repository.save(new Student("S004", "Han Taesan", "taesan@uni.ac.id", "Informatika", 3, 1.9, "SUSPENDED"));
+        assertEquals("SUSPENDED", repository.findById("S004").getAcademicStatus());
+    }
+
+    @Test
+    @DisplayName("Banyak mahasiswa tetap bisa ditemukan setelah tabel tumbuh dan ada penghapusan")
+    void testManyStudents() {
+        int count = 50_000;
+        for (int i = 0; i < count; i++) {
+            repository.save(new Student("S" + i, "Mhs " + i, null, "Jurusan " + (i % 20), 1 + i % 8,
+                    (i % 401) / 100.0, i % 3 == 0 ? "PROBATION" : "ACTIVE"));
+        }
+        for (int i = 0; i < count; i += 2) {
+            repository.delete("S" + i);
+        }
+
+        assertEquals(count / 2, repository.size());
+        for (int i = 0; i < count; i++) {
+            Student student = repository.findById("S" + i);
+            if (i % 2 == 0) {
+                assertNull(student);
+            } else {
+                assertEquals("Jurusan " + (i % 20), student.getMajor());
+                assertEquals((i % 401) / 100.0, student.getGpa());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Mata kuliah yang sudah diselesaikan diambil dari katalog")
+    void testGetCompletedCourses() {
+        repository.save(new Student("S001", "Park Sungho", "park@uni.ac.id", "Informatika", 5, 3.8, "ACTIVE"));
+        repository.setCompletedCourses("S001", List.of("IF101", "MA101"));
+
+        List<Course> courses = repository.getCompletedCourses("S001");
+
+        assertEquals(2, courses.size());
+        assertEquals("Pemrograman Dasar", courses.get(0).getCourseName());
+        assertEquals("MA101", courses.get(1).getCourseCode());
+        assertTrue(repository.getCompletedCourses("S999").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Status akademik di luar AcademicStatus tetap disimpan apa adanya")
+    void testSave_UnknownStatus() {
+        repository.save(new Student("S005", "X", "x@uni.ac.id", "Informatika", 1, 3.0, "GRADUATED"));
+        repository.save(new Student("S006", "Y", "y@uni.ac.id", "Informatika", 1, 3.0, null));
+
+        assertEquals("GRADUATED", repository.findById("S005").getAcademicStatus());
+        assertNull(repository.findById("S006").getAcademicStatus());
+    }
+
+    @Test
+    @DisplayName("Jurusan melebihi batas kamus ditolak tanpa meninggalkan baris setengah jadi")
+    void testSave_TooManyMajors() {
+        for (int i = 0; i < 0xFFFF; i++) {
+            repository.save(new Student("M" + i, "M", "m@uni.ac.id", "Jurusan " + i, 1, 3.0, "ACTIVE"));
+        }
+        int size = repository.size();
+
+        assertThrows(IllegalStateException.class, () -> repository.save(
+                new Student("S900", "X", "x@uni.ac.id", "Jurusan Baru", 1, 3.0, "ACTIVE")));
+        assertNull(repository.findById("S900"));
+        assertEquals(size, repository.size());
+    }
+}
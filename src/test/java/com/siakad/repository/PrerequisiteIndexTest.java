@@ -0,0 +1,101 @@
+package com.siakad.repository;
+
+import com.siakad.exception.PrerequisiteNotMetException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk PrerequisiteIndex
+ */
+class PrerequisiteIndexTest {
+
+    private PrerequisiteIndex index;
+
+    // Stub: S001 sudah lulus IF101 dan MA101
+    static class StudentRepositoryStub implements StudentRepository {
+        int completedLookups;
+
+        @Override public Student findById(String studentId) { return null; }
+        @Override public void save(Student student) {}
+        @Override public void update(Student student) {}
+        @Override public void delete(String studentId) {}
+
+        @Override
+        public List<Course> getCompletedCourses(String studentId) {
+            completedLookups++;
+            if (!"S001".equals(studentId)) return List.of();
+            Course c1 = new Course();
+            c1.setCourseCode("IF101");
+            Course c2 = new Course();
+            c2.setCourseCode("MA101");
+            return List.of(c1, c2);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = new PrerequisiteIndex(new StudentRepositoryStub());
+        // IF201 butuh IF101 DAN (MA101 ATAU MA102)
+        index.defineRule("IF201", List.of(List.of("IF101"), List.of("MA101", "MA102")));
+        // IF301 butuh IF201
+        index.defineRule("IF301", List.of(List.of("IF201")));
+    }
+
+    @Test
+    @DisplayName("Mata kuliah tanpa aturan selalu terpenuhi")
+    void testIsPrerequisiteMet_NoRule() {
+        assertTrue(index.isPrerequisiteMet("S002", "IF101"));
+    }
+
+    @Test
+    @DisplayName("Aturan AND/OR dievaluasi dari data yang dimuat lewat StudentRepository")
+    void testIsPrerequisiteMet_AndOrChain() {
+        assertTrue(index.isPrerequisiteMet("S001", "IF201"));
+        assertFalse(index.isPrerequisiteMet("S001", "IF301"));
+        assertFalse(index.isPrerequisiteMet("S002", "IF201"));
+    }
+
+    @Test
+    @DisplayName("Nilai yang baru diumumkan langsung memperbarui indeks")
+    void testRecordCompletion_Incremental() {
+        assertFalse(index.isPrerequisiteMet("S002", "IF201"));
+
+        index.recordCompletion("S002", "IF101");
+        assertFalse(index.isPrerequisiteMet("S002", "IF201"));
+
+        index.recordCompletion("S002", "MA102");
+        assertTrue(index.isPrerequisiteMet("S002", "IF201"));
+    }
+
+    @Test
+    @DisplayName("Exception menyebutkan prasyarat yang belum dipenuhi")
+    void testCheckPrerequisites_ExplainsMissing() {
+        index.loadStudent("S003", List.of("MA102"));
+
+        assertEquals(List.of(List.of("IF101")), index.missingPrerequisites("S003", "IF201"));
+
+        PrerequisiteNotMetException exception = assertThrows(PrerequisiteNotMetException.class,
+                () -> index.checkPrerequisites("S004", "IF201"));
+        assertTrue(exception.getMessage().contains("IF101 and MA101 or MA102"));
+    }
+
+    @Test
+    @DisplayName("Id mata kuliah lebih dari 64 tetap terindeks dengan benar")
+    void testIsPrerequisiteMet_ManyCourses() {
+        for (int i = 0; i < 200; i++) {
+            index.courseId("EL" + i);
+        }
+        index.defineRule("EL-CAPSTONE", List.of(List.of("EL150"), List.of("EL3", "EL199")));
+        index.loadStudent("S005", List.of("EL150", "EL199"));
+
+        assertTrue(index.isPrerequisiteMet("S005", "EL-CAPSTONE"));
+        assertFalse(index.isPrerequisiteMet("S001", "EL-CAPSTONE"));
+    }
+}
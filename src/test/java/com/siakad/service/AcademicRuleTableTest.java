@@ -0,0 +1,117 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AcademicRuleTableTest {
+
+    private static final int[] SEMESTERS = {1, 2, 3, 4, 5, 6, 8, 14, Integer.MAX_VALUE};
+
+    private final GradeCalculator gradeCalculator = new GradeCalculator();
+    private final AcademicRuleTable table = AcademicRuleTable.defaults();
+
+    // Pengganti verifikasi menyeluruh atas semua nilai double. Kedua implementasi
+    // adalah fungsi tangga dari GPA yang hanya berubah di ambang, dan semua ambang
+    // adalah batas bawah bucket k / 100.0. Di dalam satu bucket
+    // [k/100, (k+1)/100) hasilnya konstan di kedua sisi, jadi cukup
+    // memeriksa setiap bucket pada batas bawahnya, satu titik di dalamnya, dan
+    // double tepat di sebelah kedua batasnya (tempat pembulatan gpa * 100
+    // bisa meleset).
+    @Test
+    @DisplayName("Tabel default identik dengan GradeCalculator di setiap bucket 0.01: batas, tetangga dan titik tengah")
+    void testDefaults_MatchGradeCalculatorAtBoundaries() {
+        for (int k = 0; k <= 400; k++) {
+            double gpa = k / 100.0;
+            assertSameRules(gpa);
+            assertSameRules(Math.nextUp(gpa));
+            assertSameRules(Math.nextDown(gpa));
+            assertSameRules((k + 0.5) / 100.0);
+        }
+        assertSameRules(-0.0);
+        assertSameRules(Double.MIN_VALUE);
+        assertSameRules(Double.NaN);
+    }
+
+    // Pemeriksaan tambahan saja; kelengkapannya berasal dari pemeriksaan per bucket di atas
+    @Test
+    @DisplayName("Tabel default identik dengan GradeCalculator untuk GPA acak")
+    void testDefaults_MatchGradeCalculatorRandom() {
+        Random random = new Random(22);
+        for (int i = 0; i < 200_000; i++) {
+            assertSameRules(random.nextDouble() * 4.0);
+        }
+    }
+
+    @Test
+    @DisplayName("GPA atau semester di luar rentang ditolak dengan pesan yang sama")
+    void testOutOfRange() {
+        IllegalArgumentException high = assertThrows(IllegalArgumentException.class,
+                () -> table.determineAcademicStatus(Math.nextUp(4.0), 3));
+        assertEquals("GPA must be between 0 and 4.0", high.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> table.calculateMaxCredits(-Double.MIN_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> table.calculateMaxCredits(Double.POSITIVE_INFINITY));
+
+        IllegalArgumentException semester = assertThrows(IllegalArgumentException.class,
+                () -> table.determineAcademicStatus(3.0, 0));
+        assertEquals("Semester must be positive", semester.getMessage());
+    }
+
+    @Test
+    @DisplayName("Ambang dapat dimuat dari Properties")
+    void testFromProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("semester.bands", "4");
+        properties.setProperty("status.active", "2.0,2.75");
+        properties.setProperty("status.probation", "1.5,2.0");
+        properties.setProperty("credits.thresholds", "3.5,2.0");
+        properties.setProperty("credits.caps", "24,20,12");
+
+        RuleTableGradeCalculator calculator = new RuleTableGradeCalculator(
+                AcademicRuleTable.fromProperties(properties));
+
+        assertEquals("PROBATION", calculator.determineAcademicStatus(1.5, 4));
+        assertEquals("SUSPENDED", calculator.determineAcademicStatus(1.49, 1));
+        assertEquals("PROBATION", calculator.determineAcademicStatus(2.74, 5));
+        assertEquals("ACTIVE", calculator.determineAcademicStatus(2.75, 12));
+        assertEquals(24, calculator.calculateMaxCredits(3.5));
+        assertEquals(20, calculator.calculateMaxCredits(3.49));
+        assertEquals(12, calculator.calculateMaxCredits(1.99));
+    }
+
+    @Test
+    @DisplayName("Ambang yang bukan kelipatan 0.01 atau tidak konsisten ditolak")
+    void testFromProperties_InvalidThresholds() {
+        Properties offGrid = new Properties();
+        offGrid.setProperty("credits.thresholds", "3.0,2.555,2.0");
+        assertThrows(IllegalArgumentException.class, () -> AcademicRuleTable.fromProperties(offGrid));
+
+        Properties increasing = new Properties();
+        increasing.setProperty("credits.thresholds", "2.0,2.5,3.0");
+        assertThrows(IllegalArgumentException.class, () -> AcademicRuleTable.fromProperties(increasing));
+
+        Properties missingCap = new Properties();
+        missingCap.setProperty("credits.caps", "24,21,18");
+        assertThrows(IllegalArgumentException.class, () -> AcademicRuleTable.fromProperties(missingCap));
+
+        Properties inverted = new Properties();
+        inverted.setProperty("status.probation", "0.0,2.5,2.0");
+        assertThrows(IllegalArgumentException.class, () -> AcademicRuleTable.fromProperties(inverted));
+    }
+
+    private void assertSameRules(double gpa) {
+        if (gpa < 0 || gpa > 4.0) {
+            return;
+        }
+        assertEquals(gradeCalculator.calculateMaxCredits(gpa), table.calculateMaxCredits(gpa), "GPA " + gpa);
+        for (int semester : SEMESTERS) {
+            assertEquals(gradeCalculator.determineAcademicStatus(gpa, semester),
+                    table.determineAcademicStatus(gpa, semester),
+                    "GPA " + gpa + " semester " + semester);
+        }
+    }
+}
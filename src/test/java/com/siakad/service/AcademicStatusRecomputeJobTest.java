@@ -0,0 +1,183 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AcademicStatusRecomputeJobTest {
+
+    private static final int STUDENTS = 1_000;
+
+    private StudentRepositoryStub studentRepository;
+    private List<String> studentIds;
+
+    // Stub in-memory yang aman diakses paralel
+    static class StudentRepositoryStub implements StudentRepository {
+        final Map<String, Student> students = new ConcurrentHashMap<>();
+        final AtomicInteger updates = new AtomicInteger();
+
+        @Override public Student findById(String studentId) { return students.get(studentId); }
+        @Override public void save(Student student) { students.put(student.getStudentId(), student); }
+
+        @Override
+        public void update(Student student) {
+            updates.incrementAndGet();
+            students.put(student.getStudentId(), student);
+        }
+
+        @Override public List<Course> getCompletedCourses(String studentId) { return List.of(); }
+        @Override public void delete(String studentId) { students.remove(studentId); }
+    }
+
+    // Transkrip deterministik: nilai bergantung pada nomor mahasiswa
+    private static List<CourseGrade> transcript(String studentId) {
+        int n = Integer.parseInt(studentId.substring(1));
+        List<CourseGrade> grades = new ArrayList<>();
+        grades.add(new CourseGrade("IF101", 3, (n % 5)));
+        grades.add(new CourseGrade("IF102", 3, 4.0 - (n % 3)));
+        return grades;
+    }
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new StudentRepositoryStub();
+        studentIds = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            String id = "S" + i;
+            studentIds.add(id);
+            studentRepository.save(new Student(id, "Mahasiswa " + i, id + "@uni.ac.id", "Informatika",
+                    1 + i % 8, 0.0, "ACTIVE"));
+        }
+    }
+
+    @Test
+    @DisplayName("Job paralel menghasilkan GPA dan status yang sama dengan GradeCalculator")
+    void testRun_MatchesSequentialComputation() {
+        GradeCalculator calculator = new GradeCalculator();
+        AtomicInteger standings = new AtomicInteger();
+        AcademicStatusRecomputeJob job = new AcademicStatusRecomputeJob(studentRepository, calculator,
+                AcademicStatusRecomputeJobTest::transcript, 64, 4, null);
+        job.setStandingSink(standing -> standings.incrementAndGet());
+
+        AcademicStatusRecomputeJob.Report report = job.run(studentIds);
+
+        assertEquals(STUDENTS, report.getProcessed());
+        assertEquals(STUDENTS, report.getUpdated());
+        assertEquals(STUDENTS, standings.get());
+        for (String id : studentIds) {
+            Student student = studentRepository.findById(id);
+            double gpa = calculator.calculateGPA(transcript(id));
+            assertEquals(gpa, student.getGpa());
+            assertEquals(calculator.determineAcademicStatus(gpa, student.getSemester()), student.getAcademicStatus());
+        }
+        long total = report.getStatusCounts().values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(STUDENTS, total);
+    }
+
+    @Test
+    @DisplayName("Job yang gagal di tengah dilanjutkan dari checkpoint")
+    void testRun_ResumesFromCheckpoint() throws IOException {
+        Path checkpoint = Files.createTempFile("recompute", ".checkpoint");
+        Files.delete(checkpoint);
+
+        AcademicStatusRecomputeJob crashing = new AcademicStatusRecomputeJob(studentRepository,
+                new GradeCalculator(), studentId -> {
+                    if (studentId.equals("S800")) {
+                        throw new IllegalStateException("Simulasi crash");
+                    }
+                    return transcript(studentId);
+                }, 100, 1, checkpoint);
+        assertThrows(IllegalStateException.class, () -> crashing.run(studentIds));
+        assertTrue(Files.exists(checkpoint), "Checkpoint harus tetap ada setelah crash");
+        assertEquals(800, studentRepository.updates.get());
+
+        AcademicStatusRecomputeJob resumed = new AcademicStatusRecomputeJob(studentRepository,
+                new GradeCalculator(), AcademicStatusRecomputeJobTest::transcript, 100, 1, checkpoint);
+        List<Long> progress = new ArrayList<>();
+        resumed.setProgressListener((processed, total, rate) -> progress.add(processed));
+        AcademicStatusRecomputeJob.Report report = resumed.run(studentIds);
+
+        assertEquals(800, report.getResumedFrom());
+        assertEquals(200, report.getUpdated());
+        assertEquals(STUDENTS, studentRepository.updates.get());
+        assertEquals(List.of(900L, 1000L), progress);
+        assertFalse(Files.exists(checkpoint), "Checkpoint dihapus setelah job selesai");
+    }
+
+    private Path crashAt(String crashingId) throws IOException {
+        Path checkpoint = Files.createTempFile("recompute", ".checkpoint");
+        Files.delete(checkpoint);
+        AcademicStatusRecomputeJob crashing = new AcademicStatusRecomputeJob(studentRepository,
+                new GradeCalculator(), studentId -> {
+                    if (studentId.equals(crashingId)) {
+                        throw new IllegalStateException("Simulasi crash");
+                    }
+                    return transcript(studentId);
+                }, 100, 1, checkpoint);
+        assertThrows(IllegalStateException.class, () -> crashing.run(studentIds));
+        return checkpoint;
+    }
+
+    @Test
+    @DisplayName("Baris checkpoint terakhir yang terpotong diabaikan")
+    void testRun_IgnoresTornCheckpointLine() throws IOException {
+        Path checkpoint = crashAt("S800");
+        // Crash saat menulis "9\n": hanya digitnya yang sempat tertulis
+        Files.write(checkpoint, "9".getBytes(), StandardOpenOption.APPEND);
+
+        AcademicStatusRecomputeJob resumed = new AcademicStatusRecomputeJob(studentRepository,
+                new GradeCalculator(), AcademicStatusRecomputeJobTest::transcript, 100, 1, checkpoint);
+        AcademicStatusRecomputeJob.Report report = resumed.run(studentIds);
+
+        assertEquals(800, report.getResumedFrom());
+        assertEquals(200, report.getUpdated());
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    @Test
+    @DisplayName("Checkpoint milik daftar mahasiswa lain dengan ukuran sama tidak dipakai")
+    void testRun_IgnoresCheckpointOfOtherStudentList() throws IOException {
+        Path checkpoint = crashAt("S800");
+        Collections.reverse(studentIds);
+
+        AcademicStatusRecomputeJob resumed = new AcademicStatusRecomputeJob(studentRepository,
+                new GradeCalculator(), AcademicStatusRecomputeJobTest::transcript, 100, 1, checkpoint);
+        AcademicStatusRecomputeJob.Report report = resumed.run(studentIds);
+
+        assertEquals(0, report.getResumedFrom());
+        assertEquals(STUDENTS, report.getUpdated());
+    }
+
+    @Test
+    @DisplayName("Mahasiswa yang tidak ditemukan dan nilai invalid dihitung terpisah")
+    void testRun_CountsMissingAndInvalid() {
+        studentIds.add("S9999");
+        AcademicStatusRecomputeJob job = new AcademicStatusRecomputeJob(studentRepository, new GradeCalculator(),
+                studentId -> studentId.equals("S1")
+                        ? List.of(new CourseGrade("IF101", 3, 5.0))
+                        : transcript(studentId), 50, 2, null);
+
+        AcademicStatusRecomputeJob.Report report = job.run(studentIds);
+
+        assertEquals(1, report.getMissing());
+        assertEquals(1, report.getFailed());
+        assertEquals(STUDENTS - 1, report.getUpdated());
+    }
+}
@@ -0,0 +1,191 @@
+package com.siakad.service;
+
+import com.siakad.exception.AdmissionRejectedException;
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControllerTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private AtomicLong clock;
+    private AtomicInteger courseLookups;
+    private ConcurrentEnrollmentServiceTest.CourseRepositoryStub courseRepository;
+    private AdmissionController controller;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000 * MILLI);
+        courseLookups = new AtomicInteger();
+        courseRepository = new ConcurrentEnrollmentServiceTest.CourseRepositoryStub() {
+            @Override
+            public Course findByCourseCode(String courseCode) {
+                courseLookups.incrementAndGet();
+                return super.findByCourseCode(courseCode);
+            }
+        };
+        Course small = new Course();
+        small.setCourseCode("CS201");
+        small.setCourseName("Struktur Data");
+        small.setCapacity(1);
+        courseRepository.save(small);
+
+        EnrollmentService enrollmentService = new ConcurrentEnrollmentService(
+                new ConcurrentEnrollmentServiceTest.StudentRepositoryStub(), courseRepository,
+                new ConcurrentEnrollmentServiceTest.NotificationServiceStub(), new GradeCalculator());
+        controller = new AdmissionController(enrollmentService, new AdaptiveConcurrencyLimit(8, 1, 64, 50 * MILLI),
+                2, 1.0, 500 * MILLI, clock::get);
+    }
+
+    @Test
+    @DisplayName("Token bucket: retry beruntun ditolak dan diizinkan lagi setelah token terisi")
+    void testTokenBucket() {
+        controller.enrollCourse("S001", "CS101");
+        assertThrows(CourseNotFoundException.class, () -> controller.enrollCourse("S001", "CS999"));
+
+        AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+                () -> controller.enrollCourse("S001", "CS101"));
+        assertEquals(AdmissionRejectedException.Reason.RATE_LIMITED, e.getReason());
+        assertEquals(1_000, e.getRetryAfterMillis(), 1);
+
+        controller.enrollCourse("S002", "CS101");
+        clock.addAndGet(1_000 * MILLI);
+        controller.enrollCourse("S001", "CS101");
+    }
+
+    @Test
+    @DisplayName("Mata kuliah yang baru terlihat penuh ditolak tanpa menyentuh repository")
+    void testFastRejectFullCourse() {
+        controller.enrollCourse("S001", "CS201");
+        assertThrows(CourseFullException.class, () -> controller.enrollCourse("S002", "CS201"));
+        int lookups = courseLookups.get();
+
+        assertThrows(CourseFullException.class, () -> controller.enrollCourse("S003", "CS201"));
+        assertEquals(lookups, courseLookups.get());
+
+        controller.dropCourse("S001", "CS201");
+        controller.enrollCourse("S004", "CS201");
+        assertEquals(1, courseRepository.findByCourseCode("CS201").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Ruang tunggu: tiket masuk bertahap sesuai urutan kedatangan")
+    void testWaitingRoom() {
+        WaitingRoom room = new WaitingRoom(10, clock::get);
+        controller.setWaitingRoom(room);
+
+        controller.enrollCourse("S001", "CS101");
+        AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+                () -> controller.enrollCourse("S002", "CS101"));
+        assertEquals(AdmissionRejectedException.Reason.WAITING_ROOM, e.getReason());
+        assertEquals(100, e.getRetryAfterMillis(), 1);
+        assertEquals(1, room.ticketFor("S002").getPosition(), "Retry tidak memundurkan antrian");
+
+        clock.addAndGet(100 * MILLI);
+        controller.enrollCourse("S002", "CS101");
+    }
+
+    @Test
+    @DisplayName("Penolakan karena penuh atau sibuk tidak menghabiskan token mahasiswa")
+    void testRejectedRequestKeepsToken() {
+        controller.enrollCourse("S001", "CS201");
+        assertThrows(CourseFullException.class, () -> controller.enrollCourse("S002", "CS201"));
+        for (int i = 0; i < 3; i++) {
+            assertThrows(CourseFullException.class, () -> controller.enrollCourse("S003", "CS201"));
+        }
+
+        AdaptiveConcurrencyLimit busy = new AdaptiveConcurrencyLimit(1, 1, 1, 50 * MILLI);
+        AdmissionController busyController = new AdmissionController(new ConcurrentEnrollmentService(
+                new ConcurrentEnrollmentServiceTest.StudentRepositoryStub(), courseRepository,
+                new ConcurrentEnrollmentServiceTest.NotificationServiceStub(), new GradeCalculator()),
+                busy, 2, 1.0, 500 * MILLI, clock::get);
+        assertTrue(busy.tryAcquire());
+        for (int i = 0; i < 3; i++) {
+            AdmissionRejectedException e = assertThrows(AdmissionRejectedException.class,
+                    () -> busyController.enrollCourse("S004", "CS101"));
+            assertEquals(AdmissionRejectedException.Reason.OVERLOADED, e.getReason());
+        }
+        busy.release(clock.get(), clock.get());
+        busyController.enrollCourse("S004", "CS101");
+    }
+
+    @Test
+    @DisplayName("Dengan daftar tunggu aktif, mata kuliah penuh tetap diteruskan ke service")
+    void testFullCourseWithWaitlist_ForwardsToDelegate() {
+        ConcurrentEnrollmentService service = new ConcurrentEnrollmentService(
+                new ConcurrentEnrollmentServiceTest.StudentRepositoryStub(), courseRepository,
+                new ConcurrentEnrollmentServiceTest.NotificationServiceStub(), new GradeCalculator());
+        WaitlistEngine waitlist = new WaitlistEngine(WaitlistEngine.Policy.FIFO);
+        service.setWaitlist(waitlist);
+        AdmissionController waitlistController = new AdmissionController(service,
+                new AdaptiveConcurrencyLimit(8, 1, 64, 50 * MILLI), 2, 1.0, 500 * MILLI, clock::get);
+
+        waitlistController.enrollCourse("S001", "CS201");
+        assertThrows(CourseFullException.class, () -> waitlistController.enrollCourse("S002", "CS201"));
+        assertThrows(CourseFullException.class, () -> waitlistController.enrollCourse("S003", "CS201"));
+
+        assertEquals(2, waitlist.size("CS201"));
+        assertTrue(waitlist.contains("S003", "CS201"));
+    }
+
+    @Test
+    @DisplayName("Token bucket yang sudah penuh kembali dan tiket kedaluwarsa dibuang")
+    void testEviction() {
+        controller.enrollCourse("S001", "CS101");
+        controller.enrollCourse("S002", "CS101");
+        assertEquals(0, controller.evictIdleBuckets());
+
+        clock.addAndGet(2_000 * MILLI);
+        assertEquals(2, controller.evictIdleBuckets());
+        assertEquals(0, controller.getBucketCount());
+
+        WaitingRoom room = new WaitingRoom(10, 1_000 * MILLI, clock::get);
+        room.ticketFor("S001");
+        room.ticketFor("S002");
+        clock.addAndGet(1_050 * MILLI);
+        assertEquals(1, room.evictExpired());
+        assertEquals(1, room.getTicketCount());
+        assertEquals(2, room.ticketFor("S001").getPosition(), "Tiket baru berada di akhir antrian");
+    }
+
+    @Test
+    @DisplayName("Batas konkurensi turun saat latensi di atas target dan naik saat normal")
+    void testAdaptiveLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 20, 50 * MILLI);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertFalse(limit.tryAcquire());
+
+        // Satu generasi sampel lambat hanya menurunkan batas sekali
+        limit.release(0, 80 * MILLI);
+        limit.release(10 * MILLI, 90 * MILLI);
+        assertEquals(9, limit.getLimit());
+        limit.release(100 * MILLI, 200 * MILLI);
+        assertEquals(8, limit.getLimit());
+
+        for (int i = 0; i < 7; i++) {
+            limit.release(300 * MILLI, 310 * MILLI);
+        }
+        assertEquals(0, limit.getInFlight());
+        for (int round = 0; round < 200; round++) {
+            while (limit.tryAcquire()) {
+                // isi sampai batas
+            }
+            while (limit.getInFlight() > 0) {
+                limit.release(400 * MILLI, 410 * MILLI);
+            }
+        }
+        assertEquals(20, limit.getLimit());
+    }
+}
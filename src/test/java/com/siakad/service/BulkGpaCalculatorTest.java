@@ -0,0 +1,97 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkGpaCalculatorTest {
+
+    private static final double[] GRADE_POINTS = {4.0, 3.7, 3.3, 3.0, 2.7, 2.3, 2.0, 1.7, 1.3, 1.0, 0.0};
+
+    private BulkGpaCalculator bulkCalculator;
+    private GradeCalculator gradeCalculator;
+
+    @BeforeEach
+    void setUp() {
+        bulkCalculator = new BulkGpaCalculator();
+        gradeCalculator = new GradeCalculator();
+    }
+
+    @Test
+    @DisplayName("Hasil identik bit per bit dengan calculateGPA untuk transkrip acak")
+    void testCalculateGPAs_matchesCalculateGPA() {
+        Random random = new Random(42);
+        int students = 2_000;
+        int[] offsets = new int[students + 1];
+        List<int[]> creditRows = new ArrayList<>();
+        List<double[]> pointRows = new ArrayList<>();
+        int rows = 0;
+        for (int s = 0; s < students; s++) {
+            int count = random.nextInt(60);
+            int[] credits = new int[count];
+            double[] points = new double[count];
+            for (int i = 0; i < count; i++) {
+                credits[i] = random.nextInt(5);
+                points[i] = random.nextBoolean()
+                        ? GRADE_POINTS[random.nextInt(GRADE_POINTS.length)]
+                        : random.nextDouble() * 4.0;
+            }
+            creditRows.add(credits);
+            pointRows.add(points);
+            rows += count;
+            offsets[s + 1] = rows;
+        }
+
+        int[] credits = new int[rows];
+        double[] points = new double[rows];
+        for (int s = 0; s < students; s++) {
+            System.arraycopy(creditRows.get(s), 0, credits, offsets[s], creditRows.get(s).length);
+            System.arraycopy(pointRows.get(s), 0, points, offsets[s], pointRows.get(s).length);
+        }
+
+        double[] gpa = new double[students];
+        assertEquals(0, bulkCalculator.calculateGPAs(offsets, credits, points, gpa, null));
+
+        for (int s = 0; s < students; s++) {
+            List<CourseGrade> grades = new ArrayList<>();
+            for (int i = 0; i < creditRows.get(s).length; i++) {
+                grades.add(new CourseGrade("C" + i, creditRows.get(s)[i], pointRows.get(s)[i]));
+            }
+            double expected = gradeCalculator.calculateGPA(grades);
+            assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(gpa[s]),
+                    "GPA mahasiswa ke-" + s + " harus identik");
+        }
+    }
+
+    @Test
+    @DisplayName("Total SKS 0 atau rentang kosong menghasilkan 0.0")
+    void testCalculateGPA_zeroCredits() {
+        assertEquals(0.0, bulkCalculator.calculateGPA(new int[]{0, 0}, new double[]{4.0, 3.0}));
+        assertEquals(0.0, bulkCalculator.calculateGPA(new int[0], new double[0]));
+    }
+
+    @Test
+    @DisplayName("Semua baris invalid, termasuk NaN, dilaporkan berdasarkan indeks")
+    void testCalculateGPAs_reportsInvalidRows() {
+        int[] offsets = {0, 3, 5};
+        int[] credits = {3, 3, 3, 3, 3};
+        double[] points = {-1.0, 5.0, Double.NaN, 3.0, 4.0};
+        double[] gpa = new double[2];
+        List<Integer> invalidRows = new ArrayList<>();
+
+        int invalidStudents = bulkCalculator.calculateGPAs(offsets, credits, points, gpa,
+                (row, gradePoint) -> invalidRows.add(row));
+
+        assertEquals(1, invalidStudents);
+        assertEquals(List.of(0, 1, 2), invalidRows);
+        assertTrue(Double.isNaN(gpa[0]));
+        assertEquals(3.5, gpa[1]);
+    }
+}
@@ -0,0 +1,662 @@
+package com.siakad.service;
+
+import com.siakad.eventlog.EnrollmentEventLog;
+import com.siakad.eventlog.EnrollmentState;
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.exception.CreditLimitExceededException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.exception.PrerequisiteNotMetException;
+import com.siakad.exception.ScheduleConflictException;
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.metrics.EnrollmentMetrics;
+import com.siakad.metrics.HistogramEnrollmentMetrics;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentRequest;
+import com.siakad.model.EnrollmentResult;
+import com.siakad.model.MeetingSlot;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.PrerequisiteIndex;
+import com.siakad.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentEnrollmentServiceTest {
+
+    private static final int CAPACITY = 250;
+    private static final int REQUESTS = 12_000;
+
+    private StudentRepositoryStub studentRepository;
+    private CourseRepositoryStub courseRepository;
+    private NotificationServiceStub notificationService;
+    private ConcurrentEnrollmentService enrollmentService;
+
+    // Stub: setiap id yang diawali "S" dianggap mahasiswa aktif
+    static class StudentRepositoryStub implements StudentRepository {
+        final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public Student findById(String studentId) {
+            lookups.incrementAndGet();
+            if (!studentId.startsWith("S")) return null;
+            return new Student(studentId, "Mahasiswa " + studentId, studentId + "@uni.ac.id",
+                    "Informatika", 3, 3.2, "ACTIVE");
+        }
+
+        @Override public void save(Student student) {}
+        @Override public void update(Student student) {}
+        @Override public List<Course> getCompletedCourses(String studentId) { return List.of(); }
+        @Override public void delete(String studentId) {}
+    }
+
+    // Stub course repository yang aman diakses banyak thread
+    static class CourseRepositoryStub implements CourseRepository {
+        final ConcurrentHashMap<String, Course> courses = new ConcurrentHashMap<>();
+        final AtomicInteger updates = new AtomicInteger();
+
+        CourseRepositoryStub() {
+            Course course = new Course();
+            course.setCourseCode("CS101");
+            course.setCourseName("Algoritma");
+            course.setCapacity(CAPACITY);
+            course.setEnrolledCount(0);
+            courses.put("CS101", course);
+        }
+
+        @Override public Course findByCourseCode(String courseCode) { return courses.get(courseCode); }
+        @Override public void save(Course course) { courses.put(course.getCourseCode(), course); }
+
+        @Override
+        public void update(Course course) {
+            updates.incrementAndGet();
+            courses.put(course.getCourseCode(), course);
+        }
+
+        @Override
+        public boolean isPrerequisiteMet(String studentId, String courseCode) {
+            return !studentId.endsWith("X");
+        }
+    }
+
+    static class NotificationServiceStub implements NotificationService {
+        final AtomicInteger emails = new AtomicInteger();
+
+        @Override public void sendEmail(String to, String subject, String body) { emails.incrementAndGet(); }
+        @Override public void sendSMS(String phone, String message) {}
+    }
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new StudentRepositoryStub();
+        courseRepository = new CourseRepositoryStub();
+        notificationService = new NotificationServiceStub();
+        enrollmentService = new ConcurrentEnrollmentService(studentRepository,
+                courseRepository, notificationService, new GradeCalculator());
+    }
+
+    @Test
+    @DisplayName("Enroll sukses menambah kursi dan status APPROVED")
+    void testEnrollCourse_Success() {
+        Enrollment enrollment = enrollmentService.enrollCourse("S001", "CS101");
+
+        assertEquals("APPROVED", enrollment.getStatus());
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Urutan exception sama dengan EnrollmentService")
+    void testEnrollCourse_ExceptionSemantics() {
+        assertThrows(StudentNotFoundException.class, () -> enrollmentService.enrollCourse("X001", "CS101"));
+        assertThrows(CourseNotFoundException.class, () -> enrollmentService.enrollCourse("S001", "CS999"));
+        assertThrows(PrerequisiteNotMetException.class, () -> enrollmentService.enrollCourse("S00X", "CS101"));
+
+        // Prasyarat gagal tidak boleh memakan kursi
+        assertEquals(0, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Prasyarat dari indeks: pesan exception menyebutkan prasyarat yang kurang")
+    void testEnrollCourse_PrerequisiteIndexExplainsMissing() {
+        PrerequisiteIndex index = new PrerequisiteIndex(null);
+        index.defineRule("CS101", List.of(List.of("MA101", "MA102")));
+        enrollmentService.setPrerequisiteIndex(index);
+
+        PrerequisiteNotMetException exception = assertThrows(PrerequisiteNotMetException.class,
+                () -> enrollmentService.enrollCourse("S001", "CS101"));
+        assertEquals("Prerequisites not met for CS101: missing MA101 or MA102", exception.getMessage());
+        List<EnrollmentResult> results = enrollmentService.enrollBatch(List.of(new EnrollmentRequest("S001", "CS101")));
+        assertEquals(exception.getMessage(), results.get(0).getError().getMessage());
+
+        index.recordCompletion("S001", "MA102");
+        assertEquals("APPROVED", enrollmentService.enrollCourse("S001", "CS101").getStatus());
+    }
+
+    @Test
+    @DisplayName("Drop course mengembalikan kursi")
+    void testDropCourse_ReleasesSeat() {
+        enrollmentService.enrollCourse("S001", "CS101");
+        enrollmentService.enrollCourse("S002", "CS101");
+        enrollmentService.dropCourse("S001", "CS101");
+
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Perubahan enrolledCount dari luar engine baru berlaku setelah resync")
+    void testResyncSeats_PicksUpExternalChange() {
+        enrollmentService.enrollCourse("S001", "CS101");
+
+        Course reloaded = new Course();
+        reloaded.setCourseCode("CS101");
+        reloaded.setCourseName("Algoritma");
+        reloaded.setCapacity(CAPACITY);
+        reloaded.setEnrolledCount(CAPACITY);
+        courseRepository.save(reloaded);
+        assertEquals(1, enrollmentService.getSeatEngine().getReservedCount("CS101"));
+
+        assertEquals(CAPACITY, enrollmentService.resyncSeats("CS101"));
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S002", "CS101"));
+        assertThrows(CourseNotFoundException.class, () -> enrollmentService.resyncSeats("CS999"));
+    }
+
+    @Test
+    @DisplayName("Stress test: 12.000 enroll bersamaan tidak pernah melebihi kapasitas")
+    void testEnrollCourse_NoOversellUnderContention() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        AtomicInteger other = new AtomicInteger();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            String studentId = "S" + i;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    enrollmentService.enrollCourse(studentId, "CS101");
+                    approved.incrementAndGet();
+                } catch (CourseFullException e) {
+                    full.incrementAndGet();
+                } catch (Exception e) {
+                    other.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS), "Stress test harus selesai");
+
+        assertEquals(0, other.get(), "Tidak boleh ada exception lain");
+        assertEquals(CAPACITY, approved.get(), "Jumlah enroll sukses harus tepat sama dengan kapasitas");
+        assertEquals(REQUESTS - CAPACITY, full.get(), "Sisanya harus CourseFullException");
+        assertEquals(CAPACITY, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(CAPACITY, enrollmentService.getSeatEngine().getReservedCount("CS101"));
+    }
+
+    @Test
+    @DisplayName("Event log durable: enroll dan drop bersamaan di-replay ke jumlah kursi yang sama")
+    void testEventLog_ReplayMatchesSeatsUnderContention() throws Exception {
+        Path directory = Files.createTempDirectory("enrollment-log");
+        Path logFile = directory.resolve("enrollment.log");
+        Path snapshotFile = directory.resolve("enrollment.snapshot");
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        AtomicInteger other = new AtomicInteger();
+        try (EnrollmentEventLog log = new EnrollmentEventLog(logFile, snapshotFile, 64 * 1024, 100, true, 1)) {
+            enrollmentService.setEventLog(log);
+            for (int i = 0; i < 2_000; i++) {
+                String studentId = "S" + i;
+                boolean drop = i % 3 == 0;
+                pool.execute(() -> {
+                    try {
+                        enrollmentService.enrollCourse(studentId, "CS101");
+                        if (drop) {
+                            enrollmentService.dropCourse(studentId, "CS101");
+                        }
+                    } catch (CourseFullException e) {
+                        // Kalah balapan kursi adalah hasil yang sah
+                    } catch (Exception e) {
+                        other.incrementAndGet();
+                    }
+                });
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS), "Enroll dengan event log harus selesai");
+        }
+
+        assertEquals(0, other.get());
+        EnrollmentState state = EnrollmentEventLog.replay(logFile, snapshotFile);
+        assertEquals(enrollmentService.getSeatEngine().getReservedCount("CS101"), state.getEnrolledCount("CS101"));
+        assertEquals(courseRepository.findByCourseCode("CS101").getEnrolledCount(), state.getEnrolledCount("CS101"));
+    }
+
+    @Test
+    @DisplayName("Event log yang dipasang ke katalog berisi enrollment lama me-replay jumlah absolut")
+    void testEventLog_AttachToCatalogWithExistingEnrollments() throws Exception {
+        Path directory = Files.createTempDirectory("enrollment-log");
+        Path logFile = directory.resolve("enrollment.log");
+        Path snapshotFile = directory.resolve("enrollment.snapshot");
+        courseRepository.findByCourseCode("CS101").setEnrolledCount(40);
+        try (EnrollmentEventLog log = new EnrollmentEventLog(logFile, snapshotFile, 64 * 1024, 0, true, 1)) {
+            enrollmentService.setEventLog(log, courseRepository.courses.values());
+            enrollmentService.dropCourse("S-LAMA", "CS101");
+            enrollmentService.enrollCourse("S001", "CS101");
+            enrollmentService.enrollCourse("S002", "CS101");
+        }
+
+        // Restart: katalog dimuat ulang dengan nilai lama, lalu dikoreksi dari replay
+        CourseRepositoryStub restarted = new CourseRepositoryStub();
+        restarted.findByCourseCode("CS101").setEnrolledCount(40);
+        EnrollmentEventLog.replay(logFile, snapshotFile).applyTo(restarted);
+        assertEquals(41, enrollmentService.getSeatEngine().getReservedCount("CS101"));
+        assertEquals(41, restarted.findByCourseCode("CS101").getEnrolledCount());
+
+        // Log yang sudah berisi tidak diberi baseline lagi saat dipasang ulang
+        try (EnrollmentEventLog log = new EnrollmentEventLog(logFile, snapshotFile, 64 * 1024, 0, true, 1)) {
+            enrollmentService.setEventLog(log, restarted.courses.values());
+            assertEquals(41, log.snapshotState().getEnrolledCount("CS101"));
+        }
+    }
+
+    @Test
+    @DisplayName("Enroll batch: hasil per baris dan satu update per mata kuliah")
+    void testEnrollBatch_PerRowResults() {
+        List<EnrollmentRequest> requests = List.of(
+                new EnrollmentRequest("S001", "CS101"),
+                new EnrollmentRequest("X001", "CS101"),
+                new EnrollmentRequest("S001", "CS999"),
+                new EnrollmentRequest("S00X", "CS101"),
+                new EnrollmentRequest("S002", "CS101"));
+
+        List<EnrollmentResult> results = enrollmentService.enrollBatch(requests);
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("APPROVED", results.get(0).getEnrollment().getStatus());
+        assertTrue(results.get(1).getError() instanceof StudentNotFoundException);
+        assertTrue(results.get(2).getError() instanceof CourseNotFoundException);
+        assertTrue(results.get(3).getError() instanceof PrerequisiteNotMetException);
+        assertTrue(results.get(4).isSuccess());
+
+        assertEquals(2, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(1, courseRepository.updates.get(), "Satu update untuk satu mata kuliah");
+        assertEquals(4, studentRepository.lookups.get(), "Setiap mahasiswa hanya di-lookup sekali");
+    }
+
+    @Test
+    @DisplayName("Enroll batch: baris yang melebihi kapasitas mendapat CourseFullException")
+    void testEnrollBatch_CapacityReached() {
+        courseRepository.findByCourseCode("CS101").setEnrolledCount(CAPACITY - 1);
+
+        List<EnrollmentResult> results = enrollmentService.enrollBatch(List.of(
+                new EnrollmentRequest("S001", "CS101"),
+                new EnrollmentRequest("S002", "CS101")));
+
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).getError() instanceof CourseFullException);
+        assertEquals(CAPACITY, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Enroll batch: pasangan ganda dalam satu batch hanya mengambil satu kursi")
+    void testEnrollBatch_DuplicatePairRejected() {
+        CreditLedger ledger = new CreditLedger(studentRepository, new GradeCalculator());
+        enrollmentService.setCreditLedger(ledger);
+        courseRepository.findByCourseCode("CS101").setCredits(3);
+
+        List<EnrollmentResult> results = enrollmentService.enrollBatch(List.of(
+                new EnrollmentRequest("S001", "CS101"),
+                new EnrollmentRequest("S001", "CS101"),
+                new EnrollmentRequest("S002", "CS101")));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(EnrollmentException.class, results.get(1).getError().getClass());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(2, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(3, ledger.getEnrolledCredits("S001"));
+    }
+
+    @Test
+    @DisplayName("Waitlist: kursi yang dilepas langsung diberikan ke antrian pertama")
+    void testDropCourse_PromotesFromWaitlist() {
+        Course course = courseRepository.findByCourseCode("CS101");
+        course.setCredits(3);
+        course.setEnrolledCount(CAPACITY);
+        WaitlistEngine waitlist = new WaitlistEngine(WaitlistEngine.Policy.FIFO);
+        enrollmentService.setWaitlist(waitlist);
+
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S001", "CS101"));
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S00X", "CS101"));
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S002", "CS101"));
+
+        // S00X tidak memenuhi prasyarat sehingga tidak masuk antrian
+        assertEquals(2, waitlist.size("CS101"));
+        assertFalse(waitlist.contains("S00X", "CS101"));
+        enrollmentService.dropCourse("S900", "CS101");
+        assertEquals(CAPACITY, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+
+        enrollmentService.dropCourse("S901", "CS101");
+        assertEquals(CAPACITY, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+
+        // Antrian sudah kosong: kursi berikutnya terbuka untuk umum
+        enrollmentService.dropCourse("S902", "CS101");
+        assertEquals(CAPACITY - 1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals("APPROVED", enrollmentService.enrollCourse("S003", "CS101").getStatus());
+    }
+
+    @Test
+    @DisplayName("Waitlist: kursi kosong diberikan ke antrian dulu, enroll langsung tidak bisa menyalip")
+    void testEnrollCourse_CannotJumpWaitlist() {
+        courseRepository.findByCourseCode("CS101").setEnrolledCount(CAPACITY);
+        WaitlistEngine waitlist = new WaitlistEngine(WaitlistEngine.Policy.FIFO);
+        enrollmentService.setWaitlist(waitlist);
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S001", "CS101"));
+
+        enrollmentService.getSeatEngine().release(courseRepository.findByCourseCode("CS101"));
+
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S002", "CS101"));
+        assertFalse(waitlist.contains("S001", "CS101"), "S001 dipromosikan lebih dulu");
+        assertEquals(1, waitlist.size("CS101"));
+        assertEquals(CAPACITY, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Waitlist: kandidat yang kalah balapan kursi kembali ke posisi semula")
+    void testPromoteFromWaitlist_RaceKeepsPosition() {
+        Course course = courseRepository.findByCourseCode("CS101");
+        course.setEnrolledCount(CAPACITY);
+        WaitlistEngine waitlist = new WaitlistEngine(WaitlistEngine.Policy.FIFO);
+        enrollmentService.setWaitlist(waitlist);
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S001", "CS101"));
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S002", "CS101"));
+
+        // Salinan dengan kapasitas lebih besar lolos cek awal, lalu enroll melihat course yang
+        // sudah penuh: sama dengan kursi yang direbut thread lain di antara keduanya
+        Course stale = new Course();
+        stale.setCourseCode("CS101");
+        stale.setCapacity(CAPACITY + 1);
+        assertNull(enrollmentService.promoteFromWaitlist(stale));
+        assertEquals(2, waitlist.size("CS101"));
+
+        enrollmentService.getSeatEngine().release(course);
+        assertEquals("S001", enrollmentService.promoteFromWaitlist(course).getStudentId());
+        assertTrue(waitlist.contains("S002", "CS101"));
+    }
+
+    @Test
+    @DisplayName("Waitlist: drop dan enroll bersamaan tidak pernah melebihi kapasitas")
+    void testWaitlist_ConcurrentDropsAndEnrolls() throws Exception {
+        courseRepository.findByCourseCode("CS101").setEnrolledCount(CAPACITY);
+        enrollmentService.setWaitlist(new WaitlistEngine(WaitlistEngine.Policy.GPA));
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 2_000; i++) {
+            String studentId = "S" + i;
+            boolean drop = i % 4 == 0;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    if (drop) {
+                        enrollmentService.dropCourse(studentId, "CS101");
+                    } else {
+                        enrollmentService.enrollCourse(studentId, "CS101");
+                    }
+                } catch (Exception e) {
+                    // CourseFullException diharapkan
+                }
+                assertTrue(enrollmentService.getSeatEngine().getReservedCount("CS101") <= CAPACITY);
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        int reserved = enrollmentService.getSeatEngine().getReservedCount("CS101");
+        assertTrue(reserved <= CAPACITY);
+        assertEquals(reserved, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Ledger SKS: enroll melebihi batas ditolak dan drop mengembalikan SKS")
+    void testEnrollCourse_CreditLedger() {
+        Course existing = new Course();
+        existing.setCourseCode("MA201");
+        existing.setCredits(22);
+        CreditLedger ledger = new CreditLedger(studentRepository, new GradeCalculator(),
+                studentId -> "S001".equals(studentId) ? List.of(existing) : List.of());
+        enrollmentService.setCreditLedger(ledger);
+        courseRepository.findByCourseCode("CS101").setCredits(3);
+
+        assertFalse(enrollmentService.validateCreditLimit("S001", 3));
+        assertThrows(CreditLimitExceededException.class, () -> enrollmentService.enrollCourse("S001", "CS101"));
+        assertEquals(0, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+
+        courseRepository.findByCourseCode("CS101").setCredits(2);
+        enrollmentService.enrollCourse("S001", "CS101");
+        assertEquals(24, ledger.getEnrolledCredits("S001"));
+
+        enrollmentService.dropCourse("S001", "CS101");
+        assertEquals(22, ledger.getEnrolledCredits("S001"));
+
+        // Drop mata kuliah yang tidak diambil tidak membebaskan SKS milik mata kuliah lain
+        enrollmentService.dropCourse("S001", "CS101");
+        assertEquals(22, ledger.getEnrolledCredits("S001"));
+    }
+
+    @Test
+    @DisplayName("Jadwal: enroll yang bentrok ditolak tanpa mengambil kursi")
+    void testEnrollCourse_ScheduleConflict() {
+        Course other = new Course();
+        other.setCourseCode("CS102");
+        other.setCourseName("Basis Data");
+        other.setCapacity(CAPACITY);
+        courseRepository.save(other);
+
+        ScheduleIndex schedule = new ScheduleIndex();
+        schedule.defineSchedule("CS101", List.of(MeetingSlot.of(DayOfWeek.MONDAY, "08:00", "09:40")));
+        schedule.defineSchedule("CS102", List.of(MeetingSlot.of(DayOfWeek.MONDAY, "09:00", "10:40")));
+        enrollmentService.setScheduleIndex(schedule);
+
+        enrollmentService.enrollCourse("S001", "CS101");
+        assertThrows(ScheduleConflictException.class, () -> enrollmentService.enrollCourse("S001", "CS102"));
+        assertEquals(0, courseRepository.findByCourseCode("CS102").getEnrolledCount());
+
+        enrollmentService.dropCourse("S001", "CS101");
+        enrollmentService.enrollCourse("S001", "CS102");
+        assertEquals(1, courseRepository.findByCourseCode("CS102").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Jadwal: enroll ulang yang gagal tidak menghapus jadwal mata kuliah yang sudah diambil")
+    void testEnrollCourse_FailedReEnrollKeepsSchedule() {
+        ScheduleIndex schedule = new ScheduleIndex();
+        schedule.defineSchedule("CS101", List.of(MeetingSlot.of(DayOfWeek.MONDAY, "08:00", "09:40")));
+        enrollmentService.setScheduleIndex(schedule);
+        Course course = courseRepository.findByCourseCode("CS101");
+        course.setCapacity(1);
+
+        enrollmentService.enrollCourse("S001", "CS101");
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S001", "CS101"));
+
+        assertTrue(schedule.holds("S001", "CS101"));
+    }
+
+    @Test
+    @DisplayName("Metrics: setiap tahap enroll terukur dan kegagalan dihitung per exception")
+    void testEnrollCourse_Metrics() {
+        HistogramEnrollmentMetrics metrics = new HistogramEnrollmentMetrics();
+        enrollmentService.setMetrics(metrics);
+
+        enrollmentService.enrollCourse("S001", "CS101");
+        assertThrows(CourseNotFoundException.class, () -> enrollmentService.enrollCourse("S001", "CS999"));
+        assertThrows(PrerequisiteNotMetException.class, () -> enrollmentService.enrollCourse("S00X", "CS101"));
+
+        assertEquals(3, metrics.getHistogram(EnrollmentMetrics.Stage.STUDENT_LOOKUP).getCount());
+        assertEquals(2, metrics.getHistogram(EnrollmentMetrics.Stage.CAPACITY_CHECK).getCount());
+        assertEquals(1, metrics.getHistogram(EnrollmentMetrics.Stage.NOTIFICATION).getCount());
+        assertEquals(1, metrics.getFailureCount(CourseNotFoundException.class));
+        assertEquals(1, metrics.getFailureCount(PrerequisiteNotMetException.class));
+        assertEquals(0, metrics.getInFlight("CS101"));
+        assertEquals(1, metrics.getPeakInFlight("CS101"));
+    }
+
+    private Course addCourse(String code, int capacity, int credits) {
+        Course course = new Course();
+        course.setCourseCode(code);
+        course.setCourseName("Mata Kuliah " + code);
+        course.setCapacity(capacity);
+        course.setCredits(credits);
+        courseRepository.save(course);
+        return course;
+    }
+
+    @Test
+    @DisplayName("Swap: kursi baru diambil, kursi lama dilepas, satu email")
+    void testSwapCourse_Success() {
+        addCourse("CS102", 10, 3);
+        enrollmentService.setScheduleIndex(new ScheduleIndex());
+        enrollmentService.enrollCourse("S001", "CS101");
+        int emails = notificationService.emails.get();
+
+        Enrollment enrollment = enrollmentService.swapCourse("S001", "CS101", "CS102");
+
+        assertEquals("CS102", enrollment.getCourseCode());
+        assertEquals(0, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(1, courseRepository.findByCourseCode("CS102").getEnrolledCount());
+        assertEquals(emails + 1, notificationService.emails.get());
+    }
+
+    @Test
+    @DisplayName("Swap gagal (penuh, prasyarat, SKS) tetap mempertahankan kursi lama")
+    void testSwapCourse_FailureKeepsOldSeat() {
+        addCourse("CS102", 1, 3);
+        addCourse("CS103", 10, 6);
+        enrollmentService.setScheduleIndex(new ScheduleIndex());
+        enrollmentService.enrollCourse("S002", "CS102");
+        enrollmentService.enrollCourse("S001", "CS101");
+
+        assertThrows(CourseFullException.class, () -> enrollmentService.swapCourse("S001", "CS101", "CS102"));
+        assertThrows(PrerequisiteNotMetException.class, () -> enrollmentService.swapCourse("S00X", "CS101", "CS103"));
+        assertThrows(CourseNotFoundException.class, () -> enrollmentService.swapCourse("S001", "CS101", "CS999"));
+
+        // S001 sudah memegang CS101 (0 SKS) ditambah 22 SKS lain sebelum ledger dipasang
+        Course other = new Course();
+        other.setCourseCode("MA201");
+        other.setCredits(22);
+        Course held = courseRepository.findByCourseCode("CS101");
+        CreditLedger ledger = new CreditLedger(studentRepository, new GradeCalculator(),
+                studentId -> "S001".equals(studentId) ? List.of(held, other) : List.of());
+        enrollmentService.setCreditLedger(ledger);
+        assertThrows(CreditLimitExceededException.class, () -> enrollmentService.swapCourse("S001", "CS101", "CS103"));
+        assertEquals(22, ledger.getEnrolledCredits("S001"));
+        assertTrue(ledger.holds("S001", "CS101"));
+
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(0, courseRepository.findByCourseCode("CS103").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Swap ditolak jika mata kuliah lama bukan milik mahasiswa atau mata kuliah baru sudah diambil")
+    void testSwapCourse_RequiresOwnership() {
+        addCourse("CS102", 10, 3);
+        addCourse("CS103", 10, 3);
+        assertThrows(IllegalStateException.class, () -> enrollmentService.swapCourse("S001", "CS101", "CS102"));
+
+        CreditLedger ledger = new CreditLedger(studentRepository, new GradeCalculator());
+        enrollmentService.setCreditLedger(ledger);
+        enrollmentService.enrollCourse("S001", "CS101");
+        enrollmentService.enrollCourse("S001", "CS102");
+        enrollmentService.enrollCourse("S002", "CS103");
+
+        // S002 tidak memegang CS101, jadi kursi S001 tidak boleh ikut dilepas
+        assertThrows(EnrollmentException.class, () -> enrollmentService.swapCourse("S002", "CS101", "CS102"));
+        assertThrows(EnrollmentException.class, () -> enrollmentService.swapCourse("S001", "CS101", "CS102"));
+
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(1, courseRepository.findByCourseCode("CS102").getEnrolledCount());
+        assertEquals(1, courseRepository.findByCourseCode("CS103").getEnrolledCount());
+        assertEquals(3, ledger.getEnrolledCredits("S001"));
+        assertTrue(ledger.holds("S002", "CS103"));
+    }
+
+    @Test
+    @DisplayName("Swap yang kalah rebutan kursi di bawah kunci mata kuliah mengembalikan jadwal dan SKS")
+    void testSwapCourse_SeatLostUnderLock() {
+        Course target = addCourse("CS102", 10, 3);
+        // Kapasitas diturunkan setelah pre-check, saat swap sudah memegang kunci mata kuliah
+        ScheduleIndex scheduleIndex = new ScheduleIndex() {
+            @Override
+            public boolean reserve(String studentId, String courseCode) {
+                if ("CS102".equals(courseCode)) {
+                    target.setCapacity(0);
+                }
+                return super.reserve(studentId, courseCode);
+            }
+        };
+        enrollmentService.setScheduleIndex(scheduleIndex);
+        enrollmentService.enrollCourse("S001", "CS101");
+
+        assertThrows(CourseFullException.class, () -> enrollmentService.swapCourse("S001", "CS101", "CS102"));
+        assertTrue(scheduleIndex.holds("S001", "CS101"));
+        assertFalse(scheduleIndex.holds("S001", "CS102"));
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+
+        CreditLedger ledger = new CreditLedger(studentRepository, new GradeCalculator(),
+                studentId -> List.of(courseRepository.findByCourseCode("CS101")));
+        enrollmentService.setCreditLedger(ledger);
+        target.setCapacity(10);
+        assertThrows(CourseFullException.class, () -> enrollmentService.swapCourse("S001", "CS101", "CS102"));
+        assertTrue(ledger.holds("S001", "CS101"));
+        assertFalse(ledger.holds("S001", "CS102"));
+        assertEquals(0, ledger.getEnrolledCredits("S001"));
+        assertTrue(scheduleIndex.holds("S001", "CS101"));
+        assertFalse(scheduleIndex.holds("S001", "CS102"));
+    }
+
+    @Test
+    @DisplayName("Swap bersamaan ke arah berlawanan tidak deadlock dan jumlah kursi tetap")
+    void testSwapCourse_ConcurrentOppositeSwaps() throws Exception {
+        addCourse("CS102", CAPACITY, 3);
+        enrollmentService.setScheduleIndex(new ScheduleIndex());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 100; i++) {
+            enrollmentService.enrollCourse("S" + i, i % 2 == 0 ? "CS101" : "CS102");
+        }
+        for (int i = 0; i < 100; i++) {
+            String studentId = "S" + i;
+            boolean even = i % 2 == 0;
+            executor.submit(() -> {
+                start.await();
+                for (int round = 0; round < 50; round++) {
+                    boolean inFirst = even == (round % 2 == 0);
+                    enrollmentService.swapCourse(studentId, inFirst ? "CS101" : "CS102", inFirst ? "CS102" : "CS101");
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS), "Swap tidak boleh deadlock");
+
+        assertEquals(50, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(50, courseRepository.findByCourseCode("CS102").getEnrolledCount());
+    }
+}
@@ -0,0 +1,169 @@
+package com.siakad.service;
+
+import com.siakad.exception.EnrollmentException;
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreditLedgerTest {
+
+    private CreditLedger ledger;
+    private AtomicInteger lookups;
+    private StudentRepository studentRepository;
+
+    @BeforeEach
+    void setUp() {
+        lookups = new AtomicInteger();
+        Map<String, Student> students = new HashMap<>();
+        students.put("S001", new Student("S001", "Park Sungho", "park@uni.ac.id", "Informatika", 5, 3.8, "ACTIVE"));
+        students.put("S004", new Student("S004", "Han Taesan", "taesan@uni.ac.id", "Informatika", 3, 1.9, "ACTIVE"));
+
+        studentRepository = new StudentRepository() {
+            @Override
+            public Student findById(String studentId) {
+                lookups.incrementAndGet();
+                return students.get(studentId);
+            }
+
+            @Override public void save(Student student) {}
+            @Override public void update(Student student) {}
+            @Override public List<Course> getCompletedCourses(String studentId) { return List.of(); }
+            @Override public void delete(String studentId) {}
+        };
+        ledger = new CreditLedger(studentRepository, new GradeCalculator());
+    }
+
+    @Test
+    @DisplayName("Batas SKS diambil dari GPA dan di-cache")
+    void testMaxCredits_FromGpa() {
+        assertEquals(24, ledger.getMaxCredits("S001"));
+        assertEquals(15, ledger.getMaxCredits("S004"));
+        ledger.canTake("S001", 3);
+        assertEquals(2, lookups.get(), "Mahasiswa hanya di-lookup sekali");
+    }
+
+    @Test
+    @DisplayName("Reservasi SKS ditolak jika melebihi batas dan dilepas saat drop")
+    void testTryReserveAndRelease() {
+        assertTrue(ledger.tryReserve("S004", "CS101", 6));
+        assertTrue(ledger.tryReserve("S004", "CS102", 6));
+        assertFalse(ledger.tryReserve("S004", "CS103", 4));
+        assertFalse(ledger.holds("S004", "CS103"));
+        assertTrue(ledger.canTake("S004", 3));
+        assertFalse(ledger.canTake("S004", 4));
+
+        assertEquals(6, ledger.release("S004", "CS101"));
+        assertEquals(6, ledger.getEnrolledCredits("S004"));
+        assertTrue(ledger.tryReserve("S004", "CS103", 9));
+    }
+
+    @Test
+    @DisplayName("Drop mata kuliah yang tidak direservasi tidak mengembalikan SKS apa pun")
+    void testRelease_OnlyReservedCourse() {
+        ledger.tryReserve("S004", "CS101", 12);
+
+        assertEquals(0, ledger.release("S004", "CS999"));
+        assertEquals(12, ledger.getEnrolledCredits("S004"));
+        assertEquals(12, ledger.release("S004", "CS101"));
+        assertEquals(0, ledger.release("S004", "CS101"));
+        assertEquals(0, ledger.getEnrolledCredits("S004"));
+    }
+
+    @Test
+    @DisplayName("Reservasi ganda untuk mata kuliah yang sama ditolak")
+    void testTryReserve_SameCourseTwice() {
+        ledger.tryReserve("S004", "CS101", 3);
+
+        assertThrows(EnrollmentException.class, () -> ledger.tryReserve("S004", "CS101", 3));
+        assertEquals(3, ledger.getEnrolledCredits("S004"));
+    }
+
+    @Test
+    @DisplayName("Pindah reservasi mengecek batas terhadap total setelah SKS lama dilepas")
+    void testTryTransfer() {
+        ledger.tryReserve("S004", "CS101", 12);
+        ledger.tryReserve("S004", "CS102", 2);
+
+        assertFalse(ledger.tryTransfer("S004", "CS102", "CS103", 4));
+        assertTrue(ledger.holds("S004", "CS102"));
+        assertTrue(ledger.tryTransfer("S004", "CS102", "CS103", 3));
+        assertFalse(ledger.holds("S004", "CS102"));
+        assertEquals(15, ledger.getEnrolledCredits("S004"));
+        assertThrows(EnrollmentException.class, () -> ledger.tryTransfer("S004", "CS999", "CS104", 1));
+        assertThrows(EnrollmentException.class, () -> ledger.tryTransfer("S004", "CS103", "CS101", 1));
+        assertEquals(15, ledger.getEnrolledCredits("S004"));
+    }
+
+    @Test
+    @DisplayName("Enrollment yang sudah ada dimuat saat mahasiswa pertama kali disentuh")
+    void testCurrentEnrollments_Seeded() {
+        Course existing = new Course();
+        existing.setCourseCode("CS101");
+        existing.setCredits(12);
+        CreditLedger seeded = new CreditLedger(studentRepository, new GradeCalculator(),
+                studentId -> "S004".equals(studentId) ? List.of(existing) : List.of());
+
+        assertEquals(12, seeded.getEnrolledCredits("S004"));
+        assertTrue(seeded.holds("S004", "CS101"));
+        assertFalse(seeded.canTake("S004", 4));
+        assertEquals(0, seeded.getEnrolledCredits("S001"));
+    }
+
+    @Test
+    @DisplayName("Batas SKS baru berlaku tanpa menghapus SKS terambil")
+    void testUpdateMaxCredits() {
+        ledger.tryReserve("S004", "CS101", 15);
+        ledger.updateMaxCredits("S004", 18);
+
+        assertEquals(15, ledger.getEnrolledCredits("S004"));
+        assertTrue(ledger.tryReserve("S004", "CS102", 3));
+    }
+
+    @Test
+    @DisplayName("Mahasiswa tidak ditemukan melempar StudentNotFoundException")
+    void testStudentNotFound() {
+        assertThrows(StudentNotFoundException.class, () -> ledger.canTake("S999", 3));
+    }
+
+    @Test
+    @DisplayName("Enroll paralel milik mahasiswa yang sama tidak melewati batas")
+    void testTryReserve_Concurrent() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        for (int i = 0; i < 1_000; i++) {
+            String courseCode = "C" + i;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (ledger.tryReserve("S001", courseCode, 3)) {
+                    accepted.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(8, accepted.get());
+        assertEquals(24, ledger.getEnrolledCredits("S001"));
+    }
+}
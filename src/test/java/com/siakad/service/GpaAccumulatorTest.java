@@ -0,0 +1,168 @@
+package com.siakad.service;
+
+import com.siakad.model.AcademicStanding;
+import com.siakad.model.CourseGrade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GpaAccumulatorTest {
+
+    private CountingGradeCalculator gradeCalculator;
+
+    // Menghitung berapa kali status dan batas SKS benar-benar dihitung ulang
+    static class CountingGradeCalculator extends GradeCalculator {
+        int statusCalls;
+
+        @Override
+        public String determineAcademicStatus(double gpa, int semester) {
+            statusCalls++;
+            return super.determineAcademicStatus(gpa, semester);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        gradeCalculator = new CountingGradeCalculator();
+    }
+
+    @Test
+    @DisplayName("Tambah, koreksi dan hapus acak selalu identik bit per bit dengan perhitungan penuh")
+    void testMatchesFullRecomputation() {
+        Random random = new Random(7);
+        GpaAccumulator accumulator = new GpaAccumulator("S001", 5, gradeCalculator);
+        List<CourseGrade> grades = new ArrayList<>();
+        int nextCode = 0;
+
+        for (int step = 0; step < 5_000; step++) {
+            int operation = grades.isEmpty() ? 0 : random.nextInt(3);
+            int credits = random.nextInt(5);
+            double gradePoint = random.nextInt(401) / 100.0;
+            if (operation == 0) {
+                String code = "MK" + nextCode++;
+                accumulator.add(code, credits, gradePoint);
+                grades.add(new CourseGrade(code, credits, gradePoint));
+            } else if (operation == 1) {
+                int index = random.nextInt(grades.size());
+                String code = grades.get(index).getCourseCode();
+                accumulator.replace(code, credits, gradePoint);
+                grades.set(index, new CourseGrade(code, credits, gradePoint));
+            } else {
+                int index = random.nextInt(grades.size());
+                accumulator.remove(grades.remove(index).getCourseCode());
+            }
+
+            double expected = gradeCalculator.calculateGPA(grades);
+            assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(accumulator.getGpa()),
+                    "Langkah " + step);
+            assertEquals(gradeCalculator.determineAcademicStatus(expected, 5), accumulator.getAcademicStatus());
+            assertEquals(gradeCalculator.calculateMaxCredits(expected), accumulator.getMaxCredits());
+        }
+    }
+
+    @Test
+    @DisplayName("Total SKS 0 menghasilkan GPA 0.0")
+    void testZeroCredits() {
+        GpaAccumulator accumulator = new GpaAccumulator("S001", 1, gradeCalculator);
+        accumulator.add("KKN", 0, 4.0);
+
+        assertEquals(0.0, accumulator.getGpa());
+        assertEquals("PROBATION", accumulator.getAcademicStatus());
+        assertEquals(15, accumulator.getMaxCredits());
+    }
+
+    @Test
+    @DisplayName("Status hanya dihitung ulang ketika GPA melewati ambang atau kelompok semester berubah")
+    void testRecomputeOnlyOnThresholdCrossing() {
+        List<AcademicStanding> changes = new ArrayList<>();
+        GpaAccumulator accumulator = GpaAccumulator.of("S001", 3,
+                List.of(new CourseGrade("CS101", 3, 3.5), new CourseGrade("CS102", 3, 3.7)), gradeCalculator);
+        accumulator.setStandingListener(changes::add);
+        int calls = gradeCalculator.statusCalls;
+
+        accumulator.add("CS103", 3, 3.3);
+        accumulator.replace("CS101", 3, 3.0);
+        assertEquals(calls, gradeCalculator.statusCalls, "GPA tetap di atas 3.0");
+
+        accumulator.replace("CS102", 3, 1.0);
+        assertEquals(calls + 1, gradeCalculator.statusCalls);
+        assertEquals(18, accumulator.getMaxCredits());
+        assertEquals(1, changes.size());
+
+        accumulator.setSemester(4);
+        assertEquals(calls + 1, gradeCalculator.statusCalls, "Semester 3 dan 4 satu kelompok");
+        accumulator.setSemester(5);
+        assertEquals(calls + 2, gradeCalculator.statusCalls);
+        assertEquals("PROBATION", accumulator.getAcademicStatus());
+    }
+
+    @Test
+    @DisplayName("Dengan RuleTableGradeCalculator, ambang dan kelompok semester diambil dari tabel")
+    void testRuleTable_UsesTableThresholdsAndBands() {
+        Properties properties = new Properties();
+        properties.setProperty("semester.bands", "6");
+        properties.setProperty("status.active", "2.0,2.75");
+        properties.setProperty("status.probation", "1.5,2.0");
+        properties.setProperty("credits.thresholds", "3.5,2.0");
+        properties.setProperty("credits.caps", "24,20,12");
+        AcademicRuleTable ruleTable = AcademicRuleTable.fromProperties(properties);
+        GpaAccumulator accumulator = GpaAccumulator.of("S001", 5,
+                List.of(new CourseGrade("CS101", 3, 2.8)), new RuleTableGradeCalculator(ruleTable));
+
+        assertArrayEquals(new double[]{1.5, 2.0, 2.75, 3.5}, ruleTable.getGpaThresholds());
+        assertEquals("ACTIVE", accumulator.getAcademicStatus());
+
+        // 2.7 tidak melewati ambang default mana pun, tetapi melewati 2.75 milik tabel
+        accumulator.replace("CS101", 3, 2.7);
+        assertEquals("ACTIVE", accumulator.getAcademicStatus());
+        accumulator.setSemester(7);
+        assertEquals("PROBATION", accumulator.getAcademicStatus(), "Semester 5 dan 7 beda kelompok di tabel");
+
+        accumulator.replace("CS101", 3, 3.7);
+        assertEquals(24, accumulator.getMaxCredits(), "3.5 bukan ambang default");
+    }
+
+    @Test
+    @DisplayName("Grade point invalid dan mata kuliah yang belum dinilai ditolak")
+    void testInvalidInput() {
+        GpaAccumulator accumulator = new GpaAccumulator("S001", 1, gradeCalculator);
+        accumulator.add("CS101", 3, 3.0);
+
+        assertThrows(IllegalArgumentException.class, () -> accumulator.add("CS102", 3, 4.5));
+        assertThrows(IllegalArgumentException.class, () -> accumulator.remove("CS999"));
+        assertThrows(IllegalArgumentException.class, () -> accumulator.replace("CS999", 3, 3.0));
+        assertEquals(1, accumulator.getGradeCount());
+    }
+
+    @Test
+    @DisplayName("Mata kuliah yang diulang dihitung seperti GradeCalculator; koreksi mengenai percobaan terakhir")
+    void testRetake_MatchesGradeCalculator() {
+        List<CourseGrade> grades = new ArrayList<>(List.of(
+                new CourseGrade("CS101", 3, 1.0),
+                new CourseGrade("MA101", 2, 3.3),
+                new CourseGrade("CS101", 3, 3.7)));
+        GpaAccumulator accumulator = GpaAccumulator.of("S001", 3, grades, gradeCalculator);
+
+        assertEquals(3, accumulator.getGradeCount());
+        assertEquals(Double.doubleToLongBits(new GradeCalculator().calculateGPA(grades)),
+                Double.doubleToLongBits(accumulator.getGpa()));
+
+        accumulator.replace("CS101", 3, 4.0);
+        grades.set(2, new CourseGrade("CS101", 3, 4.0));
+        assertEquals(Double.doubleToLongBits(new GradeCalculator().calculateGPA(grades)),
+                Double.doubleToLongBits(accumulator.getGpa()));
+
+        accumulator.remove("CS101");
+        grades.remove(2);
+        assertEquals(Double.doubleToLongBits(new GradeCalculator().calculateGPA(grades)),
+                Double.doubleToLongBits(accumulator.getGpa()));
+        assertEquals(2, accumulator.getGradeCount());
+    }
+}
@@ -0,0 +1,186 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueuedNotificationDispatcherTest {
+
+    private QueuedNotificationDispatcher dispatcher;
+
+    // Sink in-memory sebagai pengganti server email/SMS
+    static class InMemoryNotificationSink implements NotificationService {
+        final List<String> emails = new CopyOnWriteArrayList<>();
+        final List<String> sms = new CopyOnWriteArrayList<>();
+        final AtomicInteger failuresLeft = new AtomicInteger();
+        volatile CountDownLatch gate = new CountDownLatch(0);
+        final CountDownLatch entered = new CountDownLatch(1);
+
+        @Override
+        public void sendEmail(String to, String subject, String body) {
+            awaitGate();
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("SMTP timeout");
+            }
+            emails.add(to + "|" + subject + "|" + body);
+        }
+
+        @Override
+        public void sendSMS(String phone, String message) {
+            awaitGate();
+            sms.add(phone + "|" + message);
+        }
+
+        private void awaitGate() {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Pesan dikirim asinkron ke sink")
+    void testDispatch_DeliversAsynchronously() throws InterruptedException {
+        InMemoryNotificationSink sink = new InMemoryNotificationSink();
+        dispatcher = new QueuedNotificationDispatcher(sink);
+
+        dispatcher.sendEmail("park@uni.ac.id", "Enrollment Confirmation", "You have been enrolled in: Algoritma");
+        dispatcher.sendSMS("0812", "Jadwal berubah");
+
+        assertTrue(dispatcher.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(1, sink.emails.size());
+        assertEquals(1, sink.sms.size());
+        assertEquals(2, dispatcher.getDeliveredCount());
+    }
+
+    @Test
+    @DisplayName("Pesan ke penerima yang sama digabung menjadi satu")
+    void testDispatch_CoalescesPerRecipient() throws InterruptedException {
+        InMemoryNotificationSink sink = new InMemoryNotificationSink();
+        sink.gate = new CountDownLatch(1);
+        dispatcher = new QueuedNotificationDispatcher(sink, 100, 1, 10, 3, 1);
+
+        // Pesan pertama menahan worker sehingga sisanya menumpuk di antrian
+        dispatcher.sendEmail("lee@uni.ac.id", "Warmup", "x");
+        assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+        dispatcher.sendEmail("park@uni.ac.id", "Enrollment Confirmation", "Algoritma");
+        dispatcher.sendEmail("park@uni.ac.id", "Enrollment Confirmation", "Basis Data");
+        sink.gate.countDown();
+
+        assertTrue(dispatcher.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(2, sink.emails.size());
+        assertTrue(sink.emails.contains("park@uni.ac.id|Enrollment Confirmation|Algoritma\nBasis Data"));
+        assertEquals(1, dispatcher.getCoalescedCount());
+    }
+
+    @Test
+    @DisplayName("Enroll tidak menunggu pengiriman email ketika memakai dispatcher")
+    void testDispatch_OffEnrollmentHotPath() throws InterruptedException {
+        InMemoryNotificationSink sink = new InMemoryNotificationSink();
+        sink.gate = new CountDownLatch(1);
+        dispatcher = new QueuedNotificationDispatcher(sink);
+        ConcurrentEnrollmentServiceTest.CourseRepositoryStub courseRepository =
+                new ConcurrentEnrollmentServiceTest.CourseRepositoryStub();
+        ConcurrentEnrollmentService enrollmentService = new ConcurrentEnrollmentService(
+                new ConcurrentEnrollmentServiceTest.StudentRepositoryStub(), courseRepository,
+                dispatcher, new GradeCalculator());
+
+        // Sink masih tertahan, enroll tetap selesai
+        assertEquals("APPROVED", enrollmentService.enrollCourse("S001", "CS101").getStatus());
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertTrue(sink.emails.isEmpty());
+
+        sink.gate.countDown();
+        assertTrue(dispatcher.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(List.of("S001@uni.ac.id|Enrollment Confirmation|You have been enrolled in: Algoritma"),
+                sink.emails);
+    }
+
+    @Test
+    @DisplayName("Pengiriman gagal di-retry dengan backoff")
+    void testDispatch_RetriesFailures() throws InterruptedException {
+        InMemoryNotificationSink sink = new InMemoryNotificationSink();
+        sink.failuresLeft.set(2);
+        dispatcher = new QueuedNotificationDispatcher(sink, 100, 1, 10, 3, 1);
+
+        dispatcher.sendEmail("park@uni.ac.id", "Enrollment Confirmation", "Algoritma");
+
+        assertTrue(dispatcher.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(1, sink.emails.size());
+        assertEquals(2, dispatcher.getRetryCount());
+        assertEquals(0, dispatcher.getFailedCount());
+    }
+
+    @Test
+    @DisplayName("Pesan yang diterima bersamaan dengan close tetap terkirim atau dihitung drop")
+    void testClose_RacingEnqueueIsDeliveredOrDropped() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            InMemoryNotificationSink sink = new InMemoryNotificationSink();
+            QueuedNotificationDispatcher racing = new QueuedNotificationDispatcher(sink, 1_000, 2, 10, 1, 1);
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] senders = new Thread[4];
+            for (int t = 0; t < senders.length; t++) {
+                String phone = "081" + t;
+                senders[t] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 200; i++) {
+                        racing.sendSMS(phone, "pesan " + i);
+                    }
+                });
+                senders[t].start();
+            }
+            start.countDown();
+            racing.close();
+            for (Thread sender : senders) {
+                sender.join();
+            }
+
+            assertTrue(racing.awaitIdle(5, TimeUnit.SECONDS), "Tidak boleh ada pesan yang tertinggal di antrian");
+            assertEquals(0, racing.getQueueDepth());
+            assertEquals(800, racing.getEnqueuedCount() + racing.getDroppedCount());
+            assertEquals(racing.getEnqueuedCount(), racing.getDeliveredCount() + racing.getCoalescedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Antrian penuh: pesan dibuang dan dihitung sebagai drop")
+    void testDispatch_DropsWhenQueueFull() throws InterruptedException {
+        InMemoryNotificationSink sink = new InMemoryNotificationSink();
+        sink.gate = new CountDownLatch(1);
+        dispatcher = new QueuedNotificationDispatcher(sink, 2, 1, 1, 1, 1);
+
+        dispatcher.sendSMS("0810", "pertama");
+        assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            dispatcher.sendSMS("081" + i, "pesan " + i);
+        }
+
+        assertEquals(2, dispatcher.getQueueDepth());
+        assertEquals(3, dispatcher.getDroppedCount());
+        sink.gate.countDown();
+        assertTrue(dispatcher.awaitIdle(5, TimeUnit.SECONDS));
+        assertEquals(3, sink.sms.size());
+    }
+}
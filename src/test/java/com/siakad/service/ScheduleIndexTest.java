@@ -0,0 +1,133 @@
+package com.siakad.service;
+
+import com.siakad.exception.ScheduleConflictException;
+import com.siakad.model.MeetingSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleIndexTest {
+
+    private ScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ScheduleIndex();
+        index.defineSchedule("CS101", List.of(MeetingSlot.of(DayOfWeek.MONDAY, "08:00", "09:40"),
+                MeetingSlot.of(DayOfWeek.WEDNESDAY, "08:00", "09:40")));
+        index.defineSchedule("CS102", List.of(MeetingSlot.of(DayOfWeek.MONDAY, "09:40", "11:20")));
+        index.defineSchedule("CS103", List.of(MeetingSlot.of(DayOfWeek.WEDNESDAY, "09:00", "10:00")));
+        index.defineSchedule("CS104", List.of(MeetingSlot.of(DayOfWeek.SUNDAY, "23:00", "24:00")));
+    }
+
+    @Test
+    @DisplayName("Jadwal yang bersebelahan tidak dianggap bentrok")
+    void testAdjacentSlots_NoConflict() {
+        index.reserve("S001", "CS101");
+        index.reserve("S001", "CS102");
+        index.reserve("S001", "CS104");
+        assertFalse(index.conflicts("S001", "CS102"));
+    }
+
+    @Test
+    @DisplayName("Jadwal yang tumpang tindih ditolak dengan ScheduleConflictException")
+    void testOverlap_Throws() {
+        index.reserve("S001", "CS101");
+        assertTrue(index.conflicts("S001", "CS103"));
+
+        ScheduleConflictException e = assertThrows(ScheduleConflictException.class,
+                () -> index.reserve("S001", "CS103"));
+        assertEquals("CS101", e.getConflictingCourseCode());
+        assertEquals("Schedule conflict between CS103 and CS101", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Release mengosongkan kembali jadwal mahasiswa")
+    void testRelease_FreesSlots() {
+        index.reserve("S001", "CS101");
+        index.release("S001", "CS101");
+        index.reserve("S001", "CS103");
+        assertTrue(index.conflicts("S001", "CS101"));
+    }
+
+    @Test
+    @DisplayName("Reserve ulang mata kuliah yang sudah diambil tidak mencatat apa pun")
+    void testReserve_AlreadyHeld() {
+        assertTrue(index.reserve("S001", "CS101"));
+        assertFalse(index.reserve("S001", "CS101"));
+        assertTrue(index.release("S001", "CS101"));
+        assertFalse(index.release("S001", "CS101"));
+        assertFalse(index.holds("S001", "CS101"));
+    }
+
+    @Test
+    @DisplayName("Jadwal yang didefinisikan ulang memperbarui jadwal mahasiswa yang sudah mengambilnya")
+    void testDefineSchedule_RedefinitionUpdatesTimetables() {
+        index.reserve("S001", "CS101");
+        index.defineSchedule("CS101", List.of(MeetingSlot.of(DayOfWeek.FRIDAY, "08:00", "09:40")));
+
+        assertFalse(index.conflicts("S001", "CS103"));
+        index.defineSchedule("CS105", List.of(MeetingSlot.of(DayOfWeek.FRIDAY, "09:00", "10:00")));
+        assertTrue(index.conflicts("S001", "CS105"));
+
+        index.release("S001", "CS101");
+        assertFalse(index.conflicts("S001", "CS105"));
+    }
+
+    @Test
+    @DisplayName("Melepas satu dari dua mata kuliah yang tumpang tindih setelah redefinisi tetap menyisakan menit yang lain")
+    void testRelease_AfterRedefinitionOverlap() {
+        index.reserve("S001", "CS101");
+        index.reserve("S001", "CS102");
+        index.defineSchedule("CS102", List.of(MeetingSlot.of(DayOfWeek.MONDAY, "08:00", "09:40")));
+        index.defineSchedule("CS105", List.of(MeetingSlot.of(DayOfWeek.MONDAY, "08:30", "09:00")));
+
+        index.release("S001", "CS102");
+
+        assertTrue(index.conflicts("S001", "CS105"));
+        ScheduleConflictException e = assertThrows(ScheduleConflictException.class,
+                () -> index.reserve("S001", "CS105"));
+        assertEquals("CS101", e.getConflictingCourseCode());
+    }
+
+    @Test
+    @DisplayName("Jadwal yang berbagi blok 5 menit tetapi tidak tumpang tindih tidak dianggap bentrok")
+    void testSharedBlock_NoConflict() {
+        index.defineSchedule("CS106", List.of(MeetingSlot.of(DayOfWeek.TUESDAY, "09:00", "09:52")));
+        index.defineSchedule("CS107", List.of(MeetingSlot.of(DayOfWeek.TUESDAY, "09:53", "10:30")));
+        assertTrue(index.reserve("S001", "CS106"));
+        assertFalse(index.conflicts("S001", "CS107"));
+        assertTrue(index.reserve("S001", "CS107"));
+        assertTrue(index.findAllConflicts(Map.of("S001", List.of("CS106", "CS107"))).isEmpty());
+
+        index.defineSchedule("CS108", List.of(MeetingSlot.of(DayOfWeek.TUESDAY, "09:51", "09:53")));
+        assertThrows(ScheduleConflictException.class, () -> index.reserve("S001", "CS108"));
+    }
+
+    @Test
+    @DisplayName("Laporan kampus menemukan semua pasangan yang bentrok")
+    void testFindAllConflicts() {
+        List<ScheduleIndex.ScheduleConflict> conflicts = index.findAllConflicts(Map.of(
+                "S001", List.of("CS101", "CS102", "CS103"),
+                "S002", List.of("CS102", "CS104"),
+                "S003", List.of("CS103", "CS999")));
+
+        assertEquals(1, conflicts.size());
+        ScheduleIndex.ScheduleConflict conflict = conflicts.get(0);
+        assertEquals("S001", conflict.getStudentId());
+        assertEquals("CS101", conflict.getFirstCourseCode());
+        assertEquals("CS103", conflict.getSecondCourseCode());
+    }
+
+    @Test
+    @DisplayName("Jam pertemuan tidak valid ditolak")
+    void testInvalidSlot() {
+        assertThrows(IllegalArgumentException.class, () -> MeetingSlot.of(DayOfWeek.MONDAY, "10:00", "09:00"));
+    }
+}
@@ -0,0 +1,182 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.exception.PrerequisiteNotMetException;
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedEnrollmentServiceTest {
+
+    private ConcurrentEnrollmentServiceTest.StudentRepositoryStub studentRepository;
+    private ConcurrentEnrollmentServiceTest.CourseRepositoryStub courseRepository;
+    private ConcurrentEnrollmentServiceTest.NotificationServiceStub notificationService;
+    private ShardedEnrollmentService enrollmentService;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new ConcurrentEnrollmentServiceTest.StudentRepositoryStub();
+        courseRepository = new ConcurrentEnrollmentServiceTest.CourseRepositoryStub();
+        notificationService = new ConcurrentEnrollmentServiceTest.NotificationServiceStub();
+        for (int i = 0; i < 16; i++) {
+            Course course = new Course();
+            course.setCourseCode("IF" + i);
+            course.setCourseName("Mata Kuliah " + i);
+            course.setCapacity(100);
+            courseRepository.save(course);
+        }
+        enrollmentService = new ShardedEnrollmentService(studentRepository, courseRepository, notificationService,
+                new GradeCalculator(), 4, 2, 256);
+    }
+
+    @AfterEach
+    void tearDown() {
+        enrollmentService.close();
+    }
+
+    @Test
+    @DisplayName("Enroll dan drop lewat shard memperbarui kursi dan mengirim email")
+    void testEnrollAndDrop() {
+        Enrollment enrollment = enrollmentService.enrollCourse("S001", "CS101");
+
+        assertEquals("APPROVED", enrollment.getStatus());
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+
+        enrollmentService.dropCourse("S001", "CS101");
+        assertEquals(0, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(2, notificationService.emails.get());
+    }
+
+    @Test
+    @DisplayName("Exception sama dengan EnrollmentService, baik sinkron maupun lewat future")
+    void testExceptionSemantics() {
+        assertThrows(StudentNotFoundException.class, () -> enrollmentService.enrollCourse("X001", "CS101"));
+        assertThrows(CourseNotFoundException.class, () -> enrollmentService.enrollCourse("S001", "CS999"));
+        assertThrows(PrerequisiteNotMetException.class, () -> enrollmentService.enrollCourse("S00X", "CS101"));
+        assertThrows(StudentNotFoundException.class, () -> enrollmentService.dropCourse("X001", "CS101"));
+        assertThrows(CourseNotFoundException.class, () -> enrollmentService.dropCourse("S001", "CS999"));
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> enrollmentService.enrollCourseAsync("S001", "CS999").join());
+        assertTrue(e.getCause() instanceof CourseNotFoundException);
+        assertEquals("Course not found: CS999", e.getCause().getMessage());
+    }
+
+    @Test
+    @DisplayName("Enroll bersamaan ke banyak mata kuliah tidak pernah melebihi kapasitas")
+    void testConcurrentEnrollments_NoOversell() {
+        List<CompletableFuture<Enrollment>> futures = new ArrayList<>();
+        for (int i = 0; i < 4_000; i++) {
+            futures.add(enrollmentService.enrollCourseAsync("S" + i, "IF" + (i % 16)));
+        }
+
+        int approved = 0;
+        int full = 0;
+        for (CompletableFuture<Enrollment> future : futures) {
+            try {
+                future.join();
+                approved++;
+            } catch (CompletionException e) {
+                assertTrue(e.getCause() instanceof CourseFullException);
+                full++;
+            }
+        }
+
+        assertEquals(1_600, approved);
+        assertEquals(2_400, full);
+        for (int i = 0; i < 16; i++) {
+            assertEquals(100, courseRepository.findByCourseCode("IF" + i).getEnrolledCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Close menunggu semua request yang sedang berjalan selesai lalu menolak request baru")
+    void testClose_DrainsInFlightRequests() throws InterruptedException {
+        List<CompletableFuture<Enrollment>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(enrollmentService.enrollCourseAsync("S" + i, "IF" + (i % 16)));
+        }
+        enrollmentService.close();
+
+        for (CompletableFuture<Enrollment> future : futures) {
+            assertTrue(future.isDone());
+            assertEquals("APPROVED", future.join().getStatus());
+        }
+        assertEquals(200, notificationService.emails.get());
+        assertThrows(IllegalStateException.class, () -> enrollmentService.enrollCourse("S999", "IF0"));
+    }
+
+    @Test
+    @DisplayName("Perubahan course dari luar terlihat setelah invalidateCourse")
+    void testInvalidateCourse_ReloadsFromRepository() {
+        enrollmentService.enrollCourse("S001", "IF0");
+
+        Course corrected = new Course();
+        corrected.setCourseCode("IF0");
+        corrected.setCourseName("Mata Kuliah 0");
+        corrected.setCapacity(1);
+        corrected.setEnrolledCount(1);
+        courseRepository.save(corrected);
+        enrollmentService.enrollCourse("S002", "IF0");
+        assertEquals(2, courseRepository.findByCourseCode("IF0").getEnrolledCount(),
+                "Shard masih memakai objek lama sebelum di-invalidate");
+
+        courseRepository.save(corrected);
+        enrollmentService.invalidateCourse("IF0");
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S003", "IF0"));
+    }
+
+    @Test
+    @DisplayName("Kapasitas baru di repository berlaku setelah interval refresh tanpa invalidateCourse")
+    void testCourseRefresh_CapacityChangeHonoured() {
+        enrollmentService.setCourseRefreshInterval(0, TimeUnit.SECONDS);
+        enrollmentService.enrollCourse("S001", "IF0");
+
+        Course reduced = courseRepository.findByCourseCode("IF0");
+        Course copy = new Course();
+        copy.setCourseCode("IF0");
+        copy.setCourseName(reduced.getCourseName());
+        copy.setCapacity(1);
+        copy.setEnrolledCount(reduced.getEnrolledCount());
+        courseRepository.save(copy);
+
+        assertThrows(CourseFullException.class, () -> enrollmentService.enrollCourse("S002", "IF0"));
+        assertEquals(1, courseRepository.findByCourseCode("IF0").getEnrolledCount());
+    }
+
+    @Test
+    @DisplayName("Mahasiswa suspended ditolak di shard mahasiswa")
+    void testSuspendedStudent() throws InterruptedException {
+        ConcurrentEnrollmentServiceTest.StudentRepositoryStub suspendedStudents =
+                new ConcurrentEnrollmentServiceTest.StudentRepositoryStub() {
+                    @Override
+                    public Student findById(String studentId) {
+                        Student student = super.findById(studentId);
+                        student.setAcademicStatus("SUSPENDED");
+                        return student;
+                    }
+                };
+        try (ShardedEnrollmentService service = new ShardedEnrollmentService(suspendedStudents, courseRepository,
+                notificationService, new GradeCalculator(), 1, 1, 16)) {
+            EnrollmentException e = assertThrows(EnrollmentException.class,
+                    () -> service.enrollCourse("S001", "CS101"));
+            assertEquals("Cannot enroll: Student is suspended", e.getMessage());
+            assertEquals(0, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        }
+    }
+}
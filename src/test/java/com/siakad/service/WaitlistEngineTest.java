@@ -0,0 +1,97 @@
+package com.siakad.service;
+
+import com.siakad.model.Student;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistEngineTest {
+
+    private static Student student(String id, int semester, double gpa) {
+        return new Student(id, "Mahasiswa " + id, id + "@uni.ac.id", "Informatika", semester, gpa, "ACTIVE");
+    }
+
+    private static List<String> drain(WaitlistEngine waitlist, String courseCode) {
+        List<String> order = new ArrayList<>();
+        WaitlistEngine.Entry entry;
+        while ((entry = waitlist.pollNext(courseCode)) != null) {
+            order.add(entry.getStudentId());
+        }
+        return order;
+    }
+
+    @Test
+    @DisplayName("Kebijakan FIFO mengikuti urutan masuk")
+    void testPollNext_Fifo() {
+        WaitlistEngine waitlist = new WaitlistEngine(WaitlistEngine.Policy.FIFO);
+        waitlist.join(student("S1", 1, 2.0), "CS101");
+        waitlist.join(student("S2", 7, 3.9), "CS101");
+        waitlist.join(student("S3", 3, 3.0), "CS101");
+
+        assertEquals(List.of("S1", "S2", "S3"), drain(waitlist, "CS101"));
+    }
+
+    @Test
+    @DisplayName("Kebijakan GPA mendahulukan GPA tertinggi, FIFO jika sama")
+    void testPollNext_GpaPriority() {
+        WaitlistEngine waitlist = new WaitlistEngine(WaitlistEngine.Policy.GPA);
+        waitlist.join(student("S1", 1, 3.0), "CS101");
+        waitlist.join(student("S2", 1, 3.5), "CS101");
+        waitlist.join(student("S3", 1, 3.0), "CS101");
+
+        assertEquals(List.of("S2", "S1", "S3"), drain(waitlist, "CS101"));
+    }
+
+    @Test
+    @DisplayName("Kebijakan semester mendahulukan semester lebih tinggi")
+    void testPollNext_SemesterPriority() {
+        WaitlistEngine waitlist = new WaitlistEngine(WaitlistEngine.Policy.SEMESTER);
+        waitlist.join(student("S1", 2, 3.0), "CS101");
+        waitlist.join(student("S2", 8, 2.0), "CS101");
+
+        assertEquals(List.of("S2", "S1"), drain(waitlist, "CS101"));
+    }
+
+    @Test
+    @DisplayName("Join ganda diabaikan dan mahasiswa yang keluar dilewati")
+    void testJoinAndLeave() {
+        WaitlistEngine waitlist = new WaitlistEngine(WaitlistEngine.Policy.FIFO);
+        assertTrue(waitlist.join(student("S1", 1, 2.0), "CS101"));
+        assertFalse(waitlist.join(student("S1", 1, 2.0), "CS101"));
+        waitlist.join(student("S2", 1, 2.0), "CS101");
+
+        assertTrue(waitlist.leave("S1", "CS101"));
+        assertEquals(1, waitlist.size("CS101"));
+        assertEquals(List.of("S2"), drain(waitlist, "CS101"));
+    }
+
+    @Test
+    @DisplayName("Requeue mengembalikan mahasiswa ke posisi semula")
+    void testRequeue_KeepsPosition() {
+        WaitlistEngine waitlist = new WaitlistEngine(WaitlistEngine.Policy.FIFO);
+        waitlist.join(student("S1", 1, 2.0), "CS101");
+        waitlist.join(student("S2", 1, 2.0), "CS101");
+
+        WaitlistEngine.Entry first = waitlist.pollNext("CS101");
+        waitlist.requeue(first);
+
+        assertEquals(List.of("S1", "S2"), drain(waitlist, "CS101"));
+    }
+
+    @Test
+    @DisplayName("Keluar lalu masuk lagi mendapat posisi baru di belakang")
+    void testLeaveAndRejoin_LosesOldPosition() {
+        WaitlistEngine waitlist = new WaitlistEngine(WaitlistEngine.Policy.FIFO);
+        waitlist.join(student("S1", 1, 2.0), "CS101");
+        waitlist.join(student("S2", 1, 2.0), "CS101");
+
+        waitlist.leave("S1", "CS101");
+        assertTrue(waitlist.join(student("S1", 1, 2.0), "CS101"));
+
+        assertEquals(List.of("S2", "S1"), drain(waitlist, "CS101"));
+    }
+}
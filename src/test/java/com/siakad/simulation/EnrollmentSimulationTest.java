@@ -0,0 +1,111 @@
+package com.siakad.simulation;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentSimulationTest {
+
+    private EnrollmentSimulation simulation;
+    private List<String> studentIds;
+    private List<String> courseCodes;
+
+    @BeforeEach
+    void setUp() {
+        List<Course> courses = new ArrayList<>();
+        courseCodes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Course course = new Course();
+            course.setCourseCode("IF" + (100 + i));
+            course.setCourseName("Mata Kuliah " + i);
+            course.setCredits(3);
+            course.setCapacity(50);
+            courses.add(course);
+            courseCodes.add(course.getCourseCode());
+        }
+        simulation = new EnrollmentSimulation(courses, 2_000);
+        simulation.defineRule("IF119", List.of(List.of("IF100")));
+
+        studentIds = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            String id = "S" + i;
+            studentIds.add(id);
+            String status = i % 100 == 0 ? "SUSPENDED" : "ACTIVE";
+            simulation.addStudent(new Student(id, "Mahasiswa " + i, id + "@uni.ac.id", "Informatika",
+                    1 + i % 8, (i % 401) / 100.0, status), i % 2 == 0 ? List.of("IF100") : List.of());
+        }
+    }
+
+    @Test
+    @DisplayName("Simulasi melaporkan okupansi, waktu penuh dan penolakan per jenis exception")
+    void testRun_ReportsPerCourseResults() throws InterruptedException {
+        List<DemandEvent> demand = new ArrayList<>(SyntheticDemand.generate(studentIds, courseCodes, 6, 1.2,
+                60_000, 42));
+        demand.add(new DemandEvent(120_000, "X999", "IF100"));
+
+        // Selain IF100, kapasitas dibuat longgar supaya batas SKS ikut teruji
+        Map<String, Integer> capacities = new HashMap<>();
+        for (String code : courseCodes.subList(1, courseCodes.size())) {
+            capacities.put(code, 2_000);
+        }
+        SimulationReport report = simulation.run(demand, capacities, 4);
+
+        assertEquals(demand.size(), report.getRequests());
+        SimulationReport.CourseResult popular = report.getCourse("IF100");
+        assertEquals(50, popular.getEnrolled());
+        assertTrue(popular.isFull());
+        assertTrue(popular.getRejections("CourseFullException") > 0);
+
+        long enrolled = 0;
+        for (SimulationReport.CourseResult course : report.getCourses().values()) {
+            assertTrue(course.getEnrolled() <= course.getCapacity());
+            enrolled += course.getEnrolled();
+        }
+        long rejected = 0;
+        for (long count : report.getRejections().values()) {
+            rejected += count;
+        }
+        assertEquals(demand.size(), enrolled + rejected);
+        assertEquals(1, report.getRejections("StudentNotFoundException"));
+        assertTrue(report.getRejections("EnrollmentException") > 0, "Mahasiswa suspended ditolak");
+        assertTrue(report.getRejections("CreditLimitExceededException") > 0, "6 x 3 SKS melebihi batas 15");
+    }
+
+    @Test
+    @DisplayName("Prasyarat dicek lewat PrerequisiteIndex")
+    void testRun_Prerequisites() throws InterruptedException {
+        List<DemandEvent> demand = List.of(new DemandEvent(0, "S1", "IF119"), new DemandEvent(1, "S2", "IF119"));
+
+        SimulationReport report = simulation.run(demand, 1);
+
+        assertEquals(1, report.getCourse("IF119").getEnrolled());
+        assertEquals(1, report.getRejections("PrerequisiteNotMetException"));
+        assertFalse(report.getCourse("IF119").isFull());
+        assertEquals(-1, report.getCourse("IF119").getFillTimeMillis());
+    }
+
+    @Test
+    @DisplayName("What-if: menambah kapasitas mengurangi penolakan tanpa mengubah skenario dasar")
+    void testRun_CapacityWhatIf() throws InterruptedException {
+        List<DemandEvent> demand = SyntheticDemand.generate(studentIds, courseCodes, 3, 1.2, 60_000, 7);
+
+        SimulationReport baseline = simulation.run(demand, 2);
+        SimulationReport scenario = simulation.run(demand, Map.of("IF100", 150), 2);
+        SimulationReport again = simulation.run(demand, 2);
+
+        assertEquals(150, scenario.getCourse("IF100").getCapacity());
+        assertTrue(SimulationReport.enrolledDelta(baseline, scenario).get("IF100") > 0);
+        assertTrue(scenario.getCourse("IF100").getRejections("CourseFullException")
+                < baseline.getCourse("IF100").getRejections("CourseFullException"));
+        assertEquals(50, again.getCourse("IF100").getEnrolled(), "Setiap skenario memakai katalog baru");
+    }
+}
@@ -0,0 +1,180 @@
+package com.siakad.snapshot;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.ImageBackedCourseRepository;
+import com.siakad.repository.ImageBackedStudentRepository;
+import com.siakad.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateImageTest {
+
+    private Path file;
+
+    // Repository asli yang hanya berisi data yang dibuat setelah snapshot
+    static class MapCourseRepository implements CourseRepository {
+        final Map<String, Course> courses = new ConcurrentHashMap<>();
+
+        @Override public Course findByCourseCode(String courseCode) { return courses.get(courseCode); }
+        @Override public void save(Course course) { courses.put(course.getCourseCode(), course); }
+        @Override public void update(Course course) { courses.put(course.getCourseCode(), course); }
+        @Override public boolean isPrerequisiteMet(String studentId, String courseCode) { return true; }
+    }
+
+    static class MapStudentRepository implements StudentRepository {
+        final Map<String, Student> students = new ConcurrentHashMap<>();
+
+        @Override public Student findById(String studentId) { return students.get(studentId); }
+        @Override public void save(Student student) { students.put(student.getStudentId(), student); }
+        @Override public void update(Student student) { students.put(student.getStudentId(), student); }
+        @Override public List<Course> getCompletedCourses(String studentId) { return List.of(); }
+        @Override public void delete(String studentId) { students.remove(studentId); }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("state", ".img");
+        StateImageWriter writer = new StateImageWriter();
+        for (int i = 0; i < 500; i++) {
+            Course course = new Course();
+            course.setCourseCode("IF" + i);
+            course.setCourseName("Mata Kuliah " + i);
+            course.setCredits(1 + i % 4);
+            course.setCapacity(40);
+            course.setEnrolledCount(i % 41);
+            course.setLecturer(i % 2 == 0 ? "Dosen " + i : null);
+            writer.addCourse(course);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            writer.addStudent(new Student("S" + i, "Mahasiswa " + i, "s" + i + "@uni.ac.id", "Informatika",
+                    1 + i % 8, (i % 401) / 100.0, "ACTIVE"), i % 3 == 0 ? List.of("IF1", "IF2") : List.of());
+        }
+        writer.write(file);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("Lookup mata kuliah dan mahasiswa dari image mengembalikan data yang sama")
+    void testLookups() throws Exception {
+        try (StateImage image = StateImage.open(file)) {
+            assertEquals(500, image.getCourseCount());
+            assertEquals(20_000, image.getStudentCount());
+
+            Course course = image.findCourse("IF7");
+            assertEquals("Mata Kuliah 7", course.getCourseName());
+            assertEquals(4, course.getCredits());
+            assertEquals(7, course.getEnrolledCount());
+            assertNull(course.getLecturer());
+
+            Student student = image.findStudent("S12345");
+            assertEquals("s12345@uni.ac.id", student.getEmail());
+            assertEquals(2, student.getSemester());
+            assertEquals((12345 % 401) / 100.0, student.getGpa());
+            assertEquals(List.of("IF1", "IF2"), image.findCompletedCourseCodes("S12345"));
+            assertEquals(List.of(), image.findCompletedCourseCodes("S12346"));
+
+            assertNull(image.findCourse("IF999"));
+            assertNull(image.findStudent("S"));
+            assertTrue(image.verification().get());
+        }
+    }
+
+    @Test
+    @DisplayName("Isi image yang rusak terdeteksi verifikasi latar dan repository kembali ke sumber asli")
+    void testCorruptImage_FallsBack() throws Exception {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), channel.size() - 3);
+        }
+        MapCourseRepository delegate = new MapCourseRepository();
+        Course fresh = new Course();
+        fresh.setCourseCode("IF7");
+        fresh.setCourseName("Dari database");
+        delegate.save(fresh);
+
+        try (StateImage image = StateImage.open(file)) {
+            assertFalse(image.verification().get());
+            assertFalse(image.isUsable());
+            assertEquals("Dari database", new ImageBackedCourseRepository(delegate, image)
+                    .findByCourseCode("IF7").getCourseName());
+        }
+    }
+
+    @Test
+    @DisplayName("Mata kuliah yang di-lookup sebelum verifikasi gagal dibuang dan tidak bisa ditulis balik")
+    void testCorruptImage_LookupBeforeVerification() throws Exception {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), channel.size() - 3);
+        }
+        MapCourseRepository delegate = new MapCourseRepository();
+        Course fresh = new Course();
+        fresh.setCourseCode("IF7");
+        fresh.setCourseName("Dari database");
+        delegate.save(fresh);
+
+        List<Runnable> pending = new ArrayList<>();
+        try (StateImage image = StateImage.open(file, pending::add)) {
+            ImageBackedCourseRepository courses = new ImageBackedCourseRepository(delegate, image);
+            Course stale = courses.findByCourseCode("IF7");
+            assertEquals("Mata Kuliah 7", stale.getCourseName());
+            assertFalse(image.verification().isDone());
+
+            pending.forEach(Runnable::run);
+            assertFalse(image.verification().get());
+            assertSame(fresh, courses.findByCourseCode("IF7"));
+            assertThrows(IllegalStateException.class, () -> courses.update(stale));
+            assertSame(fresh, delegate.findByCourseCode("IF7"));
+        }
+    }
+
+    @Test
+    @DisplayName("Repository berbasis image: data baru dan penghapusan menimpa isi image")
+    void testImageBackedRepositories() throws Exception {
+        MapCourseRepository courseDelegate = new MapCourseRepository();
+        MapStudentRepository studentDelegate = new MapStudentRepository();
+        try (StateImage image = StateImage.open(file)) {
+            ImageBackedCourseRepository courses = new ImageBackedCourseRepository(courseDelegate, image);
+            ImageBackedStudentRepository students = new ImageBackedStudentRepository(studentDelegate, image, courses);
+
+            Course course = courses.findByCourseCode("IF3");
+            assertSame(course, courses.findByCourseCode("IF3"));
+            course.setEnrolledCount(40);
+            courses.update(course);
+            assertEquals(40, courseDelegate.findByCourseCode("IF3").getEnrolledCount());
+
+            assertEquals("Mata Kuliah 1", students.getCompletedCourses("S3").get(0).getCourseName());
+            students.delete("S3");
+            assertNull(students.findById("S3"));
+
+            students.save(new Student("S99999", "Mahasiswa Baru", "baru@uni.ac.id", "Informatika", 1, 0.0, "ACTIVE"));
+            assertEquals("Mahasiswa Baru", students.findById("S99999").getName());
+        }
+    }
+
+    @Test
+    @DisplayName("Header yang bukan image ditolak")
+    void testInvalidHeader() throws IOException {
+        Files.write(file, new byte[64]);
+        assertThrows(IOException.class, () -> StateImage.open(file));
+    }
+}
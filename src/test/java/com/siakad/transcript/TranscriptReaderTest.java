@@ -0,0 +1,210 @@
+package com.siakad.transcript;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.service.GradeCalculator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranscriptReaderTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("transcript", ".bin");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    @DisplayName("Tulis lalu baca ulang transkrip menghasilkan data yang sama")
+    void testRoundTrip() throws IOException {
+        try (TranscriptWriter writer = new TranscriptWriter(file)) {
+            writer.writeStudent("S001", List.of(new CourseGrade("CS101", 3, 4.0), new CourseGrade("Fisika Dasar", 2, 3.3)));
+            writer.writeStudent("S002", List.of());
+            writer.writeStudent("S003", List.of(new CourseGrade("CS102", 4, 2.7)));
+        }
+
+        try (TranscriptReader reader = new TranscriptReader(file)) {
+            assertTrue(reader.nextStudent());
+            assertEquals("S001", reader.studentId());
+            assertEquals(2, reader.gradeCount());
+            assertTrue(reader.nextGrade());
+            assertEquals("CS101", reader.courseCode());
+            assertEquals(3, reader.credits());
+            assertEquals(4.0, reader.gradePoint());
+
+            // Nilai kedua sengaja tidak dibaca: record berikutnya tetap ditemukan lewat prefix panjang
+            assertTrue(reader.nextStudent());
+            assertEquals("S002", reader.studentId());
+            assertFalse(reader.nextGrade());
+            assertEquals(0.0, reader.calculateGPA());
+
+            assertTrue(reader.nextStudent());
+            assertEquals("S003", reader.studentId());
+            List<CourseGrade> grades = reader.toCourseGrades();
+            assertEquals(1, grades.size());
+            assertEquals("CS102", grades.get(0).getCourseCode());
+
+            assertFalse(reader.nextStudent());
+        }
+    }
+
+    @Test
+    @DisplayName("GPA dari file identik bit per bit dengan GradeCalculator, termasuk lintas jendela mapping")
+    void testCalculateGPA_MatchesGradeCalculator() throws IOException {
+        Random random = new Random(42);
+        List<List<CourseGrade>> transcripts = new ArrayList<>();
+        try (TranscriptWriter writer = new TranscriptWriter(file)) {
+            for (int s = 0; s < 500; s++) {
+                List<CourseGrade> grades = new ArrayList<>();
+                int count = random.nextInt(60);
+                for (int g = 0; g < count; g++) {
+                    grades.add(new CourseGrade("MK" + g, random.nextInt(5), random.nextInt(401) / 100.0));
+                }
+                transcripts.add(grades);
+                writer.writeStudent("S" + s, grades);
+            }
+        }
+
+        GradeCalculator calculator = new GradeCalculator();
+        try (TranscriptReader reader = new TranscriptReader(file, 4096)) {
+            for (List<CourseGrade> expected : transcripts) {
+                assertTrue(reader.nextStudent());
+                assertEquals(Double.doubleToLongBits(calculator.calculateGPA(expected)),
+                        Double.doubleToLongBits(reader.calculateGPA()), reader.studentId());
+            }
+            assertFalse(reader.nextStudent());
+        }
+    }
+
+    @Test
+    @DisplayName("Grade point invalid ditolak seperti GradeCalculator")
+    void testCalculateGPA_InvalidGradePoint() throws IOException {
+        try (TranscriptWriter writer = new TranscriptWriter(file)) {
+            writer.writeStudent("S001", List.of(new CourseGrade("CS101", 3, 4.5)));
+        }
+        try (TranscriptReader reader = new TranscriptReader(file)) {
+            reader.nextStudent();
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, reader::calculateGPA);
+            assertTrue(e.getMessage().contains("Invalid grade point"));
+        }
+    }
+
+    @Test
+    @DisplayName("Impor CSV ke biner lalu ekspor kembali menghasilkan CSV yang sama")
+    void testCsvRoundTrip() throws IOException {
+        String csv = TranscriptCsv.HEADER + "\n"
+                + "S001,CS101,3,4.0\n"
+                + "S001,CS102,2,3.3\n"
+                + "S002,CS101,3,0.1\n";
+        try (TranscriptWriter writer = new TranscriptWriter(file)) {
+            assertEquals(3, TranscriptCsv.importCsv(new StringReader(csv), writer));
+            assertEquals(2, writer.getStudentCount());
+        }
+
+        StringWriter out = new StringWriter();
+        try (TranscriptReader reader = new TranscriptReader(file)) {
+            assertEquals(3, TranscriptCsv.exportCsv(reader, out));
+        }
+        assertEquals(csv, out.toString());
+    }
+
+    @Test
+    @DisplayName("Field berisi koma dan tanda kutip di-quote saat ekspor dan dibaca utuh saat impor")
+    void testCsvRoundTrip_QuotedFields() throws IOException {
+        String csv = TranscriptCsv.HEADER + "\n"
+                + "S001,\"CS101,A\",3,4.0\n"
+                + "S001,\"Kelas \"\"Pagi\"\"\",2,3.3\n"
+                + "\"S,002\",CS101,3,0.1\n";
+        try (TranscriptWriter writer = new TranscriptWriter(file)) {
+            assertEquals(3, TranscriptCsv.importCsv(new StringReader(csv), writer));
+            assertEquals(2, writer.getStudentCount());
+        }
+
+        StringWriter out = new StringWriter();
+        try (TranscriptReader reader = new TranscriptReader(file)) {
+            reader.nextStudent();
+            assertEquals("CS101,A", reader.toCourseGrades().get(0).getCourseCode());
+            assertEquals("Kelas \"Pagi\"", reader.toCourseGrades().get(1).getCourseCode());
+            reader.nextStudent();
+            assertEquals("S,002", reader.studentId());
+        }
+        try (TranscriptReader reader = new TranscriptReader(file)) {
+            assertEquals(3, TranscriptCsv.exportCsv(reader, out));
+        }
+        assertEquals(csv, out.toString());
+    }
+
+    @Test
+    @DisplayName("Quote yang tidak ditutup ditolak")
+    void testCsv_UnterminatedQuote() throws IOException {
+        String csv = TranscriptCsv.HEADER + "\n" + "S001,\"CS101,3,4.0\n";
+        try (TranscriptWriter writer = new TranscriptWriter(file)) {
+            assertThrows(IOException.class, () -> TranscriptCsv.importCsv(new StringReader(csv), writer));
+        }
+    }
+
+    @Test
+    @DisplayName("Jumlah nilai atau panjang kode yang rusak ditolak tanpa membaca record berikutnya")
+    void testCorruptRecord() throws IOException {
+        try (TranscriptWriter writer = new TranscriptWriter(file)) {
+            writer.writeStudent("S001", List.of(new CourseGrade("CS101", 3, 4.0), new CourseGrade("CS102", 2, 3.3)));
+            writer.writeStudent("S002", List.of(new CourseGrade("CS103", 4, 2.7)));
+        }
+        byte[] original = Files.readAllBytes(file);
+
+        // Header 8 byte, panjang record 4, panjang id 2, id "S001" 4: jumlah nilai di offset 18
+        byte[] bytes = original.clone();
+        bytes[21] = 3;
+        Files.write(file, bytes);
+        try (TranscriptReader reader = new TranscriptReader(file)) {
+            assertThrows(IOException.class, reader::nextStudent);
+        }
+
+        // Panjang kode nilai pertama di offset 22
+        bytes = original.clone();
+        bytes[22] = 0x70;
+        Files.write(file, bytes);
+        try (TranscriptReader reader = new TranscriptReader(file)) {
+            assertTrue(reader.nextStudent());
+            assertThrows(IOException.class, reader::nextGrade);
+            assertThrows(IOException.class, reader::calculateGPA);
+        }
+
+        // Kode nilai kedua diperpanjang sampai melewati akhir record
+        bytes = original.clone();
+        bytes[22 + 2 + 5 + 10 + 1] = 12;
+        Files.write(file, bytes);
+        try (TranscriptReader reader = new TranscriptReader(file)) {
+            assertTrue(reader.nextStudent());
+            assertTrue(reader.nextGrade());
+            assertThrows(IOException.class, reader::nextGrade);
+            assertTrue(reader.nextStudent());
+            assertEquals("S002", reader.studentId());
+        }
+    }
+
+    @Test
+    @DisplayName("File yang bukan transkrip ditolak")
+    void testInvalidFile() throws IOException {
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> new TranscriptReader(file));
+    }
+}